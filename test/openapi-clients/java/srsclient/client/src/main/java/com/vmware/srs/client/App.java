@@ -5,9 +5,11 @@
 package com.vmware.srs.client;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import io.swagger.client.ApiClient;
 import io.swagger.client.ApiResponse;
+import io.swagger.client.Deadline;
 import io.swagger.client.api.AuthenticationApi;
 import io.swagger.client.api.RunspacesApi;
 import io.swagger.client.api.ScriptexecutionsApi;
@@ -55,10 +57,9 @@ public class App
             ApiResponse<Void> loginResponse = authApi.loginWithHttpInfo();
             String sesApiKey = loginResponse.getHeaders().get("X-SRS-API-KEY").get(0);
 
-            apiClient = new ApiClient();
-            apiClient.setBasePath(srsAddress);
-            apiClient.setApiKey(sesApiKey);
-            apiClient.setVerifyingSsl(false);
+            // Continue with the API key on the same connections, giving up after ten minutes
+            Deadline deadline = Deadline.after(10, TimeUnit.MINUTES);
+            apiClient = apiClient.withApiKey(sesApiKey).withDeadline(deadline);
             
             // Create Runspace
             RunspacesApi runspaceApi = new RunspacesApi(apiClient);
@@ -68,7 +69,7 @@ public class App
             Runspace runspace = runspaceApi.createRunspace(runspaceRequest);
 
             while (runspace.getState() == RunspaceState.CREATING) {
-               Thread.sleep(500);
+               deadline.sleep(500);
                runspace = runspaceApi.getRunspace(runspace.getId());
             }
 
@@ -89,10 +90,7 @@ public class App
             		scriptExecutionRequest);
                
 
-            while (scriptExecution.getState() == ScriptExecutionState.RUNNING) {
-               Thread.sleep(500);
-               scriptExecution = scriptExecutionsApi.getScriptExecution(scriptExecution.getId());
-            }
+            scriptExecution = scriptExecutionsApi.awaitCompletion(scriptExecution.getId(), deadline).get();
 
             if (scriptExecution.getState() == ScriptExecutionState.ERROR) {
             	System.out.println(String.format("Error on script execution: %s", scriptExecution.getReason()));               
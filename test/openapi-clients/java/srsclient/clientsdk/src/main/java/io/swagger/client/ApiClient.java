@@ -12,6 +12,7 @@
 
 package io.swagger.client;
 
+import com.google.gson.JsonParseException;
 import com.squareup.okhttp.*;
 import com.squareup.okhttp.internal.http.HttpMethod;
 import com.squareup.okhttp.logging.HttpLoggingInterceptor;
@@ -26,21 +27,16 @@ import javax.net.ssl.*;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.UnsupportedEncodingException;
+import java.io.StringReader;
 import java.lang.reflect.Type;
 import java.net.URLConnection;
-import java.net.URLEncoder;
 import java.security.GeneralSecurityException;
-import java.security.KeyStore;
-import java.security.SecureRandom;
-import java.security.cert.Certificate;
-import java.security.cert.CertificateException;
-import java.security.cert.CertificateFactory;
-import java.security.cert.X509Certificate;
 import java.text.DateFormat;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -54,6 +50,8 @@ public class ApiClient {
     private String basePath = "/";
     private boolean debugging = false;
     private Map<String, String> defaultHeaderMap = new HashMap<String, String>();
+    // encoded once when a default header is added, shared by all requests
+    private volatile Headers defaultHeaders = new Headers.Builder().build();
     private String tempFolderPath = null;
 
     private Map<String, Authentication> authentications;
@@ -64,22 +62,56 @@ public class ApiClient {
     private int dateLength;
 
     private InputStream sslCaCert;
+    private byte[] sslCaCertBytes;
     private boolean verifyingSsl;
     private KeyManager[] keyManagers;
 
     private OkHttpClient httpClient;
+    private HttpTransport transport;
     private JSON json;
 
     private HttpLoggingInterceptor loggingInterceptor;
+    private boolean compressionEnabled = false;
+    private RetryInterceptor retryInterceptor;
+    private Hedger hedger;
+    private PollingPolicy pollingPolicy = new PollingPolicy();
+    private LoadBalancer loadBalancer;
+    private Deadline deadline;
+    // true for the clients derived by withApiKey and withDeadline
+    private final boolean view;
+    // shared with the clients derived by withApiKey, like the HTTP client they are installed on
+    private final CompressionStats compressionStats;
+    private final GzipRequestInterceptor gzipRequestInterceptor;
+    private final IsolationInterceptor isolationInterceptor;
+    private final List<CallListener> callListeners;
+    private final RequestTagInterceptor requestTagInterceptor;
+    private final Coalescer coalescer;
+    private final ConditionalCache conditionalCache;
+    private final ResponseCache responseCache;
+    // the OkHttp dispatcher counts only the asynchronous calls it runs
+    private final AtomicInteger runningSyncCalls;
 
     /*
      * Constructor for ApiClient
      */
     public ApiClient() {
+        view = false;
+        compressionStats = new CompressionStats();
+        gzipRequestInterceptor = new GzipRequestInterceptor(compressionStats, 1024);
+        isolationInterceptor = new IsolationInterceptor();
+        callListeners = new CopyOnWriteArrayList<CallListener>();
+        requestTagInterceptor = new RequestTagInterceptor(callListeners);
+        coalescer = new Coalescer();
+        conditionalCache = new ConditionalCache();
+        responseCache = new ResponseCache();
+        runningSyncCalls = new AtomicInteger();
+
         httpClient = new OkHttpClient();
+        httpClient.networkInterceptors().add(requestTagInterceptor);
 
 
         verifyingSsl = true;
+        applySslSettings();
 
         json = new JSON();
 
@@ -95,6 +127,107 @@ public class ApiClient {
         authentications = Collections.unmodifiableMap(authentications);
     }
 
+    /*
+     * Constructor for the views returned by withApiKey and withDeadline
+     */
+    private ApiClient(ApiClient parent, Map<String, Authentication> authentications, Deadline deadline) {
+        basePath = parent.basePath;
+        debugging = parent.debugging;
+        loggingInterceptor = parent.loggingInterceptor;
+        compressionEnabled = parent.compressionEnabled;
+        retryInterceptor = parent.retryInterceptor;
+        hedger = parent.hedger;
+        pollingPolicy = parent.pollingPolicy;
+        loadBalancer = parent.loadBalancer;
+        synchronized (parent) {
+            defaultHeaderMap = new HashMap<String, String>(parent.defaultHeaderMap);
+            defaultHeaders = parent.defaultHeaders;
+        }
+        tempFolderPath = parent.tempFolderPath;
+
+        dateFormat = parent.dateFormat;
+        datetimeFormat = parent.datetimeFormat;
+        lenientDatetimeFormat = parent.lenientDatetimeFormat;
+        dateLength = parent.dateLength;
+
+        sslCaCert = parent.sslCaCert;
+        sslCaCertBytes = parent.sslCaCertBytes;
+        verifyingSsl = parent.verifyingSsl;
+        keyManagers = parent.keyManagers;
+
+        httpClient = parent.httpClient;
+        transport = parent.transport;
+        json = parent.json;
+
+        compressionStats = parent.compressionStats;
+        gzipRequestInterceptor = parent.gzipRequestInterceptor;
+        isolationInterceptor = parent.isolationInterceptor;
+        callListeners = parent.callListeners;
+        requestTagInterceptor = parent.requestTagInterceptor;
+        coalescer = parent.coalescer;
+        conditionalCache = parent.conditionalCache;
+        responseCache = parent.responseCache;
+        runningSyncCalls = parent.runningSyncCalls;
+
+        this.authentications = authentications;
+        this.deadline = deadline;
+        this.view = true;
+    }
+
+    /**
+     * Derive a client that authenticates with the given API key, e.g. the one
+     * returned by login.
+     *
+     * The derived client shares the HTTP client, connection pool, dispatcher,
+     * transport and JSON codec of this client and differs only in its
+     * authentications, so it is cheap to create one per session. Settings of
+     * the shared HTTP stack, such as the base paths, timeouts, TLS settings
+     * and retry policy, apply to both clients and can only be changed on
+     * this client; their setters throw on the derived client.
+     *
+     * @param apiKey API key
+     * @return A new client sharing the HTTP stack of this client
+     */
+    public ApiClient withApiKey(String apiKey) {
+        ApiKeyAuth apiKeyAuth = new ApiKeyAuth("header", "X-SRS-API-KEY");
+        Authentication parentApiKeyAuth = authentications.get("apiKeyAuth");
+        if (parentApiKeyAuth instanceof ApiKeyAuth) {
+            apiKeyAuth.setApiKeyPrefix(((ApiKeyAuth) parentApiKeyAuth).getApiKeyPrefix());
+        }
+        apiKeyAuth.setApiKey(apiKey);
+        Map<String, Authentication> apiKeyAuthentications = new HashMap<String, Authentication>();
+        apiKeyAuthentications.put("apiKeyAuth", apiKeyAuth);
+        apiKeyAuthentications.put("basicAuth", new HttpBasicAuth());
+        apiKeyAuthentications.put("signAuth", new HttpBasicAuth());
+        return new ApiClient(this, Collections.unmodifiableMap(apiKeyAuthentications), deadline);
+    }
+
+    /**
+     * Derive a client whose calls must complete by the given deadline. Calls
+     * are not sent once it passed, their connect, read and write timeouts are
+     * shrunk to the time remaining, they are not retried or hedged past it
+     * and they are canceled when it passes, failing with an
+     * {@link ApiException} caused by {@link DeadlineExceededException}.
+     *
+     * The derived client shares the HTTP stack and the authentications of
+     * this client, like the one returned by {@link #withApiKey(String)}.
+     *
+     * @param deadline The deadline, null for none
+     * @return A new client sharing the HTTP stack of this client
+     */
+    public ApiClient withDeadline(Deadline deadline) {
+        return new ApiClient(this, authentications, deadline);
+    }
+
+    /**
+     * Get the deadline of the calls of this client.
+     *
+     * @return The deadline, null for none
+     */
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
     /**
      * Get base path
      *
@@ -109,12 +242,92 @@ public class ApiClient {
      *
      * @param basePath Base path of the URL (e.g /
      * @return An instance of OkHttpClient
+     * @throws IllegalStateException On a client derived by withApiKey or withDeadline
      */
     public ApiClient setBasePath(String basePath) {
+        checkNotView();
         this.basePath = basePath;
+        setLoadBalancer(null);
+        return this;
+    }
+
+    /**
+     * Balance the requests over several endpoints of the same service with the
+     * default {@link LoadBalancingPolicy}.
+     *
+     * @param basePaths Base paths of the endpoints
+     * @return ApiClient
+     * @throws IllegalStateException On a client derived by withApiKey or withDeadline
+     */
+    public ApiClient setBasePaths(String... basePaths) {
+        return setBasePaths(new LoadBalancingPolicy(), basePaths);
+    }
+
+    /**
+     * Balance the requests over several endpoints of the same service, e.g.
+     * the APIGateway replicas of one deployment. Requests are built for the
+     * first base path and sent to the endpoint selected by the policy.
+     * Endpoints are probed with the TLS settings the client has when this is
+     * called.
+     *
+     * @param loadBalancingPolicy The load balancing policy
+     * @param basePaths Base paths of the endpoints
+     * @return ApiClient
+     * @throws IllegalStateException On a client derived by withApiKey or withDeadline
+     */
+    public ApiClient setBasePaths(LoadBalancingPolicy loadBalancingPolicy, String... basePaths) {
+        checkNotView();
+        if (basePaths.length == 0) {
+            throw new IllegalArgumentException("At least one base path is required");
+        }
+        this.basePath = basePaths[0];
+        setLoadBalancer(basePaths.length > 1
+                ? new LoadBalancer(loadBalancingPolicy, Arrays.asList(basePaths), httpClient)
+                : null);
         return this;
     }
 
+    /**
+     * Get the endpoints the requests are balanced over.
+     *
+     * @return The endpoints, empty if requests are sent to the base path only
+     */
+    public List<Endpoint> getEndpoints() {
+        return loadBalancer != null ? loadBalancer.getEndpoints() : Collections.<Endpoint>emptyList();
+    }
+
+    /**
+     * Get the load balancing policy of this client.
+     *
+     * @return The load balancing policy, null if requests are sent to the base path only
+     */
+    public LoadBalancingPolicy getLoadBalancingPolicy() {
+        return loadBalancer != null ? loadBalancer.getPolicy() : null;
+    }
+
+    /**
+     * The HTTP client, its interceptors and the features they implement are
+     * shared with the client this one was derived from, which owns their
+     * settings.
+     */
+    private void checkNotView() {
+        if (view) {
+            throw new IllegalStateException("A derived client shares this setting with its parent, change it there");
+        }
+    }
+
+    private void setLoadBalancer(LoadBalancer loadBalancer) {
+        if (this.loadBalancer == null && loadBalancer == null) {
+            return;
+        }
+        if (this.loadBalancer != null) {
+            this.loadBalancer.close();
+            httpClient.interceptors().remove(this.loadBalancer);
+        }
+        this.loadBalancer = loadBalancer;
+        updateInterceptors();
+    }
+
     /**
      * Get HTTP client
      *
@@ -129,12 +342,65 @@ public class ApiClient {
      *
      * @param httpClient An instance of OkHttpClient
      * @return Api Client
+     * @throws IllegalStateException On a client derived by withApiKey or withDeadline
      */
     public ApiClient setHttpClient(OkHttpClient httpClient) {
+        checkNotView();
+        if (!httpClient.networkInterceptors().contains(requestTagInterceptor)) {
+            httpClient.networkInterceptors().add(requestTagInterceptor);
+        }
         this.httpClient = httpClient;
         return this;
     }
 
+    /**
+     * Get the transport executing the calls built by this client.
+     *
+     * @return The configured transport, or an {@link OkHttpTransport} over
+     *   the current HTTP client when none is configured
+     */
+    public HttpTransport getTransport() {
+        return transport != null ? transport : new OkHttpTransport(httpClient);
+    }
+
+    /**
+     * Set the transport executing the calls built by this client.
+     * The interceptors and timeouts of the HTTP client are still applied by the transport.
+     *
+     * @param transport The transport, null to execute calls with the HTTP client directly
+     * @return Api client
+     */
+    public ApiClient setTransport(HttpTransport transport) {
+        this.transport = transport;
+        return this;
+    }
+
+    /**
+     * Add a listener notified about every HTTP exchange made by this client.
+     *
+     * @param listener The call listener
+     * @return Api client
+     * @throws IllegalStateException On a client derived by withApiKey or withDeadline
+     */
+    public ApiClient addCallListener(CallListener listener) {
+        checkNotView();
+        callListeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Remove a previously added call listener.
+     *
+     * @param listener The call listener
+     * @return Api client
+     * @throws IllegalStateException On a client derived by withApiKey or withDeadline
+     */
+    public ApiClient removeCallListener(CallListener listener) {
+        checkNotView();
+        callListeners.remove(listener);
+        return this;
+    }
+
     /**
      * Get JSON
      *
@@ -171,8 +437,10 @@ public class ApiClient {
      *
      * @param verifyingSsl True to verify TLS/SSL connection
      * @return ApiClient
+     * @throws IllegalStateException On a client derived by withApiKey or withDeadline
      */
     public ApiClient setVerifyingSsl(boolean verifyingSsl) {
+        checkNotView();
         this.verifyingSsl = verifyingSsl;
         applySslSettings();
         return this;
@@ -193,8 +461,15 @@ public class ApiClient {
      *
      * @param sslCaCert input stream for SSL CA cert
      * @return ApiClient
+     * @throws IllegalStateException On a client derived by withApiKey or withDeadline
      */
     public ApiClient setSslCaCert(InputStream sslCaCert) {
+        checkNotView();
+        try {
+            this.sslCaCertBytes = sslCaCert != null ? Okio.buffer(Okio.source(sslCaCert)).readByteArray() : null;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
         this.sslCaCert = sslCaCert;
         applySslSettings();
         return this;
@@ -210,38 +485,60 @@ public class ApiClient {
      *
      * @param managers The KeyManagers to use
      * @return ApiClient
+     * @throws IllegalStateException On a client derived by withApiKey or withDeadline
      */
     public ApiClient setKeyManagers(KeyManager[] managers) {
+        checkNotView();
         this.keyManagers = managers;
         applySslSettings();
         return this;
     }
 
+    /**
+     * Get the TLS handshake statistics of the connections opened with the
+     * current SSL settings. Clients with the same settings share them.
+     *
+     * @return Handshake statistics, empty when the HTTP client uses its own
+     *   SSL socket factory
+     */
+    public HandshakeStats getHandshakeStats() {
+        SSLSocketFactory sslSocketFactory = httpClient.getSslSocketFactory();
+        if (sslSocketFactory instanceof HandshakeCountingSocketFactory) {
+            return ((HandshakeCountingSocketFactory) sslSocketFactory).getStats();
+        }
+        return new HandshakeStats();
+    }
+
     public DateFormat getDateFormat() {
         return dateFormat;
     }
 
     public ApiClient setDateFormat(DateFormat dateFormat) {
+        checkNotView();
         this.json.setDateFormat(dateFormat);
         return this;
     }
 
     public ApiClient setSqlDateFormat(DateFormat dateFormat) {
+        checkNotView();
         this.json.setSqlDateFormat(dateFormat);
         return this;
     }
 
     public ApiClient setOffsetDateTimeFormat(DateTimeFormatter dateFormat) {
+        checkNotView();
         this.json.setOffsetDateTimeFormat(dateFormat);
         return this;
     }
 
     public ApiClient setLocalDateFormat(DateTimeFormatter dateFormat) {
+        checkNotView();
         this.json.setLocalDateFormat(dateFormat);
         return this;
     }
 
     public ApiClient setLenientOnJson(boolean lenientOnJson) {
+        checkNotView();
         this.json.setLenientOnJson(lenientOnJson);
         return this;
     }
@@ -358,8 +655,13 @@ public class ApiClient {
      * @param value The header's value
      * @return ApiClient
      */
-    public ApiClient addDefaultHeader(String key, String value) {
+    public synchronized ApiClient addDefaultHeader(String key, String value) {
         defaultHeaderMap.put(key, value);
+        Headers.Builder headers = new Headers.Builder();
+        for (Entry<String, String> header : defaultHeaderMap.entrySet()) {
+            headers.set(header.getKey(), parameterToString(header.getValue()));
+        }
+        defaultHeaders = headers.build();
         return this;
     }
 
@@ -377,22 +679,398 @@ public class ApiClient {
      *
      * @param debugging To enable (true) or disable (false) debugging
      * @return ApiClient
+     * @throws IllegalStateException On a client derived by withApiKey or withDeadline
      */
     public ApiClient setDebugging(boolean debugging) {
+        checkNotView();
         if (debugging != this.debugging) {
             if (debugging) {
                 loggingInterceptor = new HttpLoggingInterceptor();
                 loggingInterceptor.setLevel(Level.BODY);
-                httpClient.interceptors().add(loggingInterceptor);
             } else {
                 httpClient.interceptors().remove(loggingInterceptor);
                 loggingInterceptor = null;
             }
         }
         this.debugging = debugging;
+        updateInterceptors();
+        return this;
+    }
+
+    /**
+     * Check that gzip compression is enabled
+     *
+     * @return True if compression is enabled, false otherwise.
+     */
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    /**
+     * Enable/disable gzip compression for this API client. When enabled,
+     * gzip encoded responses are requested and decoded as they are read, and
+     * request bodies of at least {@link #getCompressionThreshold()} bytes are
+     * sent gzip encoded.
+     *
+     * @param compressionEnabled To enable (true) or disable (false) compression
+     * @return ApiClient
+     * @throws IllegalStateException On a client derived by withApiKey or withDeadline
+     */
+    public ApiClient setCompressionEnabled(boolean compressionEnabled) {
+        checkNotView();
+        this.compressionEnabled = compressionEnabled;
+        updateInterceptors();
+        return this;
+    }
+
+    /**
+     * Get the minimum size (in bytes) of request bodies to compress.
+     *
+     * @return Size in bytes
+     */
+    public long getCompressionThreshold() {
+        return gzipRequestInterceptor.getMinimumSize();
+    }
+
+    /**
+     * Sets the minimum size (in bytes) of request bodies to compress. Bodies
+     * of unknown length are never compressed. The default is 1024.
+     *
+     * @param compressionThreshold Size in bytes
+     * @return ApiClient
+     * @throws IllegalStateException On a client derived by withApiKey or withDeadline
+     */
+    public ApiClient setCompressionThreshold(long compressionThreshold) {
+        checkNotView();
+        gzipRequestInterceptor.setMinimumSize(compressionThreshold);
+        return this;
+    }
+
+    /**
+     * Get the byte counts of the bodies compressed by this client.
+     *
+     * @return Compression statistics
+     */
+    public CompressionStats getCompressionStats() {
+        return compressionStats;
+    }
+
+    /**
+     * Get the retry policy of this client.
+     *
+     * @return The retry policy, null if requests are not retried
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryInterceptor != null ? retryInterceptor.getPolicy() : null;
+    }
+
+    /**
+     * Sets the policy to retry failed requests with. The retry budget starts
+     * over with every policy set.
+     *
+     * @param retryPolicy The retry policy, null to not retry requests
+     * @return ApiClient
+     * @throws IllegalStateException On a client derived by withApiKey or withDeadline
+     */
+    public ApiClient setRetryPolicy(RetryPolicy retryPolicy) {
+        checkNotView();
+        if (retryInterceptor != null) {
+            httpClient.interceptors().remove(retryInterceptor);
+            retryInterceptor = null;
+        }
+        if (retryPolicy != null) {
+            retryInterceptor = new RetryInterceptor(retryPolicy);
+        }
+        updateInterceptors();
+        return this;
+    }
+
+    /**
+     * Get the hedging policy of this client.
+     *
+     * @return The hedging policy, null if requests are not hedged
+     */
+    public HedgingPolicy getHedgingPolicy() {
+        return hedger != null ? hedger.getPolicy() : null;
+    }
+
+    /**
+     * Sets the policy to hedge slow GET requests with. The latencies observed
+     * and the hedge budget start over with every policy set.
+     *
+     * @param hedgingPolicy The hedging policy, null to not hedge requests
+     * @return ApiClient
+     */
+    public ApiClient setHedgingPolicy(HedgingPolicy hedgingPolicy) {
+        hedger = hedgingPolicy != null ? new Hedger(hedgingPolicy) : null;
+        return this;
+    }
+
+    /**
+     * Get the number of second attempts sent by the hedging policy.
+     *
+     * @return Number of hedged requests, 0 if requests are not hedged
+     */
+    public long getHedgedRequests() {
+        Hedger current = hedger;
+        return current != null ? current.getHedges() : 0;
+    }
+
+    /**
+     * Get the polling policy of this client.
+     *
+     * @return The polling policy
+     */
+    public PollingPolicy getPollingPolicy() {
+        return pollingPolicy;
+    }
+
+    /**
+     * Sets how often {@link #executePolling} polls, e.g. for
+     * {@link io.swagger.client.api.ScriptexecutionsApi#awaitCompletion}.
+     *
+     * @param pollingPolicy The polling policy
+     * @return ApiClient
+     */
+    public ApiClient setPollingPolicy(PollingPolicy pollingPolicy) {
+        if (pollingPolicy == null) {
+            throw new IllegalArgumentException("pollingPolicy must not be null");
+        }
+        this.pollingPolicy = pollingPolicy;
+        return this;
+    }
+
+    /**
+     * Check that identical GET calls in flight are coalesced
+     *
+     * @return True if coalescing is enabled, false otherwise.
+     */
+    public boolean isCoalescingEnabled() {
+        return coalescer.isEnabled();
+    }
+
+    /**
+     * Enable/disable coalescing of identical GET calls, e.g. many threads
+     * watching the same script execution. A call made while an identical one
+     * is in flight waits for that call and gets its result, including the
+     * deserialized object, which is then shared and must not be modified.
+     * Calls are identical when they are for the same operation, URL and
+     * credentials. Calls with a deadline are not coalesced, and the calls
+     * that wait get no download progress.
+     *
+     * @param coalescingEnabled True to enable coalescing
+     * @return ApiClient
+     * @throws IllegalStateException On a client derived by withApiKey or withDeadline
+     */
+    public ApiClient setCoalescingEnabled(boolean coalescingEnabled) {
+        checkNotView();
+        coalescer.setEnabled(coalescingEnabled);
+        return this;
+    }
+
+    /**
+     * Get the number of calls that got the result of an identical call
+     * instead of sending a request.
+     *
+     * @return Number of requests saved by coalescing
+     */
+    public long getCoalescedCalls() {
+        return coalescer.getCoalescedCalls();
+    }
+
+    /**
+     * Check that conditional GETs are enabled
+     *
+     * @return True if conditional GETs are enabled, false otherwise.
+     */
+    public boolean isConditionalGetsEnabled() {
+        return conditionalCache.isEnabled();
+    }
+
+    /**
+     * Enable/disable conditional GETs of the polled resources. The client
+     * keeps the ETag or Last-Modified validator and the deserialized result of
+     * the latest response for each resource and credentials, sends the
+     * validator along, and on a 304 response returns the kept result without
+     * reading or parsing anything. The result is then shared between the
+     * calls and must not be modified. Disabling drops the kept results.
+     *
+     * @param conditionalGetsEnabled True to enable conditional GETs
+     * @return ApiClient
+     * @see #setConditionalGetOperations(String...)
+     * @throws IllegalStateException On a client derived by withApiKey or withDeadline
+     */
+    public ApiClient setConditionalGetsEnabled(boolean conditionalGetsEnabled) {
+        checkNotView();
+        conditionalCache.setEnabled(conditionalGetsEnabled);
+        return this;
+    }
+
+    public Set<String> getConditionalGetOperations() {
+        return conditionalCache.getOperations();
+    }
+
+    /**
+     * Sets the GET operations that are sent conditionally when enabled.
+     * Default is getScriptExecution, getRunspace and listScriptExecutions.
+     *
+     * @param operationIds Operation ids
+     * @return ApiClient
+     * @throws IllegalStateException On a client derived by withApiKey or withDeadline
+     */
+    public ApiClient setConditionalGetOperations(String... operationIds) {
+        checkNotView();
+        conditionalCache.setOperations(operationIds);
+        return this;
+    }
+
+    /**
+     * Get the number of calls answered with the result kept for their resource.
+     *
+     * @return Number of 304 responses
+     */
+    public long getNotModifiedResponses() {
+        return conditionalCache.getNotModifiedResponses();
+    }
+
+    /**
+     * Cache the results of a GET operation that rarely changes, e.g. getAbout
+     * or listArgumentScriptsTemplates, so identical calls within the TTL are
+     * answered without a request. Results are kept per URL and credentials,
+     * shared between the calls and must not be modified. When the cache is
+     * full the least recently used result is dropped. Setting the cache of an
+     * operation again starts it over.
+     *
+     * @param operationId Operation id, e.g. "getAbout"
+     * @param ttl Time (in milliseconds) a result is reused, 0 to not cache the operation
+     * @param maxEntries Maximum number of results kept
+     * @return ApiClient
+     * @throws IllegalStateException On a client derived by withApiKey or withDeadline
+     */
+    public ApiClient setResponseCache(String operationId, long ttl, int maxEntries) {
+        checkNotView();
+        responseCache.configure(operationId, ttl, maxEntries);
+        return this;
+    }
+
+    /**
+     * Drop the cached results of the given operation, e.g. after changing the
+     * argument script templates.
+     *
+     * @param operationId Operation id
+     * @return ApiClient
+     */
+    public ApiClient invalidateResponseCache(String operationId) {
+        responseCache.invalidate(operationId);
+        return this;
+    }
+
+    /**
+     * Drop all cached results.
+     *
+     * @return ApiClient
+     */
+    public ApiClient invalidateResponseCache() {
+        responseCache.invalidateAll();
+        return this;
+    }
+
+    /**
+     * Get the statistics of the response cache of an operation.
+     *
+     * @param operationId Operation id
+     * @return Cache statistics, null if the operation is not cached
+     */
+    public CacheStats getResponseCacheStats(String operationId) {
+        return responseCache.getStats(operationId);
+    }
+
+    /**
+     * Limit the calls in flight of the given operations, e.g. to keep slow
+     * runspace creation from taking the connections status polling needs.
+     * Calls above the limit fail with an {@link ApiException} caused by
+     * {@link CallRejectedException}. Note that asynchronous calls wait for the
+     * dispatcher limits (see {@link #setMaxRequestsPerHost(int)}) before the
+     * bulkhead is checked, so those should exceed the bulkhead limits.
+     *
+     * @param bulkhead The bulkhead shared by the operations, null to remove their bulkhead
+     * @param operationIds Operation ids, e.g. "createRunspace"
+     * @return ApiClient
+     * @throws IllegalStateException On a client derived by withApiKey or withDeadline
+     */
+    public ApiClient setBulkhead(Bulkhead bulkhead, String... operationIds) {
+        checkNotView();
+        for (String operationId : operationIds) {
+            isolationInterceptor.setBulkhead(bulkhead, operationId);
+        }
+        updateInterceptors();
+        return this;
+    }
+
+    /**
+     * Get the bulkhead of the given operation.
+     *
+     * @param operationId Operation id, e.g. "createRunspace"
+     * @return The bulkhead, null if the operation has none
+     */
+    public Bulkhead getBulkhead(String operationId) {
+        return isolationInterceptor.getBulkhead(operationId);
+    }
+
+    /**
+     * Use a {@link CircuitBreaker} for each operation, which fails its calls
+     * fast while the operation keeps failing. The breakers start closed
+     * with every call of this method.
+     *
+     * @param failureThreshold Number of consecutive failures that open a breaker, 0 to not use circuit breakers
+     * @param openDuration Time (in milliseconds) an open breaker fails calls before a trial call
+     * @return ApiClient
+     * @throws IllegalStateException On a client derived by withApiKey or withDeadline
+     */
+    public ApiClient setCircuitBreakers(int failureThreshold, long openDuration) {
+        checkNotView();
+        isolationInterceptor.setCircuitBreakers(failureThreshold, openDuration);
+        updateInterceptors();
         return this;
     }
 
+    /**
+     * Get the circuit breaker of the given operation, e.g. to report its state.
+     *
+     * @param operationId Operation id, e.g. "createRunspace"
+     * @return The circuit breaker, null if circuit breakers are not used
+     */
+    public CircuitBreaker getCircuitBreaker(String operationId) {
+        return isolationInterceptor.getCircuitBreaker(operationId);
+    }
+
+    /*
+     * Install the interceptors of the enabled features ahead of any other in
+     * this order: logging, bulkheads and circuit breakers, retries, load balancing,
+     * compression. Logging comes first so it logs bodies as plain text, once per
+     * call, and each retry selects its endpoint again.
+     */
+    private void updateInterceptors() {
+        List<Interceptor> interceptors = httpClient.interceptors();
+        interceptors.removeAll(Arrays.asList(loggingInterceptor, isolationInterceptor, retryInterceptor, loadBalancer, gzipRequestInterceptor));
+        int index = 0;
+        if (loggingInterceptor != null) {
+            interceptors.add(index++, loggingInterceptor);
+        }
+        if (!isolationInterceptor.isEmpty()) {
+            interceptors.add(index++, isolationInterceptor);
+        }
+        if (retryInterceptor != null) {
+            interceptors.add(index++, retryInterceptor);
+        }
+        if (loadBalancer != null) {
+            interceptors.add(index++, loadBalancer);
+        }
+        if (compressionEnabled) {
+            interceptors.add(index, gzipRequestInterceptor);
+        }
+    }
+
     /**
      * The path of temporary folder used to store downloaded files from endpoints
      * with file response. The default value is <code>null</code>, i.e. using
@@ -431,8 +1109,10 @@ public class ApiClient {
      *
      * @param connectionTimeout connection timeout in milliseconds
      * @return Api client
+     * @throws IllegalStateException On a client derived by withApiKey or withDeadline
      */
     public ApiClient setConnectTimeout(int connectionTimeout) {
+        checkNotView();
         httpClient.setConnectTimeout(connectionTimeout, TimeUnit.MILLISECONDS);
         return this;
     }
@@ -453,8 +1133,10 @@ public class ApiClient {
      *
      * @param readTimeout read timeout in milliseconds
      * @return Api client
+     * @throws IllegalStateException On a client derived by withApiKey or withDeadline
      */
     public ApiClient setReadTimeout(int readTimeout) {
+        checkNotView();
         httpClient.setReadTimeout(readTimeout, TimeUnit.MILLISECONDS);
         return this;
     }
@@ -475,12 +1157,94 @@ public class ApiClient {
      *
      * @param writeTimeout connection timeout in milliseconds
      * @return Api client
+     * @throws IllegalStateException On a client derived by withApiKey or withDeadline
      */
     public ApiClient setWriteTimeout(int writeTimeout) {
+        checkNotView();
         httpClient.setWriteTimeout(writeTimeout, TimeUnit.MILLISECONDS);
         return this;
     }
 
+    /**
+     * Sets the connection pool limits.
+     *
+     * @param maxIdleConnections Maximum number of idle connections kept open
+     * @param keepAliveDuration Time in milliseconds an idle connection is kept open
+     * @return Api client
+     * @throws IllegalStateException On a client derived by withApiKey or withDeadline
+     */
+    public ApiClient setConnectionPool(int maxIdleConnections, long keepAliveDuration) {
+        checkNotView();
+        httpClient.setConnectionPool(new ConnectionPool(maxIdleConnections, keepAliveDuration, TimeUnit.MILLISECONDS));
+        return this;
+    }
+
+    /**
+     * Get the maximum number of requests executed concurrently.
+     *
+     * @return Maximum number of concurrent requests
+     */
+    public int getMaxRequests() {
+        return httpClient.getDispatcher().getMaxRequests();
+    }
+
+    /**
+     * Sets the maximum number of requests executed concurrently. Requests
+     * above the limit are queued.
+     *
+     * @param maxRequests Maximum number of concurrent requests
+     * @return Api client
+     * @throws IllegalStateException On a client derived by withApiKey or withDeadline
+     */
+    public ApiClient setMaxRequests(int maxRequests) {
+        checkNotView();
+        httpClient.getDispatcher().setMaxRequests(maxRequests);
+        return this;
+    }
+
+    /**
+     * Get the maximum number of requests executed concurrently for each host.
+     *
+     * @return Maximum number of concurrent requests per host
+     */
+    public int getMaxRequestsPerHost() {
+        return httpClient.getDispatcher().getMaxRequestsPerHost();
+    }
+
+    /**
+     * Sets the maximum number of requests executed concurrently for each host.
+     * Requests above the limit are queued. The default is 5.
+     *
+     * @param maxRequestsPerHost Maximum number of concurrent requests per host
+     * @return Api client
+     * @throws IllegalStateException On a client derived by withApiKey or withDeadline
+     */
+    public ApiClient setMaxRequestsPerHost(int maxRequestsPerHost) {
+        checkNotView();
+        httpClient.getDispatcher().setMaxRequestsPerHost(maxRequestsPerHost);
+        return this;
+    }
+
+    /**
+     * Get a snapshot of the connection pool and dispatcher usage.
+     *
+     * @return Connection statistics
+     */
+    public ConnectionStats getConnectionStats() {
+        ConnectionPool pool = httpClient.getConnectionPool() != null
+                ? httpClient.getConnectionPool()
+                : ConnectionPool.getDefault();
+        Dispatcher dispatcher = httpClient.getDispatcher();
+        int idle = pool.getIdleConnectionCount();
+        return new ConnectionStats(
+                idle,
+                Math.max(0, pool.getConnectionCount() - idle),
+                dispatcher.getQueuedCallCount(),
+                dispatcher.getRunningCallCount() + runningSyncCalls.get(),
+                requestTagInterceptor.getExchangeCount(),
+                requestTagInterceptor.getReusedExchangeCount());
+    }
+
     /**
      * Format the given parameter object into string.
      *
@@ -600,8 +1364,7 @@ public class ApiClient {
      * @return True if the given MIME is JSON, false otherwise.
      */
     public boolean isJsonMime(String mime) {
-      String jsonMime = "(?i)^(application/json|[^;/ \t]+/[^;/ \t]+[+]json)[ \t]*(;.*)?$";
-      return mime != null && (mime.matches(jsonMime) || mime.equals("*/*"));
+        return MediaTypes.isJson(mime);
     }
 
     /**
@@ -614,15 +1377,7 @@ public class ApiClient {
      *   null will be returned (not to set the Accept header explicitly).
      */
     public String selectHeaderAccept(String[] accepts) {
-        if (accepts.length == 0) {
-            return null;
-        }
-        for (String accept : accepts) {
-            if (isJsonMime(accept)) {
-                return accept;
-            }
-        }
-        return StringUtil.join(accepts, ",");
+        return MediaTypes.selectHeaderAccept(accepts);
     }
 
     /**
@@ -635,15 +1390,7 @@ public class ApiClient {
      *   or matches "any", JSON will be used.
      */
     public String selectHeaderContentType(String[] contentTypes) {
-        if (contentTypes.length == 0 || contentTypes[0].equals("*/*")) {
-             return "application/json";
-        }
-        for (String contentType : contentTypes) {
-            if (isJsonMime(contentType)) {
-                return contentType;
-            }
-        }
-        return contentTypes[0];
+        return MediaTypes.selectHeaderContentType(contentTypes);
     }
 
     /**
@@ -653,11 +1400,7 @@ public class ApiClient {
      * @return Escaped string
      */
     public String escapeString(String str) {
-        try {
-            return URLEncoder.encode(str, "utf8").replaceAll("\\+", "%20");
-        } catch (UnsupportedEncodingException e) {
-            return str;
-        }
+        return UriTemplate.encode(str);
     }
 
     /**
@@ -689,25 +1432,40 @@ public class ApiClient {
             return (T) downloadFileFromResponse(response);
         }
 
+        if (response.body() == null) {
+            return null;
+        }
+
+        String contentType = response.headers().get("Content-Type");
+        if (contentType == null) {
+            // ensuring a default content type
+            contentType = "application/json";
+        }
+        if (isJsonMime(contentType) && !returnType.equals(String.class)) {
+            // Read the JSON straight from the response source, never holding the whole body as a String.
+            try {
+                return json.deserialize(response.body().charStream(), returnType);
+            } catch (IOException e) {
+                throw new ApiException(e);
+            } catch (JsonParseException e) {
+                // also how Gson reports a body cut short, e.g. by a deadline canceling the call
+                throw new ApiException(e);
+            } finally {
+                closeQuietly(response.body());
+            }
+        }
+
         String respBody;
         try {
-            if (response.body() != null)
-                respBody = response.body().string();
-            else
-                respBody = null;
+            respBody = response.body().string();
         } catch (IOException e) {
             throw new ApiException(e);
         }
 
-        if (respBody == null || "".equals(respBody)) {
+        if ("".equals(respBody)) {
             return null;
         }
 
-        String contentType = response.headers().get("Content-Type");
-        if (contentType == null) {
-            // ensuring a default content type
-            contentType = "application/json";
-        }
         if (isJsonMime(contentType)) {
             return json.deserialize(respBody, returnType);
         } else if (returnType.equals(String.class)) {
@@ -722,6 +1480,13 @@ public class ApiClient {
         }
     }
 
+    private static void closeQuietly(ResponseBody body) {
+        try {
+            body.close();
+        } catch (IOException ignored) {
+        }
+    }
+
     /**
      * Serialize the given Java object into request body according to the object's
      * class and the request Content-Type.
@@ -825,6 +1590,19 @@ public class ApiClient {
         return execute(call, null);
     }
 
+    /**
+     * @return The given failure, or a {@link DeadlineExceededException} caused
+     *   by it when the call was canceled by the deadline of this client
+     */
+    private IOException deadlineExceeded(IOException e) {
+        if (deadline == null || !deadline.isExpired() || e instanceof DeadlineExceededException) {
+            return e;
+        }
+        IOException exceeded = deadline.exceeded();
+        exceeded.initCause(e);
+        return exceeded;
+    }
+
     /**
      * Execute HTTP call and deserialize the HTTP response body into the given return type.
      *
@@ -836,14 +1614,135 @@ public class ApiClient {
      *   when returnType is null.
      * @throws ApiException If fail to execute the call
      */
+    @SuppressWarnings("unchecked")
     public <T> ApiResponse<T> execute(Call call, Type returnType) throws ApiException {
+        if (!(call instanceof KeyedCall)) {
+            return executeCall(call, returnType, null);
+        }
+        KeyedCall keyedCall = (KeyedCall) call;
+        if (keyedCall.isCached()) {
+            ApiResponse<T> cached = responseCache.get(keyedCall.getOperationId(), keyedCall.getKey());
+            if (cached != null) {
+                return cached;
+            }
+        }
+        if (!keyedCall.isCoalesced()) {
+            return executeCall(keyedCall.getDelegate(), returnType, keyedCall);
+        }
+        Coalescer.Flight flight = new Coalescer.Flight();
+        Coalescer.Flight inFlight = coalescer.join(keyedCall.getKey(), flight);
+        if (inFlight != null) {
+            return (ApiResponse<T>) inFlight.await();
+        }
+        ApiResponse<T> response = null;
+        ApiException failure = null;
         try {
-            Response response = call.execute();
+            response = executeCall(keyedCall.getDelegate(), returnType, keyedCall);
+            return response;
+        } catch (ApiException e) {
+            failure = e;
+            throw e;
+        } catch (RuntimeException e) {
+            failure = new ApiException(e);
+            throw e;
+        } finally {
+            coalescer.complete(keyedCall.getKey(), flight, response, failure);
+        }
+    }
+
+    private <T> ApiResponse<T> executeCall(Call call, Type returnType, KeyedCall keyedCall) throws ApiException {
+        try {
+            Response response = executeSync(call);
+            if (keyedCall != null && keyedCall.isConditional()) {
+                ApiResponse<T> notModified = conditionalCache.notModified(keyedCall.getValidated(), response);
+                if (notModified != null) {
+                    if (keyedCall.isCached()) {
+                        responseCache.put(keyedCall.getOperationId(), keyedCall.getKey(), notModified);
+                    }
+                    return notModified;
+                }
+            }
             T data = handleResponse(response, returnType);
-            return new ApiResponse<T>(response.code(), response.headers().toMultimap(), data);
+            ApiResponse<T> result = new ApiResponse<T>(response.code(), response.headers().toMultimap(), data);
+            if (keyedCall != null) {
+                store(keyedCall, response, result);
+            }
+            return result;
+        } catch (IOException e) {
+            throw new ApiException(deadlineExceeded(e));
+        }
+    }
+
+    private Response executeSync(Call call) throws IOException {
+        runningSyncCalls.incrementAndGet();
+        try {
+            return call.execute();
+        } finally {
+            runningSyncCalls.decrementAndGet();
+        }
+    }
+
+    private void store(KeyedCall keyedCall, Response response, ApiResponse<?> result) {
+        if (keyedCall.isConditional()) {
+            conditionalCache.store(keyedCall.getKey(), response, result);
+        }
+        if (keyedCall.isCached()) {
+            responseCache.put(keyedCall.getOperationId(), keyedCall.getKey(), result);
+        }
+    }
+
+    /**
+     * Execute HTTP call and iterate the JSON array in the response body, deserializing
+     * each element into the given type as it is read from the connection.
+     * The connection is held until the iterator is exhausted or closed.
+     *
+     * @param <T> The element type corresponding to (same with) elementType
+     * @param call Call
+     * @param elementType The type used to deserialize each array element
+     * @return Iterator over the array elements
+     * @throws ApiException If fail to execute the call, the response has an unsuccessful
+     *   status code or the body is not a JSON array
+     */
+    public <T> CloseableIterator<T> executeIterator(Call call, Type elementType) throws ApiException {
+        Response response;
+        try {
+            response = executeSync(call);
         } catch (IOException e) {
             throw new ApiException(e);
         }
+        try {
+            if (!response.isSuccessful() || response.code() == 204 || response.body() == null) {
+                // throws for unsuccessful status codes, otherwise there is nothing to iterate
+                handleResponse(response, null);
+                return json.deserializeArray(new StringReader(""), elementType);
+            }
+            String contentType = response.headers().get("Content-Type");
+            if (contentType != null && !isJsonMime(contentType)) {
+                closeQuietly(response.body());
+                throw new ApiException("Content type \"" + contentType + "\" is not supported for iterating: " + elementType,
+                        response.code(), response.headers().toMultimap(), null);
+            }
+            return json.deserializeArray(response.body().charStream(), elementType);
+        } catch (IOException e) {
+            closeQuietly(response.body());
+            throw new ApiException(response.message(), e, response.code(), response.headers().toMultimap());
+        }
+    }
+
+    /**
+     * Poll a resource with asynchronous calls until it is done, waiting
+     * between the polls as the polling policy of this client says and at
+     * most until the deadline of this client.
+     *
+     * @param <T> Type of the resource polled
+     * @param poll Starts a call getting the resource and tells when it is done
+     * @param callback Invoked with the resource once done or with the failure, may be null
+     * @return Future of the resource once done
+     */
+    public <T> PollingFuture<T> executePolling(PollingFuture.Poll<T> poll, ApiCallback<T> callback) {
+        PollingFuture<T> future = new PollingFuture<T>(pollingPolicy, deadline, poll, callback);
+        future.start();
+        return future;
     }
 
     /**
@@ -866,26 +1765,89 @@ public class ApiClient {
      * @param returnType Return type
      * @param callback ApiCallback
      */
-    @SuppressWarnings("unchecked")
     public <T> void executeAsync(Call call, final Type returnType, final ApiCallback<T> callback) {
-        call.enqueue(new Callback() {
+        if (!(call instanceof KeyedCall)) {
+            executeAsync(call, returnType, callback, null, null);
+            return;
+        }
+        KeyedCall keyedCall = (KeyedCall) call;
+        if (keyedCall.isCached()) {
+            ApiResponse<T> cached = responseCache.get(keyedCall.getOperationId(), keyedCall.getKey());
+            if (cached != null) {
+                callback.onSuccess(cached.getData(), cached.getStatusCode(), cached.getHeaders());
+                return;
+            }
+        }
+        if (!keyedCall.isCoalesced()) {
+            executeAsync(keyedCall.getDelegate(), returnType, callback, keyedCall, null);
+            return;
+        }
+        Coalescer.Flight flight = new Coalescer.Flight();
+        Coalescer.Flight inFlight = coalescer.join(keyedCall.getKey(), flight);
+        if (inFlight != null) {
+            inFlight.addCallback(callback);
+        } else {
+            executeAsync(keyedCall.getDelegate(), returnType, callback, keyedCall, flight);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void executeAsync(Call call, final Type returnType, final ApiCallback<T> callback,
+                                  final KeyedCall keyedCall, final Coalescer.Flight flight) {
+        Callback responseCallback = new Callback() {
             @Override
             public void onFailure(Request request, IOException e) {
-                callback.onFailure(new ApiException(e), 0, null);
+                ApiException failure = new ApiException(deadlineExceeded(e));
+                if (flight != null) {
+                    coalescer.complete(keyedCall.getKey(), flight, null, failure);
+                }
+                callback.onFailure(failure, 0, null);
             }
 
             @Override
             public void onResponse(Response response) throws IOException {
+                if (keyedCall != null && keyedCall.isConditional()) {
+                    ApiResponse<T> notModified = conditionalCache.notModified(keyedCall.getValidated(), response);
+                    if (notModified != null) {
+                        if (keyedCall.isCached()) {
+                            responseCache.put(keyedCall.getOperationId(), keyedCall.getKey(), notModified);
+                        }
+                        succeed(notModified);
+                        return;
+                    }
+                }
                 T result;
                 try {
                     result = (T) handleResponse(response, returnType);
                 } catch (ApiException e) {
+                    if (flight != null) {
+                        coalescer.complete(keyedCall.getKey(), flight, null, e);
+                    }
                     callback.onFailure(e, response.code(), response.headers().toMultimap());
                     return;
                 }
-                callback.onSuccess(result, response.code(), response.headers().toMultimap());
+                ApiResponse<T> apiResponse = new ApiResponse<T>(response.code(), response.headers().toMultimap(), result);
+                if (keyedCall != null) {
+                    store(keyedCall, response, apiResponse);
+                }
+                succeed(apiResponse);
             }
-        });
+
+            private void succeed(ApiResponse<T> apiResponse) {
+                if (flight != null) {
+                    coalescer.complete(keyedCall.getKey(), flight, apiResponse, null);
+                }
+                callback.onSuccess(apiResponse.getData(), apiResponse.getStatusCode(), apiResponse.getHeaders());
+            }
+        };
+        try {
+            call.enqueue(responseCallback);
+        } catch (RuntimeException e) {
+            if (flight != null) {
+                coalescer.complete(keyedCall.getKey(), flight, null, new ApiException(e));
+            }
+            throw e;
+        }
     }
 
     /**
@@ -932,20 +1894,95 @@ public class ApiClient {
      *
      * @param path The sub-path of the HTTP URL
      * @param method The request method, one of "GET", "HEAD", "OPTIONS", "POST", "PUT", "PATCH" and "DELETE"
-     * @param queryParams The query parameters
-     * @param collectionQueryParams The collection query parameters
+     * @param queryParams The query parameters, may be null
+     * @param collectionQueryParams The collection query parameters, may be null
      * @param body The request body object
-     * @param headerParams The header parameters
-     * @param formParams The form parameters
+     * @param headerParams The header parameters, may be null
+     * @param formParams The form parameters, may be null
      * @param authNames The authentications to apply
      * @param progressRequestListener Progress request listener
      * @return The HTTP call
      * @throws ApiException If fail to serialize the request body object
      */
     public Call buildCall(String path, String method, List<Pair> queryParams, List<Pair> collectionQueryParams, Object body, Map<String, String> headerParams, Map<String, Object> formParams, String[] authNames, ProgressRequestBody.ProgressRequestListener progressRequestListener) throws ApiException {
-        Request request = buildRequest(path, method, queryParams, collectionQueryParams, body, headerParams, formParams, authNames, progressRequestListener);
+        return buildCall(null, path, method, queryParams, collectionQueryParams, body, headerParams, formParams, authNames, null, progressRequestListener);
+    }
 
-        return httpClient.newCall(request);
+    /**
+     * Build HTTP call with the given options, tagged with the given operation and download progress listener.
+     *
+     * @param operationId The API operation the call is built for
+     * @param path The sub-path of the HTTP URL
+     * @param method The request method, one of "GET", "HEAD", "OPTIONS", "POST", "PUT", "PATCH" and "DELETE"
+     * @param queryParams The query parameters, may be null
+     * @param collectionQueryParams The collection query parameters, may be null
+     * @param body The request body object
+     * @param headerParams The header parameters, may be null
+     * @param formParams The form parameters, may be null
+     * @param authNames The authentications to apply
+     * @param progressListener Progress listener
+     * @param progressRequestListener Progress request listener
+     * @return The HTTP call
+     * @throws ApiException If fail to serialize the request body object
+     */
+    public Call buildCall(String operationId, String path, String method, List<Pair> queryParams, List<Pair> collectionQueryParams, Object body, Map<String, String> headerParams, Map<String, Object> formParams, String[] authNames, ProgressResponseBody.ProgressListener progressListener, ProgressRequestBody.ProgressRequestListener progressRequestListener) throws ApiException {
+        Request request = buildRequest(operationId, path, method, queryParams, collectionQueryParams, body, headerParams, formParams, authNames, progressListener, progressRequestListener);
+
+        boolean cached = responseCache.isCached(request);
+        boolean coalesced = coalescer.isCoalesced(request);
+        boolean conditional = conditionalCache.isConditional(request);
+        String key = null;
+        if (cached || coalesced || conditional) {
+            key = KeyedCall.keyOf(request);
+        }
+        ConditionalCache.Entry validated = conditional ? conditionalCache.get(key) : null;
+        if (validated != null) {
+            request = validated.conditional(request);
+        }
+
+        Call call;
+        if (deadline == null) {
+            call = newCall(request, transport, httpClient);
+        } else {
+            if (deadline.isExpired()) {
+                throw new ApiException(deadline.exceeded());
+            }
+            if (transport != null) {
+                // the transport applies the deadline of the request tag
+                call = newCall(request, transport, httpClient);
+            } else {
+                OkHttpClient client = withTimeoutsWithin(deadline);
+                call = newCall(request, new OkHttpTransport(client), client);
+            }
+            deadline.track(call);
+        }
+        return key != null ? new KeyedCall(httpClient, request, call, key, cached, coalesced, conditional, validated) : call;
+    }
+
+    private Call newCall(Request request, HttpTransport transport, OkHttpClient client) {
+        Hedger currentHedger = hedger;
+        if (currentHedger != null && currentHedger.isHedged(request)) {
+            return new HedgedCall(currentHedger, transport != null ? transport : new OkHttpTransport(client), client, request);
+        }
+        return transport != null ? transport.newCall(request) : client.newCall(request);
+    }
+
+    /**
+     * @return A copy of the HTTP client, sharing its connections and
+     *   dispatcher, whose timeouts end at the deadline at the latest
+     */
+    private OkHttpClient withTimeoutsWithin(Deadline deadline) {
+        long remaining = Math.max(1, deadline.remaining(TimeUnit.MILLISECONDS));
+        OkHttpClient client = httpClient.clone();
+        client.setConnectTimeout(within(client.getConnectTimeout(), remaining), TimeUnit.MILLISECONDS);
+        client.setReadTimeout(within(client.getReadTimeout(), remaining), TimeUnit.MILLISECONDS);
+        client.setWriteTimeout(within(client.getWriteTimeout(), remaining), TimeUnit.MILLISECONDS);
+        return client;
+    }
+
+    private static long within(long timeout, long remaining) {
+        // 0 means no timeout
+        return timeout == 0 ? remaining : Math.min(timeout, remaining);
     }
 
     /**
@@ -953,21 +1990,51 @@ public class ApiClient {
      *
      * @param path The sub-path of the HTTP URL
      * @param method The request method, one of "GET", "HEAD", "OPTIONS", "POST", "PUT", "PATCH" and "DELETE"
-     * @param queryParams The query parameters
-     * @param collectionQueryParams The collection query parameters
+     * @param queryParams The query parameters, may be null
+     * @param collectionQueryParams The collection query parameters, may be null
      * @param body The request body object
-     * @param headerParams The header parameters
-     * @param formParams The form parameters
+     * @param headerParams The header parameters, may be null
+     * @param formParams The form parameters, may be null
      * @param authNames The authentications to apply
      * @param progressRequestListener Progress request listener
      * @return The HTTP request 
      * @throws ApiException If fail to serialize the request body object
      */
     public Request buildRequest(String path, String method, List<Pair> queryParams, List<Pair> collectionQueryParams, Object body, Map<String, String> headerParams, Map<String, Object> formParams, String[] authNames, ProgressRequestBody.ProgressRequestListener progressRequestListener) throws ApiException {
+        return buildRequest(null, path, method, queryParams, collectionQueryParams, body, headerParams, formParams, authNames, null, progressRequestListener);
+    }
+
+    /**
+     * Build an HTTP request with the given options, tagged with a {@link RequestTag}
+     * carrying the operation and download progress listener.
+     *
+     * @param operationId The API operation the request is built for
+     * @param path The sub-path of the HTTP URL
+     * @param method The request method, one of "GET", "HEAD", "OPTIONS", "POST", "PUT", "PATCH" and "DELETE"
+     * @param queryParams The query parameters, may be null
+     * @param collectionQueryParams The collection query parameters, may be null
+     * @param body The request body object
+     * @param headerParams The header parameters, may be null
+     * @param formParams The form parameters, may be null
+     * @param authNames The authentications to apply
+     * @param progressListener Progress listener
+     * @param progressRequestListener Progress request listener
+     * @return The HTTP request
+     * @throws ApiException If fail to serialize the request body object
+     */
+    public Request buildRequest(String operationId, String path, String method, List<Pair> queryParams, List<Pair> collectionQueryParams, Object body, Map<String, String> headerParams, Map<String, Object> formParams, String[] authNames, ProgressResponseBody.ProgressListener progressListener, ProgressRequestBody.ProgressRequestListener progressRequestListener) throws ApiException {
+        if (queryParams == null) {
+            // authentications may add query parameters
+            queryParams = new ArrayList<Pair>(0);
+        }
+        if (headerParams == null) {
+            headerParams = new HashMap<String, String>();
+        }
         updateParamsForAuth(authNames, queryParams, headerParams);
 
         final String url = buildUrl(path, queryParams, collectionQueryParams);
-        final Request.Builder reqBuilder = new Request.Builder().url(url);
+        final Request.Builder reqBuilder = new Request.Builder().url(url)
+                .tag(new RequestTag(operationId, progressListener, deadline));
         processHeaderParams(headerParams, reqBuilder);
 
         String contentType = (String) headerParams.get("Content-Type");
@@ -1011,44 +2078,38 @@ public class ApiClient {
      * Build full URL by concatenating base path, the given sub path and query parameters.
      *
      * @param path The sub path
-     * @param queryParams The query parameters
-     * @param collectionQueryParams The collection query parameters
+     * @param queryParams The query parameters, may be null
+     * @param collectionQueryParams The collection query parameters, may be null
      * @return The full URL
      */
     public String buildUrl(String path, List<Pair> queryParams, List<Pair> collectionQueryParams) {
-        final StringBuilder url = new StringBuilder();
+        final StringBuilder url = new StringBuilder(basePath.length() + path.length() + 64);
         url.append(basePath).append(path);
 
+        // support (constant) query string in `path`, e.g. "/posts?draft=1"
+        boolean hasQuery = path.indexOf('?') >= 0;
         if (queryParams != null && !queryParams.isEmpty()) {
-            // support (constant) query string in `path`, e.g. "/posts?draft=1"
-            String prefix = path.contains("?") ? "&" : "?";
             for (Pair param : queryParams) {
                 if (param.getValue() != null) {
-                    if (prefix != null) {
-                        url.append(prefix);
-                        prefix = null;
-                    } else {
-                        url.append("&");
-                    }
+                    url.append(hasQuery ? '&' : '?');
+                    hasQuery = true;
                     String value = parameterToString(param.getValue());
-                    url.append(escapeString(param.getName())).append("=").append(escapeString(value));
+                    UriTemplate.encode(param.getName(), url);
+                    url.append('=');
+                    UriTemplate.encode(value, url);
                 }
             }
         }
 
         if (collectionQueryParams != null && !collectionQueryParams.isEmpty()) {
-            String prefix = url.toString().contains("?") ? "&" : "?";
             for (Pair param : collectionQueryParams) {
                 if (param.getValue() != null) {
-                    if (prefix != null) {
-                        url.append(prefix);
-                        prefix = null;
-                    } else {
-                        url.append("&");
-                    }
+                    url.append(hasQuery ? '&' : '?');
+                    hasQuery = true;
                     String value = parameterToString(param.getValue());
                     // collection query parameter value already escaped as part of parameterToPairs
-                    url.append(escapeString(param.getName())).append("=").append(value);
+                    UriTemplate.encode(param.getName(), url);
+                    url.append('=').append(value);
                 }
             }
         }
@@ -1063,14 +2124,16 @@ public class ApiClient {
      * @param reqBuilder Reqeust.Builder
      */
     public void processHeaderParams(Map<String, String> headerParams, Request.Builder reqBuilder) {
+        Headers defaults = defaultHeaders;
+        for (int i = 0, size = defaults.size(); i < size; i++) {
+            String name = defaults.name(i);
+            if (!headerParams.containsKey(name)) {
+                reqBuilder.header(name, defaults.value(i));
+            }
+        }
         for (Entry<String, String> param : headerParams.entrySet()) {
             reqBuilder.header(param.getKey(), parameterToString(param.getValue()));
         }
-        for (Entry<String, String> header : defaultHeaderMap.entrySet()) {
-            if (!headerParams.containsKey(header.getKey())) {
-                reqBuilder.header(header.getKey(), parameterToString(header.getValue()));
-            }
-        }
     }
 
     /**
@@ -1096,6 +2159,9 @@ public class ApiClient {
      */
     public RequestBody buildRequestBodyFormEncoding(Map<String, Object> formParams) {
         FormEncodingBuilder formBuilder  = new FormEncodingBuilder();
+        if (formParams == null) {
+            formParams = Collections.emptyMap();
+        }
         for (Entry<String, Object> param : formParams.entrySet()) {
             formBuilder.add(param.getKey(), parameterToString(param.getValue()));
         }
@@ -1111,6 +2177,9 @@ public class ApiClient {
      */
     public RequestBody buildRequestBodyMultipart(Map<String, Object> formParams) {
         MultipartBuilder mpBuilder = new MultipartBuilder().type(MultipartBuilder.FORM);
+        if (formParams == null) {
+            formParams = Collections.emptyMap();
+        }
         for (Entry<String, Object> param : formParams.entrySet()) {
             if (param.getValue() instanceof File) {
                 File file = (File) param.getValue();
@@ -1142,65 +2211,29 @@ public class ApiClient {
 
     /**
      * Apply SSL related settings to httpClient according to the current values of
-     * verifyingSsl and sslCaCert.
+     * verifyingSsl, sslCaCert and keyManagers.
+     *
+     * The socket factory is shared by all clients with the same settings, see
+     * {@link TlsContextCache}.
      */
     private void applySslSettings() {
         try {
-            TrustManager[] trustManagers = null;
-            HostnameVerifier hostnameVerifier = null;
-            if (!verifyingSsl) {
-                TrustManager trustAll = new X509TrustManager() {
-                    @Override
-                    public void checkClientTrusted(X509Certificate[] chain, String authType) throws CertificateException {}
-                    @Override
-                    public void checkServerTrusted(X509Certificate[] chain, String authType) throws CertificateException {}
-                    @Override
-                    public X509Certificate[] getAcceptedIssuers() { return null; }
-                };
-                SSLContext sslContext = SSLContext.getInstance("TLS");
-                trustManagers = new TrustManager[]{ trustAll };
-                hostnameVerifier = new HostnameVerifier() {
-                    @Override
-                    public boolean verify(String hostname, SSLSession session) { return true; }
-                };
-            } else if (sslCaCert != null) {
-                char[] password = null; // Any password will work.
-                CertificateFactory certificateFactory = CertificateFactory.getInstance("X.509");
-                Collection<? extends Certificate> certificates = certificateFactory.generateCertificates(sslCaCert);
-                if (certificates.isEmpty()) {
-                    throw new IllegalArgumentException("expected non-empty set of trusted certificates");
-                }
-                KeyStore caKeyStore = newEmptyKeyStore(password);
-                int index = 0;
-                for (Certificate certificate : certificates) {
-                    String certificateAlias = "ca" + Integer.toString(index++);
-                    caKeyStore.setCertificateEntry(certificateAlias, certificate);
-                }
-                TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
-                trustManagerFactory.init(caKeyStore);
-                trustManagers = trustManagerFactory.getTrustManagers();
-            }
-
-            if (keyManagers != null || trustManagers != null) {
-                SSLContext sslContext = SSLContext.getInstance("TLS");
-                sslContext.init(keyManagers, trustManagers, new SecureRandom());
-                httpClient.setSslSocketFactory(sslContext.getSocketFactory());
-            } else {
-                httpClient.setSslSocketFactory(null);
-            }
-            httpClient.setHostnameVerifier(hostnameVerifier);
+            httpClient.setSslSocketFactory(TlsContextCache.socketFactory(verifyingSsl, sslCaCertBytes, keyManagers));
+            httpClient.setHostnameVerifier(verifyingSsl ? null : TlsContextCache.TRUST_ALL_HOSTNAMES);
         } catch (GeneralSecurityException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private KeyStore newEmptyKeyStore(char[] password) throws GeneralSecurityException {
+    /**
+     * @return The SSL context of the TLS settings of this client, for transports
+     *   that do not take the socket factory of the OkHttp client
+     */
+    SSLContext getSslContext() {
         try {
-            KeyStore keyStore = KeyStore.getInstance(KeyStore.getDefaultType());
-            keyStore.load(null, password);
-            return keyStore;
-        } catch (IOException e) {
-            throw new AssertionError(e);
+            return TlsContextCache.sslContext(verifyingSsl, sslCaCertBytes, keyManagers);
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException(e);
         }
     }
 }
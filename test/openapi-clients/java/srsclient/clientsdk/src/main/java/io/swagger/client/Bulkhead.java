@@ -0,0 +1,63 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limit of the calls in flight for a group of operations. Calls above the
+ * limit fail fast with {@link CallRejectedException} instead of waiting, so
+ * a slow operation cannot take all the connections and dispatcher threads
+ * other operations need.
+ *
+ * @see ApiClient#setBulkhead(Bulkhead, String...)
+ */
+public class Bulkhead {
+    private final int maxConcurrentCalls;
+    private final Semaphore permits;
+    private final AtomicLong rejectedCalls = new AtomicLong();
+
+    /**
+     * @param maxConcurrentCalls Maximum number of calls in flight
+     */
+    public Bulkhead(int maxConcurrentCalls) {
+        if (maxConcurrentCalls < 1) {
+            throw new IllegalArgumentException("maxConcurrentCalls must be at least 1");
+        }
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.permits = new Semaphore(maxConcurrentCalls);
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    /**
+     * @return Number of calls in flight
+     */
+    public int getActiveCalls() {
+        return maxConcurrentCalls - permits.availablePermits();
+    }
+
+    /**
+     * @return Number of calls rejected because the limit was reached
+     */
+    public long getRejectedCalls() {
+        return rejectedCalls.get();
+    }
+
+    boolean tryAcquire() {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        rejectedCalls.incrementAndGet();
+        return false;
+    }
+
+    void release() {
+        permits.release();
+    }
+}
@@ -0,0 +1,81 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+/**
+ * Point-in-time snapshot of the response cache of one operation of an
+ * {@link ApiClient}.
+ *
+ * @see ApiClient#getResponseCacheStats(String)
+ */
+public class CacheStats {
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long expirations;
+    private final int size;
+
+    CacheStats(long hits, long misses, long evictions, long expirations, int size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.expirations = expirations;
+        this.size = size;
+    }
+
+    /**
+     * @return Number of calls answered from the cache
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return Number of calls that sent a request
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return Number of results dropped to stay within the size limit
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return Number of results dropped because they outlived the TTL
+     */
+    public long getExpirations() {
+        return expirations;
+    }
+
+    /**
+     * @return Number of results in the cache
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Fraction of calls answered from the cache.
+     *
+     * @return Ratio between 0 and 1, 0 if nothing has been called yet
+     */
+    public double getHitRatio() {
+        long calls = hits + misses;
+        return calls == 0 ? 0 : (double) hits / calls;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats {hits=" + hits +
+                ", misses=" + misses +
+                ", evictions=" + evictions +
+                ", expirations=" + expirations +
+                ", size=" + size + "}";
+    }
+}
@@ -0,0 +1,37 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+
+import java.io.IOException;
+
+/**
+ * Listener notified about every HTTP exchange made by an {@link ApiClient}.
+ *
+ * Listeners are called on the thread executing the call and should return quickly.
+ */
+public interface CallListener {
+    /**
+     * This is called when the response headers have been received.
+     *
+     * @param tag The request tag, null if the request was not built by {@link ApiClient}
+     * @param request The request sent to the server
+     * @param response The response received
+     * @param tookNanos Time from sending the request to receiving the response headers
+     */
+    void onResponse(RequestTag tag, Request request, Response response, long tookNanos);
+
+    /**
+     * This is called when the exchange failed with an I/O error.
+     *
+     * @param tag The request tag, null if the request was not built by {@link ApiClient}
+     * @param request The request sent to the server
+     * @param e The failure
+     * @param tookNanos Time from sending the request to the failure
+     */
+    void onFailure(RequestTag tag, Request request, IOException e, long tookNanos);
+}
@@ -0,0 +1,30 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import java.io.IOException;
+
+/**
+ * Signals that a call was failed fast without being sent, because its
+ * {@link Bulkhead} is full or its {@link CircuitBreaker} is open. It reaches
+ * the caller as the cause of an {@link ApiException}.
+ */
+public class CallRejectedException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final String operationId;
+
+    public CallRejectedException(String operationId, String message) {
+        super(message);
+        this.operationId = operationId;
+    }
+
+    /**
+     * @return The operation of the rejected call
+     */
+    public String getOperationId() {
+        return operationId;
+    }
+}
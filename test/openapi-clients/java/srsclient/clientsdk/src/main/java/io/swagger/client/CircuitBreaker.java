@@ -0,0 +1,101 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+/**
+ * Circuit breaker of one operation.
+ *
+ * Opens after the given number of consecutive failures, I/O errors or 5xx
+ * responses, and then fails calls fast with {@link CallRejectedException}.
+ * Once the open duration has passed a single trial call is let through: its
+ * success closes the breaker, its failure opens it again.
+ *
+ * @see ApiClient#setCircuitBreakers(int, long)
+ */
+public class CircuitBreaker {
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDuration;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtMillis;
+    private boolean trialInFlight;
+
+    /**
+     * @param failureThreshold Number of consecutive failures that open the breaker
+     * @param openDuration Time (in milliseconds) calls fail fast before a trial call
+     */
+    public CircuitBreaker(int failureThreshold, long openDuration) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("failureThreshold must be at least 1");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public long getOpenDuration() {
+        return openDuration;
+    }
+
+    /**
+     * @return The current state, an open breaker whose open duration has
+     *   passed reports {@link State#HALF_OPEN}
+     */
+    public synchronized State getState() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAtMillis >= openDuration) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    synchronized boolean tryAcquire() {
+        State current = getState();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.HALF_OPEN && !trialInFlight) {
+            state = State.HALF_OPEN;
+            trialInFlight = true;
+            return true;
+        }
+        return false;
+    }
+
+    synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        trialInFlight = false;
+        state = State.CLOSED;
+    }
+
+    synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAtMillis = System.currentTimeMillis();
+        }
+        trialInFlight = false;
+    }
+
+    synchronized void onCanceled() {
+        trialInFlight = false;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "CircuitBreaker {state=" + getState() + ", consecutiveFailures=" + consecutiveFailures + "}";
+    }
+}
@@ -0,0 +1,17 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * Iterator over a resource that has to be released, e.g. a response body read lazily.
+ * It is closed automatically once exhausted; close it explicitly when iteration stops early.
+ *
+ * @param <T> The element type
+ */
+public interface CloseableIterator<T> extends Iterator<T>, Closeable {
+}
@@ -0,0 +1,130 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.Request;
+
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single flight of identical GET calls: the first call of a key is executed
+ * and the calls joining it while it is in flight get its result.
+ *
+ * Calls are identical when they are for the same operation, URL and
+ * credentials. Calls with a {@link Deadline} are never coalesced, as waiting
+ * for another call could not honor it. Only the download progress listener
+ * of the executed call is notified.
+ */
+class Coalescer {
+    private volatile boolean enabled;
+    private final ConcurrentMap<String, Flight> flights = new ConcurrentHashMap<String, Flight>();
+    private final AtomicLong coalescedCalls = new AtomicLong();
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    long getCoalescedCalls() {
+        return coalescedCalls.get();
+    }
+
+    /**
+     * @return True if the call of the given request may be coalesced
+     */
+    boolean isCoalesced(Request request) {
+        RequestTag tag = RequestTag.of(request);
+        return enabled && "GET".equals(request.method()) && tag != null && tag.getDeadline() == null;
+    }
+
+    /**
+     * Join the flight of the given key, or start it.
+     *
+     * @return The flight in progress, null if the given flight was started
+     *   and must be completed by the caller
+     */
+    Flight join(String key, Flight flight) {
+        Flight inFlight = flights.putIfAbsent(key, flight);
+        if (inFlight != null) {
+            coalescedCalls.incrementAndGet();
+        }
+        return inFlight;
+    }
+
+    void complete(String key, Flight flight, ApiResponse<?> response, ApiException failure) {
+        // calls made from now on get fresh data
+        flights.remove(key, flight);
+        flight.complete(response, failure);
+    }
+
+    /**
+     * Result of a call shared with the calls that joined it.
+     */
+    static class Flight {
+        // Waiting on a latch rather than a monitor keeps a virtual thread
+        // unmounted while it waits.
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile ApiResponse<?> response;
+        private volatile ApiException failure;
+        // guarded by this, null once done
+        private List<ApiCallback<?>> callbacks = new ArrayList<ApiCallback<?>>();
+
+        ApiResponse<?> await() throws ApiException {
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ApiException(new InterruptedIOException("Interrupted while waiting for a call in flight"));
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return response;
+        }
+
+        void addCallback(ApiCallback<?> callback) {
+            synchronized (this) {
+                if (callbacks != null) {
+                    callbacks.add(callback);
+                    return;
+                }
+            }
+            deliver(callback);
+        }
+
+        private void complete(ApiResponse<?> response, ApiException failure) {
+            this.response = response;
+            this.failure = failure;
+            List<ApiCallback<?>> waiting;
+            synchronized (this) {
+                waiting = callbacks;
+                callbacks = null;
+            }
+            done.countDown();
+            for (ApiCallback<?> callback : waiting) {
+                deliver(callback);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void deliver(ApiCallback<?> callback) {
+            ApiCallback<Object> objectCallback = (ApiCallback<Object>) callback;
+            if (failure != null) {
+                objectCallback.onFailure(failure, failure.getCode(), failure.getResponseHeaders());
+            } else {
+                objectCallback.onSuccess(response.getData(), response.getStatusCode(), response.getHeaders());
+            }
+        }
+    }
+}
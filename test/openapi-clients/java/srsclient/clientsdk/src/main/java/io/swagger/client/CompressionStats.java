@@ -0,0 +1,72 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Byte counts of the bodies compressed and decompressed by an
+ * {@link ApiClient} with compression enabled.
+ *
+ * @see ApiClient#setCompressionEnabled(boolean)
+ */
+public class CompressionStats {
+    private final AtomicLong requestBytes = new AtomicLong();
+    private final AtomicLong compressedRequestBytes = new AtomicLong();
+    private final AtomicLong responseBytes = new AtomicLong();
+    private final AtomicLong compressedResponseBytes = new AtomicLong();
+
+    /**
+     * @return Size of the compressed request bodies before compression
+     */
+    public long getRequestBytes() {
+        return requestBytes.get();
+    }
+
+    /**
+     * @return Size of the compressed request bodies as sent
+     */
+    public long getCompressedRequestBytes() {
+        return compressedRequestBytes.get();
+    }
+
+    /**
+     * @return Size of the compressed response bodies after decoding
+     */
+    public long getResponseBytes() {
+        return responseBytes.get();
+    }
+
+    /**
+     * @return Size of the compressed response bodies as received
+     */
+    public long getCompressedResponseBytes() {
+        return compressedResponseBytes.get();
+    }
+
+    void addRequestBytes(long bytes) {
+        requestBytes.addAndGet(bytes);
+    }
+
+    void addCompressedRequestBytes(long bytes) {
+        compressedRequestBytes.addAndGet(bytes);
+    }
+
+    void addResponseBytes(long bytes) {
+        responseBytes.addAndGet(bytes);
+    }
+
+    void addCompressedResponseBytes(long bytes) {
+        compressedResponseBytes.addAndGet(bytes);
+    }
+
+    @Override
+    public String toString() {
+        return "CompressionStats {requestBytes=" + requestBytes +
+                ", compressedRequestBytes=" + compressedRequestBytes +
+                ", responseBytes=" + responseBytes +
+                ", compressedResponseBytes=" + compressedResponseBytes + "}";
+    }
+}
@@ -0,0 +1,142 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Validators and deserialized results of the latest responses of the
+ * conditional GET operations, by call key (see {@link KeyedCall#keyOf(Request)}).
+ *
+ * Requests for a known resource carry If-None-Match, or If-Modified-Since
+ * when the server sent no ETag, and a 304 response is answered with the
+ * result stored for the resource without reading or parsing anything.
+ */
+class ConditionalCache {
+    static final int MAX_ENTRIES = 1024;
+
+    private volatile boolean enabled;
+    private volatile Set<String> operations = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(
+            "getScriptExecution", "getRunspace", "listScriptExecutions")));
+    private final AtomicLong notModifiedResponses = new AtomicLong();
+    // guarded by itself, least recently used first
+    private final Map<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ConditionalCache.Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            synchronized (entries) {
+                entries.clear();
+            }
+        }
+    }
+
+    Set<String> getOperations() {
+        return operations;
+    }
+
+    void setOperations(String... operationIds) {
+        this.operations = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(operationIds)));
+    }
+
+    long getNotModifiedResponses() {
+        return notModifiedResponses.get();
+    }
+
+    /**
+     * @return True if the given request is for a conditional GET operation
+     */
+    boolean isConditional(Request request) {
+        RequestTag tag = RequestTag.of(request);
+        return enabled && "GET".equals(request.method()) && tag != null
+                && operations.contains(tag.getOperationId());
+    }
+
+    /**
+     * @return The validators and result stored for the resource, null if none
+     */
+    Entry get(String key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    /**
+     * @param entry The entry whose validator the request carries, kept by the
+     *   call as the entry may be evicted before the response arrives; null if
+     *   the request carries none
+     * @return The stored result if the response says the resource did not
+     *   change, null to handle the response
+     */
+    @SuppressWarnings("unchecked")
+    <T> ApiResponse<T> notModified(Entry entry, Response response) {
+        if (response.code() != 304 || entry == null) {
+            return null;
+        }
+        if (response.body() != null) {
+            try {
+                response.body().close();
+            } catch (IOException ignored) {
+            }
+        }
+        notModifiedResponses.incrementAndGet();
+        return new ApiResponse<T>(entry.result.getStatusCode(), response.headers().toMultimap(), (T) entry.result.getData());
+    }
+
+    /**
+     * Keep the result of a successful response along with its validators.
+     */
+    void store(String key, Response response, ApiResponse<?> result) {
+        String etag = response.header("ETag");
+        String lastModified = response.header("Last-Modified");
+        synchronized (entries) {
+            if (etag == null && lastModified == null) {
+                entries.remove(key);
+            } else {
+                entries.put(key, new Entry(etag, lastModified, result));
+            }
+        }
+    }
+
+    static class Entry {
+        final String etag;
+        final String lastModified;
+        final ApiResponse<?> result;
+
+        Entry(String etag, String lastModified, ApiResponse<?> result) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.result = result;
+        }
+
+        /**
+         * @return The request, with the validator of the resource
+         */
+        Request conditional(Request request) {
+            return etag != null
+                    ? request.newBuilder().header("If-None-Match", etag).build()
+                    : request.newBuilder().header("If-Modified-Since", lastModified).build();
+        }
+    }
+}
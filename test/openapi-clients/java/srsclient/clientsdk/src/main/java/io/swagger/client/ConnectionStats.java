@@ -0,0 +1,92 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+/**
+ * Point-in-time snapshot of the connection pool and dispatcher of an
+ * {@link ApiClient}.
+ *
+ * @see ApiClient#getConnectionStats()
+ */
+public class ConnectionStats {
+    private final int idleConnections;
+    private final int activeConnections;
+    private final int queuedCalls;
+    private final int runningCalls;
+    private final long exchanges;
+    private final long reusedExchanges;
+
+    ConnectionStats(int idleConnections, int activeConnections, int queuedCalls, int runningCalls,
+                    long exchanges, long reusedExchanges) {
+        this.idleConnections = idleConnections;
+        this.activeConnections = activeConnections;
+        this.queuedCalls = queuedCalls;
+        this.runningCalls = runningCalls;
+        this.exchanges = exchanges;
+        this.reusedExchanges = reusedExchanges;
+    }
+
+    /**
+     * @return Number of pooled connections not carrying a request
+     */
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    /**
+     * @return Number of pooled connections carrying at least one request
+     */
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    /**
+     * @return Number of asynchronous calls waiting for the dispatcher limits
+     */
+    public int getQueuedCalls() {
+        return queuedCalls;
+    }
+
+    /**
+     * @return Number of calls currently executing: the asynchronous calls run
+     *   by the dispatcher and the synchronous calls executed by the client
+     *   until their response headers arrived
+     */
+    public int getRunningCalls() {
+        return runningCalls;
+    }
+
+    /**
+     * @return Number of HTTP exchanges sent over a pooled connection
+     */
+    public long getExchanges() {
+        return exchanges;
+    }
+
+    /**
+     * @return Number of exchanges that reused an already open connection
+     */
+    public long getReusedExchanges() {
+        return reusedExchanges;
+    }
+
+    /**
+     * Fraction of exchanges that reused an already open connection.
+     *
+     * @return Ratio between 0 and 1, 0 if nothing has been sent yet
+     */
+    public double getConnectionReuseRatio() {
+        return exchanges == 0 ? 0 : (double) reusedExchanges / exchanges;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionStats {idleConnections=" + idleConnections +
+                ", activeConnections=" + activeConnections +
+                ", queuedCalls=" + queuedCalls +
+                ", runningCalls=" + runningCalls +
+                ", connectionReuseRatio=" + getConnectionReuseRatio() + "}";
+    }
+}
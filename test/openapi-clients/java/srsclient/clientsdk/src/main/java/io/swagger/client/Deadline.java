@@ -0,0 +1,129 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.Call;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time by which a whole workflow, e.g. create a runspace, run a
+ * script and read its output, must be done.
+ *
+ * The calls of a client derived with {@link ApiClient#withDeadline(Deadline)}
+ * are not sent once the deadline passed, get their timeouts shrunk to the
+ * time remaining, are not retried or hedged past it and are canceled when it
+ * passes. Polling loops wait with {@link #sleep(long)}.
+ */
+public class Deadline {
+    private static final ScheduledThreadPoolExecutor TIMER = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "ApiClient deadlines");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    static {
+        TIMER.setRemoveOnCancelPolicy(true);
+    }
+
+    private final long expiryNanos;
+    // guarded by this, calls that completed are dropped by the garbage collector
+    private final Set<Call> calls = Collections.newSetFromMap(new WeakHashMap<Call, Boolean>());
+    private ScheduledFuture<?> expiry;
+    private boolean expired;
+
+    private Deadline(long expiryNanos) {
+        this.expiryNanos = expiryNanos;
+    }
+
+    /**
+     * @param duration Time from now
+     * @param unit Unit of the duration
+     * @return A deadline that passes after the given duration
+     */
+    public static Deadline after(long duration, TimeUnit unit) {
+        return new Deadline(System.nanoTime() + unit.toNanos(duration));
+    }
+
+    /**
+     * @param unit Unit of the result
+     * @return Time remaining until the deadline, 0 if it passed
+     */
+    public long remaining(TimeUnit unit) {
+        return unit.convert(Math.max(0, expiryNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return True if the deadline passed
+     */
+    public boolean isExpired() {
+        return expiryNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Wait between two polls, at most until the deadline.
+     *
+     * @param millis Time to wait in milliseconds
+     * @throws DeadlineExceededException If the deadline passed, right away or while waiting
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public void sleep(long millis) throws DeadlineExceededException, InterruptedException {
+        long remaining = remaining(TimeUnit.MILLISECONDS);
+        if (remaining < millis) {
+            Thread.sleep(remaining);
+            throw exceeded();
+        }
+        Thread.sleep(millis);
+    }
+
+    DeadlineExceededException exceeded() {
+        return new DeadlineExceededException("Deadline exceeded " +
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - expiryNanos) + " ms ago");
+    }
+
+    /**
+     * Cancel the given call when the deadline passes, right away if it passed.
+     */
+    void track(Call call) {
+        synchronized (this) {
+            if (!expired) {
+                calls.add(call);
+                if (expiry == null) {
+                    expiry = TIMER.schedule(new Runnable() {
+                        @Override
+                        public void run() {
+                            expire();
+                        }
+                    }, Math.max(0, expiryNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+                }
+                return;
+            }
+        }
+        call.cancel();
+    }
+
+    private void expire() {
+        List<Call> outstanding;
+        synchronized (this) {
+            expired = true;
+            outstanding = new ArrayList<Call>(calls);
+            calls.clear();
+        }
+        for (Call call : outstanding) {
+            call.cancel();
+        }
+    }
+}
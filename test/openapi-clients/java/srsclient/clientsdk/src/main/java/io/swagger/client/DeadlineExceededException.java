@@ -0,0 +1,20 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import java.io.InterruptedIOException;
+
+/**
+ * Signals that a call was not sent or was canceled because its
+ * {@link Deadline} passed. It reaches the caller as the cause of an
+ * {@link ApiException}.
+ */
+public class DeadlineExceededException extends InterruptedIOException {
+    private static final long serialVersionUID = 1L;
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,149 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One of the endpoints {@link ApiClient} balances requests over, with the
+ * health and load the balancing is based on.
+ *
+ * @see ApiClient#getEndpoints()
+ */
+public class Endpoint {
+    private final String basePath;
+    private final AtomicInteger outstandingRequests = new AtomicInteger();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong ejections = new AtomicLong();
+    // guarded by this, outcomes of the latest requests since the last ejection, true if failed
+    private boolean[] window = new boolean[0];
+    private int next;
+    private int samples;
+    private int windowFailures;
+    private long ejectedUntilNanos;
+    private boolean ejected;
+
+    Endpoint(String basePath) {
+        this.basePath = basePath;
+    }
+
+    public String getBasePath() {
+        return basePath;
+    }
+
+    /**
+     * @return Number of requests in flight
+     */
+    public int getOutstandingRequests() {
+        return outstandingRequests.get();
+    }
+
+    /**
+     * @return Number of requests sent
+     */
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * @return Number of requests that failed with an I/O error or a 5xx response
+     */
+    public long getFailures() {
+        return failures.get();
+    }
+
+    /**
+     * @return Number of times the endpoint was found unhealthy
+     */
+    public long getEjections() {
+        return ejections.get();
+    }
+
+    /**
+     * @return Share of failures among the latest requests since the endpoint was
+     *   last ejected, at most {@link LoadBalancingPolicy#getMinRequests()} of them
+     */
+    public synchronized double getErrorRate() {
+        return samples == 0 ? 0 : (double) windowFailures / samples;
+    }
+
+    /**
+     * @return True if the endpoint gets requests
+     */
+    public boolean isHealthy() {
+        return isHealthy(System.nanoTime());
+    }
+
+    synchronized boolean isHealthy(long nowNanos) {
+        return !ejected || nowNanos - ejectedUntilNanos >= 0;
+    }
+
+    void onStart() {
+        requests.incrementAndGet();
+        outstandingRequests.incrementAndGet();
+    }
+
+    void onCanceled() {
+        outstandingRequests.decrementAndGet();
+    }
+
+    /**
+     * Record the outcome of a request and eject the endpoint when the share of
+     * failures among its latest minRequests requests reaches the threshold of
+     * the policy.
+     */
+    void onEnd(boolean failed, LoadBalancingPolicy policy) {
+        outstandingRequests.decrementAndGet();
+        if (failed) {
+            failures.incrementAndGet();
+        }
+        synchronized (this) {
+            int size = Math.max(1, policy.getMinRequests());
+            if (window.length != size) {
+                window = new boolean[size];
+                next = 0;
+                samples = 0;
+                windowFailures = 0;
+            }
+            if (samples == size && window[next]) {
+                windowFailures--;
+            }
+            window[next] = failed;
+            if (failed) {
+                windowFailures++;
+            }
+            next = (next + 1) % size;
+            samples = Math.min(samples + 1, size);
+            if (samples == size && (double) windowFailures / size >= policy.getErrorRateThreshold()) {
+                eject(policy.getEjectionDuration());
+            }
+        }
+    }
+
+    synchronized void eject(long duration) {
+        if (isHealthy(System.nanoTime())) {
+            ejections.incrementAndGet();
+        }
+        ejected = true;
+        ejectedUntilNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(duration);
+        Arrays.fill(window, false);
+        next = 0;
+        samples = 0;
+        windowFailures = 0;
+    }
+
+    synchronized void reinstate() {
+        ejected = false;
+    }
+
+    @Override
+    public String toString() {
+        return basePath;
+    }
+}
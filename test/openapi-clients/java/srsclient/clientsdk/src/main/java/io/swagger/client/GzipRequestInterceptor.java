@@ -15,66 +15,133 @@ package io.swagger.client;
 import com.squareup.okhttp.*;
 import okio.Buffer;
 import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.ForwardingSink;
+import okio.ForwardingSource;
 import okio.GzipSink;
+import okio.GzipSource;
 import okio.Okio;
+import okio.Sink;
+import okio.Source;
 
 import java.io.IOException;
 
 /**
- * Encodes request bodies using gzip.
+ * Negotiates gzip compression with the server.
+ *
+ * Asks for gzip encoded responses and decodes them as they are read, and
+ * encodes request bodies of at least {@link #getMinimumSize()} bytes with
+ * chunked transfer so they are never buffered. Byte counts before and after
+ * compression are recorded in {@link CompressionStats}.
  *
  * Taken from https://github.com/square/okhttp/issues/350
  */
 class GzipRequestInterceptor implements Interceptor {
+    private final CompressionStats stats;
+    private volatile long minimumSize;
+
+    GzipRequestInterceptor(CompressionStats stats, long minimumSize) {
+        this.stats = stats;
+        this.minimumSize = minimumSize;
+    }
+
+    long getMinimumSize() {
+        return minimumSize;
+    }
+
+    void setMinimumSize(long minimumSize) {
+        this.minimumSize = minimumSize;
+    }
+
     @Override public Response intercept(Chain chain) throws IOException {
         Request originalRequest = chain.request();
-        if (originalRequest.body() == null || originalRequest.header("Content-Encoding") != null) {
-            return chain.proceed(originalRequest);
+        Request.Builder builder = originalRequest.newBuilder();
+
+        RequestBody body = originalRequest.body();
+        if (body != null && originalRequest.header("Content-Encoding") == null
+                && body.contentLength() >= minimumSize) {
+            builder.header("Content-Encoding", "gzip")
+                   .method(originalRequest.method(), gzip(body));
+        }
+
+        // Asking explicitly turns off the transparent decoding of the HTTP client,
+        // so the compressed size can be observed.
+        boolean decode = originalRequest.header("Accept-Encoding") == null;
+        if (decode) {
+            builder.header("Accept-Encoding", "gzip");
         }
 
-        Request compressedRequest = originalRequest.newBuilder()
-                                                   .header("Content-Encoding", "gzip")
-                                                   .method(originalRequest.method(), forceContentLength(gzip(originalRequest.body())))
-                                                   .build();
-        return chain.proceed(compressedRequest);
+        Response response = chain.proceed(builder.build());
+        if (!decode || response.body() == null || response.body().contentLength() == 0
+                || !"gzip".equalsIgnoreCase(response.header("Content-Encoding"))) {
+            return response;
+        }
+        return response.newBuilder()
+                       .removeHeader("Content-Encoding")
+                       .removeHeader("Content-Length")
+                       .body(gunzip(response.body()))
+                       .build();
     }
 
-    private RequestBody forceContentLength(final RequestBody requestBody) throws IOException {
-        final Buffer buffer = new Buffer();
-        requestBody.writeTo(buffer);
+    private RequestBody gzip(final RequestBody body) throws IOException {
+        final long contentLength = body.contentLength();
         return new RequestBody() {
-            @Override
-            public MediaType contentType() {
-                return requestBody.contentType();
+            @Override public MediaType contentType() {
+                return body.contentType();
             }
 
-            @Override
-            public long contentLength() {
-                return buffer.size();
+            @Override public long contentLength() {
+                return -1; // We don't know the compressed length in advance!
             }
 
-            @Override
-            public void writeTo(BufferedSink sink) throws IOException {
-                sink.write(buffer.snapshot());
+            @Override public void writeTo(BufferedSink sink) throws IOException {
+                BufferedSink gzipSink = Okio.buffer(new GzipSink(counting(sink)));
+                body.writeTo(gzipSink);
+                gzipSink.close();
+                stats.addRequestBytes(contentLength);
             }
         };
     }
 
-    private RequestBody gzip(final RequestBody body) {
-        return new RequestBody() {
+    private ResponseBody gunzip(final ResponseBody body) throws IOException {
+        final BufferedSource source = Okio.buffer(counting(new GzipSource(counting(body.source(), true)), false));
+        return new ResponseBody() {
             @Override public MediaType contentType() {
                 return body.contentType();
             }
 
             @Override public long contentLength() {
-                return -1; // We don't know the compressed length in advance!
+                return -1;
             }
 
-            @Override public void writeTo(BufferedSink sink) throws IOException {
-                BufferedSink gzipSink = Okio.buffer(new GzipSink(sink));
-                body.writeTo(gzipSink);
-                gzipSink.close();
+            @Override public BufferedSource source() {
+                return source;
+            }
+        };
+    }
+
+    private Sink counting(Sink sink) {
+        return new ForwardingSink(sink) {
+            @Override public void write(Buffer source, long byteCount) throws IOException {
+                super.write(source, byteCount);
+                stats.addCompressedRequestBytes(byteCount);
+            }
+        };
+    }
+
+    private Source counting(Source source, final boolean compressed) {
+        return new ForwardingSource(source) {
+            @Override public long read(Buffer sink, long byteCount) throws IOException {
+                long read = super.read(sink, byteCount);
+                if (read > 0) {
+                    if (compressed) {
+                        stats.addCompressedResponseBytes(read);
+                    } else {
+                        stats.addResponseBytes(read);
+                    }
+                }
+                return read;
             }
         };
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,89 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import javax.net.ssl.HandshakeCompletedEvent;
+import javax.net.ssl.HandshakeCompletedListener;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+
+/**
+ * SSL socket factory that records the handshakes of the sockets it creates in
+ * {@link HandshakeStats}.
+ *
+ * A handshake is timed from the creation of the socket, which the HTTP client
+ * does right before starting the handshake on a connected socket. It counts as
+ * resumed when its session was created before the socket.
+ */
+class HandshakeCountingSocketFactory extends SSLSocketFactory {
+    private final SSLSocketFactory delegate;
+    private final HandshakeStats stats = new HandshakeStats();
+
+    HandshakeCountingSocketFactory(SSLSocketFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    HandshakeStats getStats() {
+        return stats;
+    }
+
+    @Override
+    public String[] getDefaultCipherSuites() {
+        return delegate.getDefaultCipherSuites();
+    }
+
+    @Override
+    public String[] getSupportedCipherSuites() {
+        return delegate.getSupportedCipherSuites();
+    }
+
+    @Override
+    public Socket createSocket() throws IOException {
+        return track(delegate.createSocket());
+    }
+
+    @Override
+    public Socket createSocket(Socket socket, String host, int port, boolean autoClose) throws IOException {
+        return track(delegate.createSocket(socket, host, port, autoClose));
+    }
+
+    @Override
+    public Socket createSocket(String host, int port) throws IOException {
+        return track(delegate.createSocket(host, port));
+    }
+
+    @Override
+    public Socket createSocket(String host, int port, InetAddress localHost, int localPort) throws IOException {
+        return track(delegate.createSocket(host, port, localHost, localPort));
+    }
+
+    @Override
+    public Socket createSocket(InetAddress host, int port) throws IOException {
+        return track(delegate.createSocket(host, port));
+    }
+
+    @Override
+    public Socket createSocket(InetAddress address, int port, InetAddress localAddress, int localPort) throws IOException {
+        return track(delegate.createSocket(address, port, localAddress, localPort));
+    }
+
+    private Socket track(Socket socket) {
+        if (socket instanceof SSLSocket) {
+            final long startNanos = System.nanoTime();
+            final long startMillis = System.currentTimeMillis();
+            ((SSLSocket) socket).addHandshakeCompletedListener(new HandshakeCompletedListener() {
+                @Override
+                public void handshakeCompleted(HandshakeCompletedEvent event) {
+                    boolean resumed = event.getSession().getCreationTime() < startMillis;
+                    stats.record(System.nanoTime() - startNanos, resumed);
+                }
+            });
+        }
+        return socket;
+    }
+}
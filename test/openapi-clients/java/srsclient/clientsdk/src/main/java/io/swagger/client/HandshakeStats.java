@@ -0,0 +1,70 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TLS handshake counts and durations of the connections opened with one TLS
+ * configuration. Clients with the same configuration share the statistics.
+ *
+ * @see ApiClient#getHandshakeStats()
+ */
+public class HandshakeStats {
+    private final AtomicLong handshakes = new AtomicLong();
+    private final AtomicLong resumedHandshakes = new AtomicLong();
+    private final AtomicLong handshakeNanos = new AtomicLong();
+
+    /**
+     * @return Number of completed handshakes
+     */
+    public long getHandshakes() {
+        return handshakes.get();
+    }
+
+    /**
+     * @return Number of handshakes that resumed an earlier TLS session
+     */
+    public long getResumedHandshakes() {
+        return resumedHandshakes.get();
+    }
+
+    /**
+     * @return Number of handshakes that negotiated a new TLS session
+     */
+    public long getFullHandshakes() {
+        return getHandshakes() - getResumedHandshakes();
+    }
+
+    /**
+     * @return Total time spent in handshakes in nanoseconds
+     */
+    public long getHandshakeNanos() {
+        return handshakeNanos.get();
+    }
+
+    /**
+     * @return Average handshake duration in nanoseconds, 0 if there was none
+     */
+    public long getAverageHandshakeNanos() {
+        long count = getHandshakes();
+        return count == 0 ? 0 : getHandshakeNanos() / count;
+    }
+
+    void record(long tookNanos, boolean resumed) {
+        handshakeNanos.addAndGet(tookNanos);
+        if (resumed) {
+            resumedHandshakes.incrementAndGet();
+        }
+        handshakes.incrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return "HandshakeStats {handshakes=" + handshakes +
+                ", resumedHandshakes=" + resumedHandshakes +
+                ", averageHandshakeNanos=" + getAverageHandshakeNanos() + "}";
+    }
+}
@@ -0,0 +1,265 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.Call;
+import com.squareup.okhttp.Callback;
+import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Call that sends a second attempt of its request when the first one is slow
+ * and completes with whichever response comes first.
+ *
+ * Each attempt is a separate call of the transport, so it goes through all the
+ * interceptors and the losing attempt can be canceled. The first attempt of an
+ * executed call runs on the calling thread, the others are enqueued on the
+ * transport and are subject to the limits of its dispatcher.
+ */
+class HedgedCall extends Call {
+    private final Hedger hedger;
+    private final HttpTransport transport;
+    private final Request request;
+    private final String operationId;
+    private final Deadline deadline;
+
+    private boolean executed;
+    private volatile boolean canceled;
+    // guarded by this
+    private final List<Call> attempts = new ArrayList<Call>(2);
+    private Callback responseCallback;
+    private ScheduledFuture<?> hedge;
+    private int running;
+    private IOException failure;
+    private boolean settled;
+
+    HedgedCall(Hedger hedger, HttpTransport transport, OkHttpClient client, Request request) {
+        super(client, request);
+        this.hedger = hedger;
+        this.transport = transport;
+        this.request = request;
+        RequestTag tag = RequestTag.of(request);
+        this.operationId = tag.getOperationId();
+        this.deadline = tag.getDeadline();
+    }
+
+    @Override
+    public Response execute() throws IOException {
+        markExecuted();
+        SyncCallback result = new SyncCallback();
+        Call first = start(result);
+        AttemptCallback attemptCallback = new AttemptCallback(first);
+        Response response;
+        try {
+            response = first.execute();
+        } catch (IOException e) {
+            attemptCallback.onFailure(request, e);
+            return result.await();
+        }
+        attemptCallback.onResponse(response);
+        return result.await();
+    }
+
+    @Override
+    public void enqueue(Callback responseCallback) {
+        markExecuted();
+        Call first;
+        try {
+            first = start(responseCallback);
+        } catch (IOException e) {
+            responseCallback.onFailure(request, e);
+            return;
+        }
+        first.enqueue(new AttemptCallback(first));
+    }
+
+    @Override
+    public void cancel() {
+        canceled = true;
+        synchronized (this) {
+            if (hedge != null) {
+                hedge.cancel(false);
+            }
+            for (Call attempt : attempts) {
+                attempt.cancel();
+            }
+        }
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return canceled;
+    }
+
+    @Override
+    public synchronized boolean isExecuted() {
+        return executed;
+    }
+
+    private synchronized void markExecuted() {
+        if (executed) throw new IllegalStateException("Already Executed");
+        executed = true;
+    }
+
+    /**
+     * Register the first attempt and schedule the second one, if the
+     * operation is slow often enough to be hedged.
+     *
+     * @return The first attempt, to be started by the caller
+     */
+    private Call start(Callback responseCallback) throws IOException {
+        long delay = hedger.hedgeDelay(operationId);
+        if (delay >= 0 && deadline != null && delay >= deadline.remaining(TimeUnit.MILLISECONDS)) {
+            // the hedge could not complete in time
+            delay = -1;
+        }
+        Call first = transport.newCall(request);
+        synchronized (this) {
+            this.responseCallback = responseCallback;
+            if (canceled) {
+                throw new IOException("Canceled");
+            }
+            attempts.add(first);
+            running++;
+            if (delay >= 0) {
+                hedge = hedger.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        hedge();
+                    }
+                }, delay);
+            }
+        }
+        return first;
+    }
+
+    private void hedge() {
+        Call second = transport.newCall(request);
+        synchronized (this) {
+            if (settled || canceled || !hedger.tryHedge()) {
+                return;
+            }
+            attempts.add(second);
+            running++;
+        }
+        second.enqueue(new AttemptCallback(second));
+    }
+
+    /**
+     * Completes the hedged call with the first response of any attempt, or
+     * with the first failure once all attempts failed.
+     */
+    private class AttemptCallback implements Callback {
+        private final Call attempt;
+        private final long startNanos = System.nanoTime();
+
+        AttemptCallback(Call attempt) {
+            this.attempt = attempt;
+        }
+
+        @Override
+        public void onResponse(Response response) throws IOException {
+            hedger.record(operationId, System.nanoTime() - startNanos);
+            List<Call> losers = new ArrayList<Call>(1);
+            Callback callback;
+            synchronized (HedgedCall.this) {
+                if (settled) {
+                    // the other attempt already won
+                    closeQuietly(response);
+                    return;
+                }
+                settled = true;
+                if (hedge != null) {
+                    hedge.cancel(false);
+                }
+                for (Call other : attempts) {
+                    if (other != attempt) {
+                        losers.add(other);
+                    }
+                }
+                callback = responseCallback;
+            }
+            for (Call loser : losers) {
+                loser.cancel();
+            }
+            // a failure of the callback is the transport's to report, as with any call
+            callback.onResponse(response);
+        }
+
+        @Override
+        public void onFailure(Request failed, IOException e) {
+            IOException first;
+            Callback callback;
+            synchronized (HedgedCall.this) {
+                running--;
+                if (failure == null) {
+                    failure = e;
+                }
+                if (settled || running > 0) {
+                    return;
+                }
+                // no hedge once all sent attempts failed
+                settled = true;
+                if (hedge != null) {
+                    hedge.cancel(false);
+                }
+                first = failure;
+                callback = responseCallback;
+            }
+            callback.onFailure(request, first);
+        }
+    }
+
+    /**
+     * Hands the outcome of an executed call over to the calling thread.
+     */
+    private class SyncCallback implements Callback {
+        private final CountDownLatch done = new CountDownLatch(1);
+        private Response response;
+        private IOException failure;
+
+        @Override
+        public void onResponse(Response response) {
+            this.response = response;
+            done.countDown();
+        }
+
+        @Override
+        public void onFailure(Request request, IOException e) {
+            this.failure = e;
+            done.countDown();
+        }
+
+        Response await() throws IOException {
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                throw new InterruptedIOException("Interrupted while waiting for " + request.url());
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return response;
+        }
+    }
+
+    private static void closeQuietly(Response response) {
+        try {
+            response.body().close();
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,129 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.Request;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * State of the hedging of one client: its {@link HedgingPolicy}, the recent
+ * latencies of the hedged operations and the hedge budget.
+ *
+ * The attempts of hedged calls are enqueued on the transport like any other
+ * call, so they count against the dispatcher limits. Only the timers sending
+ * the second attempts run on a thread of their own, shared by all clients.
+ */
+class Hedger {
+    private static final int SAMPLES = 128;
+    private static final ScheduledThreadPoolExecutor TIMER = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "ApiClient hedging");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+    static {
+        // most calls complete before their hedge is due
+        TIMER.setRemoveOnCancelPolicy(true);
+    }
+
+    private final HedgingPolicy policy;
+    private final TokenBucket budget;
+    private final ConcurrentMap<String, Latencies> latencies = new ConcurrentHashMap<String, Latencies>();
+    private final AtomicLong hedges = new AtomicLong();
+
+    Hedger(HedgingPolicy policy) {
+        this.policy = policy;
+        this.budget = new TokenBucket(policy.getHedgeBudget(), policy.getHedgeBudgetRatio());
+    }
+
+    HedgingPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Run the given task, sending a second attempt, after the given delay.
+     */
+    ScheduledFuture<?> schedule(Runnable hedge, long delayMillis) {
+        return TIMER.schedule(hedge, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    long getHedges() {
+        return hedges.get();
+    }
+
+    boolean isHedged(Request request) {
+        RequestTag tag = RequestTag.of(request);
+        return "GET".equals(request.method()) && tag != null
+                && policy.getOperations().contains(tag.getOperationId());
+    }
+
+    /**
+     * @return Time (in milliseconds) to wait for the first attempt before
+     *   hedging, -1 if the operation is not hedged yet
+     */
+    long hedgeDelay(String operationId) {
+        budget.earn();
+        Latencies operationLatencies = latencies.get(operationId);
+        if (operationLatencies == null) {
+            return -1;
+        }
+        long nanos = operationLatencies.percentile(policy.getPercentile(), policy.getMinSamples());
+        return nanos < 0 ? -1 : Math.max(policy.getMinDelay(), nanos / 1000000);
+    }
+
+    boolean tryHedge() {
+        if (budget.trySpend()) {
+            hedges.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    void record(String operationId, long tookNanos) {
+        Latencies operationLatencies = latencies.get(operationId);
+        if (operationLatencies == null) {
+            operationLatencies = new Latencies();
+            Latencies existing = latencies.putIfAbsent(operationId, operationLatencies);
+            if (existing != null) {
+                operationLatencies = existing;
+            }
+        }
+        operationLatencies.add(tookNanos);
+    }
+
+    /**
+     * Ring buffer of the latest latencies of one operation.
+     */
+    private static class Latencies {
+        private final long[] samples = new long[SAMPLES];
+        private int count;
+        private int next;
+
+        synchronized void add(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % SAMPLES;
+            count = Math.min(count + 1, SAMPLES);
+        }
+
+        synchronized long percentile(double percentile, int minSamples) {
+            if (count < Math.max(1, minSamples)) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            return sorted[Math.min(count - 1, (int) Math.ceil(percentile * count) - 1)];
+        }
+    }
+}
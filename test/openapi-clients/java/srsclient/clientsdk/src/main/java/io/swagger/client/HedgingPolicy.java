@@ -0,0 +1,129 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Which GET operations {@link ApiClient} hedges and how much extra load the
+ * hedges may add.
+ *
+ * A hedged call sends a second request when the first has not answered
+ * within the given percentile of the latencies recently observed for the
+ * operation, uses whichever response comes first and cancels the other
+ * request. Hedges draw from a budget that each hedged call refills by
+ * {@link #getHedgeBudgetRatio()}.
+ *
+ * @see ApiClient#setHedgingPolicy(HedgingPolicy)
+ */
+public class HedgingPolicy {
+    private Set<String> operations = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(
+            "getScriptExecution", "getRunspace", "getScriptExecutionOutput")));
+    private double percentile = 0.95;
+    private int minSamples = 20;
+    private long minDelay = 10;
+    private double hedgeBudgetRatio = 0.05;
+    private int hedgeBudget = 5;
+
+    public Set<String> getOperations() {
+        return operations;
+    }
+
+    /**
+     * Sets the operations to hedge. Only GET operations are hedged. Default
+     * is getScriptExecution, getRunspace and getScriptExecutionOutput.
+     *
+     * @param operationIds Operation ids
+     * @return HedgingPolicy
+     */
+    public HedgingPolicy setOperations(String... operationIds) {
+        this.operations = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(operationIds)));
+        return this;
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    /**
+     * Sets the latency percentile after which the hedge is sent. Default is 0.95.
+     *
+     * @param percentile Percentile between 0 and 1
+     * @return HedgingPolicy
+     */
+    public HedgingPolicy setPercentile(double percentile) {
+        if (percentile <= 0 || percentile > 1) {
+            throw new IllegalArgumentException("percentile must be between 0 and 1");
+        }
+        this.percentile = percentile;
+        return this;
+    }
+
+    public int getMinSamples() {
+        return minSamples;
+    }
+
+    /**
+     * Sets the number of latencies that must be observed for an operation
+     * before it is hedged. Default is 20.
+     *
+     * @param minSamples Number of calls
+     * @return HedgingPolicy
+     */
+    public HedgingPolicy setMinSamples(int minSamples) {
+        this.minSamples = minSamples;
+        return this;
+    }
+
+    public long getMinDelay() {
+        return minDelay;
+    }
+
+    /**
+     * Sets the shortest wait (in milliseconds) before a hedge is sent. Default is 10.
+     *
+     * @param minDelay Delay in milliseconds
+     * @return HedgingPolicy
+     */
+    public HedgingPolicy setMinDelay(long minDelay) {
+        this.minDelay = minDelay;
+        return this;
+    }
+
+    public double getHedgeBudgetRatio() {
+        return hedgeBudgetRatio;
+    }
+
+    /**
+     * Sets the hedges earned by each hedged call. Default is 0.05, i.e. at
+     * most one extra request per twenty calls.
+     *
+     * @param hedgeBudgetRatio Hedges per call
+     * @return HedgingPolicy
+     */
+    public HedgingPolicy setHedgeBudgetRatio(double hedgeBudgetRatio) {
+        this.hedgeBudgetRatio = hedgeBudgetRatio;
+        return this;
+    }
+
+    public int getHedgeBudget() {
+        return hedgeBudget;
+    }
+
+    /**
+     * Sets the maximum number of hedges the budget can hold, which is also
+     * the initial budget. Default is 5.
+     *
+     * @param hedgeBudget Number of hedges
+     * @return HedgingPolicy
+     */
+    public HedgingPolicy setHedgeBudget(int hedgeBudget) {
+        this.hedgeBudget = hedgeBudget;
+        return this;
+    }
+}
@@ -0,0 +1,28 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.Call;
+import com.squareup.okhttp.Request;
+
+/**
+ * Transport executing the HTTP requests built by {@link ApiClient}.
+ *
+ * Requests and responses are exchanged in the OkHttp model, so the API
+ * classes and {@link ApiClient} stay independent of the HTTP stack actually
+ * talking to the server. Implementations are expected to run the application
+ * and network interceptors of {@link ApiClient#getHttpClient()} around each exchange.
+ *
+ * @see OkHttpTransport
+ */
+public interface HttpTransport {
+    /**
+     * Prepare the given request for execution.
+     *
+     * @param request The request to execute
+     * @return The call executing the request synchronously or asynchronously
+     */
+    Call newCall(Request request);
+}
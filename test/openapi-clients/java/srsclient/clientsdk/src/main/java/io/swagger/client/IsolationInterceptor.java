@@ -0,0 +1,110 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.Interceptor;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Application interceptor that applies the {@link Bulkhead} and the
+ * {@link CircuitBreaker} of the operation of each request, looked up by the
+ * operation id of its {@link RequestTag}.
+ */
+class IsolationInterceptor implements Interceptor {
+    private final ConcurrentMap<String, Bulkhead> bulkheads = new ConcurrentHashMap<String, Bulkhead>();
+    private final ConcurrentMap<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<String, CircuitBreaker>();
+    private volatile int failureThreshold;
+    private volatile long openDuration;
+
+    void setBulkhead(Bulkhead bulkhead, String operationId) {
+        if (bulkhead != null) {
+            bulkheads.put(operationId, bulkhead);
+        } else {
+            bulkheads.remove(operationId);
+        }
+    }
+
+    Bulkhead getBulkhead(String operationId) {
+        return bulkheads.get(operationId);
+    }
+
+    /**
+     * Use a circuit breaker per operation from now on, 0 failures to not use any.
+     */
+    void setCircuitBreakers(int failureThreshold, long openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        circuitBreakers.clear();
+    }
+
+    CircuitBreaker getCircuitBreaker(String operationId) {
+        if (failureThreshold < 1) {
+            return null;
+        }
+        CircuitBreaker circuitBreaker = circuitBreakers.get(operationId);
+        if (circuitBreaker == null) {
+            circuitBreaker = new CircuitBreaker(failureThreshold, openDuration);
+            CircuitBreaker existing = circuitBreakers.putIfAbsent(operationId, circuitBreaker);
+            if (existing != null) {
+                circuitBreaker = existing;
+            }
+        }
+        return circuitBreaker;
+    }
+
+    boolean isEmpty() {
+        return bulkheads.isEmpty() && failureThreshold < 1;
+    }
+
+    @Override public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        RequestTag tag = RequestTag.of(request);
+        if (tag == null || tag.getOperationId() == null) {
+            return chain.proceed(request);
+        }
+        String operationId = tag.getOperationId();
+
+        Bulkhead bulkhead = bulkheads.get(operationId);
+        if (bulkhead != null && !bulkhead.tryAcquire()) {
+            throw new CallRejectedException(operationId, "Too many concurrent " + operationId + " calls, limit is " +
+                    bulkhead.getMaxConcurrentCalls());
+        }
+        try {
+            CircuitBreaker circuitBreaker = getCircuitBreaker(operationId);
+            if (circuitBreaker == null) {
+                return chain.proceed(request);
+            }
+            if (!circuitBreaker.tryAcquire()) {
+                throw new CallRejectedException(operationId, "Circuit breaker of " + operationId + " is open");
+            }
+            Response response;
+            try {
+                response = chain.proceed(request);
+            } catch (IOException e) {
+                if ("Canceled".equals(e.getMessage())) {
+                    circuitBreaker.onCanceled();
+                } else {
+                    circuitBreaker.onFailure();
+                }
+                throw e;
+            }
+            if (response.code() >= 500) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            return response;
+        } finally {
+            if (bulkhead != null) {
+                bulkhead.release();
+            }
+        }
+    }
+}
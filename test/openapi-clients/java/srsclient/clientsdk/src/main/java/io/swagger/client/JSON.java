@@ -31,6 +31,7 @@ import org.threeten.bp.format.DateTimeFormatter;
 import io.swagger.client.model.*;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.io.StringReader;
 import java.lang.reflect.Type;
 import java.text.DateFormat;
@@ -142,6 +143,42 @@ public class JSON {
         }
     }
 
+    /**
+     * Deserialize JSON read from the given reader to Java object.
+     * The JSON is parsed as it is read, without buffering the whole document.
+     *
+     * @param <T>        Type
+     * @param body       The reader to read the JSON from
+     * @param returnType The type to deserialize into
+     * @return The deserialized Java object, null if the reader is empty
+     */
+    public <T> T deserialize(Reader body, Type returnType) {
+        if (isLenientOnJson) {
+            JsonReader jsonReader = new JsonReader(body);
+            jsonReader.setLenient(true);
+            return gson.fromJson(jsonReader, returnType);
+        } else {
+            return gson.fromJson(body, returnType);
+        }
+    }
+
+    /**
+     * Iterate the elements of the JSON array read from the given reader.
+     * Elements are deserialized one at a time as they are read; closing the
+     * iterator closes the reader.
+     *
+     * @param <T>         Element type
+     * @param body        The reader to read the JSON array from
+     * @param elementType The type to deserialize each element into
+     * @return Iterator over the array elements, empty for an empty or null document
+     * @throws IOException If fail to read the start of the array
+     */
+    public <T> CloseableIterator<T> deserializeArray(Reader body, Type elementType) throws IOException {
+        JsonReader jsonReader = new JsonReader(body);
+        jsonReader.setLenient(isLenientOnJson);
+        return new JsonArrayIterator<T>(gson, jsonReader, elementType);
+    }
+
     /**
      * Gson TypeAdapter for JSR310 OffsetDateTime type
      */
@@ -0,0 +1,100 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates the elements of a JSON array, deserializing one element at a time
+ * as it is read from the underlying reader.
+ *
+ * @param <T> The element type
+ */
+class JsonArrayIterator<T> implements CloseableIterator<T> {
+    private final Gson gson;
+    private final JsonReader reader;
+    private final Type elementType;
+    private boolean closed;
+
+    JsonArrayIterator(Gson gson, JsonReader reader, Type elementType) throws IOException {
+        this.gson = gson;
+        this.reader = reader;
+        this.elementType = elementType;
+
+        // an empty body or a null document is an empty array
+        JsonToken token;
+        try {
+            token = reader.peek();
+        } catch (java.io.EOFException e) {
+            token = JsonToken.END_DOCUMENT;
+        }
+        if (token == JsonToken.BEGIN_ARRAY) {
+            reader.beginArray();
+        } else if (token == JsonToken.NULL || token == JsonToken.END_DOCUMENT) {
+            close();
+        } else {
+            close();
+            throw new IOException("Expected a JSON array but was " + token);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        try {
+            if (reader.hasNext()) {
+                return true;
+            }
+            reader.endArray();
+            close();
+            return false;
+        } catch (IOException e) {
+            closeQuietly();
+            throw new JsonIOException(e);
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            return gson.fromJson(reader, elementType);
+        } catch (RuntimeException e) {
+            closeQuietly();
+            throw e;
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("remove");
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            reader.close();
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,106 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.Call;
+import com.squareup.okhttp.Callback;
+import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+
+import java.io.IOException;
+
+/**
+ * Call whose result {@link ApiClient#execute(Call, java.lang.reflect.Type)}
+ * may share with identical calls, by answering it from the response cache,
+ * by coalescing it with the identical call in flight or by answering it from
+ * a conditional GET. Executed directly, it is the call it wraps.
+ */
+class KeyedCall extends Call {
+    private final Call delegate;
+    private final String operationId;
+    private final String key;
+    private final boolean cached;
+    private final boolean coalesced;
+    private final boolean conditional;
+    private final ConditionalCache.Entry validated;
+
+    KeyedCall(OkHttpClient client, Request request, Call delegate, String key,
+              boolean cached, boolean coalesced, boolean conditional, ConditionalCache.Entry validated) {
+        super(client, request);
+        this.delegate = delegate;
+        this.operationId = RequestTag.of(request).getOperationId();
+        this.key = key;
+        this.cached = cached;
+        this.coalesced = coalesced;
+        this.conditional = conditional;
+        this.validated = validated;
+    }
+
+    /**
+     * @return What identifies the identical calls: the operation, URL and credentials of the request
+     */
+    static String keyOf(Request request) {
+        RequestTag tag = RequestTag.of(request);
+        return (tag != null ? tag.getOperationId() : null) + ' ' + request.urlString() + ' '
+                + request.header("X-SRS-API-KEY") + ' ' + request.header("Authorization");
+    }
+
+    Call getDelegate() {
+        return delegate;
+    }
+
+    String getOperationId() {
+        return operationId;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    boolean isCached() {
+        return cached;
+    }
+
+    boolean isCoalesced() {
+        return coalesced;
+    }
+
+    boolean isConditional() {
+        return conditional;
+    }
+
+    /**
+     * @return The conditional cache entry whose validator the request carries, null if none
+     */
+    ConditionalCache.Entry getValidated() {
+        return validated;
+    }
+
+    @Override
+    public Response execute() throws IOException {
+        return delegate.execute();
+    }
+
+    @Override
+    public void enqueue(Callback responseCallback) {
+        delegate.enqueue(responseCallback);
+    }
+
+    @Override
+    public void cancel() {
+        delegate.cancel();
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return delegate.isCanceled();
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return delegate.isExecuted();
+    }
+}
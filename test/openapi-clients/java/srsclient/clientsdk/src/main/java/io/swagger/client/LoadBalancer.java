@@ -0,0 +1,224 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.Interceptor;
+import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+import io.swagger.client.api.AboutApi;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application interceptor that sends each request built for the first base
+ * path to one of the endpoints of a {@link LoadBalancingPolicy}, and probes
+ * the endpoints in the background.
+ *
+ * A request counts as outstanding on its endpoint until its response headers
+ * arrive.
+ */
+class LoadBalancer implements Interceptor {
+    private static final String API_KEY_HEADER = "X-SRS-API-KEY";
+
+    private final LoadBalancingPolicy policy;
+    private final String primaryBasePath;
+    private final List<Endpoint> endpoints;
+    private final ScheduledExecutorService prober;
+
+    /**
+     * @param httpClient The HTTP client whose TLS settings and connections the probes use
+     */
+    LoadBalancer(LoadBalancingPolicy policy, List<String> basePaths, OkHttpClient httpClient) {
+        this.policy = policy;
+        this.primaryBasePath = basePaths.get(0);
+        List<Endpoint> list = new ArrayList<Endpoint>(basePaths.size());
+        for (String basePath : basePaths) {
+            list.add(new Endpoint(basePath));
+        }
+        this.endpoints = Collections.unmodifiableList(list);
+
+        if (policy.getProbeInterval() > 0) {
+            prober = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "ApiClient endpoint probes");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            final List<AboutApi> probes = probes(httpClient);
+            prober.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    probe(probes);
+                }
+            }, policy.getProbeInterval(), policy.getProbeInterval(), TimeUnit.MILLISECONDS);
+        } else {
+            prober = null;
+        }
+    }
+
+    LoadBalancingPolicy getPolicy() {
+        return policy;
+    }
+
+    List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Stop probing the endpoints.
+     */
+    void close() {
+        if (prober != null) {
+            prober.shutdownNow();
+        }
+    }
+
+    @Override public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        String url = request.urlString();
+        if (!url.startsWith(primaryBasePath)) {
+            return chain.proceed(request);
+        }
+        Endpoint endpoint = select(request);
+        if (!endpoint.getBasePath().equals(primaryBasePath)) {
+            request = request.newBuilder()
+                             .url(endpoint.getBasePath() + url.substring(primaryBasePath.length()))
+                             .build();
+        }
+
+        endpoint.onStart();
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            if ("Canceled".equals(e.getMessage())) {
+                endpoint.onCanceled();
+            } else {
+                endpoint.onEnd(true, policy);
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            endpoint.onCanceled();
+            throw e;
+        }
+        endpoint.onEnd(response.code() >= 500, policy);
+        return response;
+    }
+
+    Endpoint select(Request request) {
+        long now = System.nanoTime();
+        List<Endpoint> candidates = new ArrayList<Endpoint>(endpoints.size());
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.isHealthy(now)) {
+                candidates.add(endpoint);
+            }
+        }
+        if (candidates.isEmpty()) {
+            // better an endpoint that may have recovered than none
+            candidates = endpoints;
+        }
+        int size = candidates.size();
+        if (size == 1) {
+            return candidates.get(0);
+        }
+
+        RequestTag tag = RequestTag.of(request);
+        String apiKey = request.header(API_KEY_HEADER);
+        if (apiKey != null && tag != null && policy.getStickyOperations().contains(tag.getOperationId())) {
+            return sticky(candidates, apiKey);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (policy.getSelection() == LoadBalancingPolicy.Selection.POWER_OF_TWO_CHOICES) {
+            int first = random.nextInt(size);
+            int second = random.nextInt(size - 1);
+            if (second >= first) {
+                second++;
+            }
+            Endpoint one = candidates.get(first);
+            Endpoint other = candidates.get(second);
+            return other.getOutstandingRequests() < one.getOutstandingRequests() ? other : one;
+        }
+        // least outstanding requests, ties broken from a random start
+        int start = random.nextInt(size);
+        Endpoint least = null;
+        for (int i = 0; i < size; i++) {
+            Endpoint endpoint = candidates.get((start + i) % size);
+            if (least == null || endpoint.getOutstandingRequests() < least.getOutstandingRequests()) {
+                least = endpoint;
+            }
+        }
+        return least;
+    }
+
+    /**
+     * Rendezvous hashing: the session stays on its endpoint while that endpoint
+     * is healthy, and only the sessions of an ejected endpoint move.
+     */
+    private static Endpoint sticky(List<Endpoint> candidates, String apiKey) {
+        long keyHash = mix(apiKey.hashCode());
+        Endpoint chosen = null;
+        long best = 0;
+        for (Endpoint endpoint : candidates) {
+            long weight = mix(keyHash ^ endpoint.getBasePath().hashCode());
+            if (chosen == null || weight > best) {
+                chosen = endpoint;
+                best = weight;
+            }
+        }
+        return chosen;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    private List<AboutApi> probes(OkHttpClient httpClient) {
+        List<AboutApi> probes = new ArrayList<AboutApi>(endpoints.size());
+        for (Endpoint endpoint : endpoints) {
+            // shares the connection pool, without the interceptors of the client
+            OkHttpClient probeHttpClient = httpClient.clone();
+            probeHttpClient.interceptors().clear();
+            probeHttpClient.networkInterceptors().clear();
+            probeHttpClient.setConnectTimeout(policy.getProbeTimeout(), TimeUnit.MILLISECONDS);
+            probeHttpClient.setReadTimeout(policy.getProbeTimeout(), TimeUnit.MILLISECONDS);
+            ApiClient probeClient = new ApiClient().setBasePath(endpoint.getBasePath()).setHttpClient(probeHttpClient);
+            probes.add(new AboutApi(probeClient));
+        }
+        return probes;
+    }
+
+    private void probe(List<AboutApi> probes) {
+        for (int i = 0; i < probes.size(); i++) {
+            Endpoint endpoint = endpoints.get(i);
+            try {
+                probes.get(i).getAbout();
+                endpoint.reinstate();
+            } catch (ApiException e) {
+                // any answer below 500 means the endpoint is up
+                if (e.getCode() == 0 || e.getCode() >= 500) {
+                    endpoint.eject(policy.getEjectionDuration());
+                } else {
+                    endpoint.reinstate();
+                }
+            } catch (RuntimeException e) {
+                endpoint.eject(policy.getEjectionDuration());
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * How {@link ApiClient} spreads requests over several SRS endpoints, e.g. the
+ * APIGateway replicas of one deployment.
+ *
+ * Each request goes to the healthier and less loaded of two endpoints picked
+ * at random, or to the endpoint with the fewest requests in flight. Endpoints
+ * whose recent error rate is too high are ejected for a while, and endpoints
+ * are probed with {@code AboutApi.getAbout} in the background. Requests of the
+ * sticky operations that carry an API key always go to the same endpoint
+ * while it is healthy, so a session keeps its runspaces.
+ *
+ * @see ApiClient#setBasePaths(LoadBalancingPolicy, String...)
+ */
+public class LoadBalancingPolicy {
+    /**
+     * Ways of selecting the endpoint of a request.
+     */
+    public enum Selection {
+        POWER_OF_TWO_CHOICES, LEAST_OUTSTANDING_REQUESTS
+    }
+
+    private Selection selection = Selection.POWER_OF_TWO_CHOICES;
+    private double errorRateThreshold = 0.5;
+    private int minRequests = 5;
+    private long ejectionDuration = 30000;
+    private long probeInterval = 10000;
+    private long probeTimeout = 2000;
+    private Set<String> stickyOperations = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(
+            "createRunspace", "deleteRunspace", "getRunspace", "listRunspaces",
+            "cancelScriptExecution", "createScriptExecution", "getScriptExecution", "getScriptExecutionOutput",
+            "getScriptExecutionStream", "listScriptExecutions")));
+
+    public Selection getSelection() {
+        return selection;
+    }
+
+    /**
+     * Sets how the endpoint of a request is selected. Default is
+     * {@link Selection#POWER_OF_TWO_CHOICES}.
+     *
+     * @param selection Selection
+     * @return LoadBalancingPolicy
+     */
+    public LoadBalancingPolicy setSelection(Selection selection) {
+        this.selection = selection;
+        return this;
+    }
+
+    public double getErrorRateThreshold() {
+        return errorRateThreshold;
+    }
+
+    /**
+     * Sets the error rate at which an endpoint is ejected. The rate is the
+     * share of I/O errors and 5xx responses among the latest
+     * {@link #getMinRequests()} requests of the endpoint, so with the defaults
+     * 3 failures out of 5 requests eject it. Default is 0.5.
+     *
+     * @param errorRateThreshold Error rate between 0 and 1
+     * @return LoadBalancingPolicy
+     */
+    public LoadBalancingPolicy setErrorRateThreshold(double errorRateThreshold) {
+        if (errorRateThreshold <= 0 || errorRateThreshold > 1) {
+            throw new IllegalArgumentException("errorRateThreshold must be between 0 and 1");
+        }
+        this.errorRateThreshold = errorRateThreshold;
+        return this;
+    }
+
+    public int getMinRequests() {
+        return minRequests;
+    }
+
+    /**
+     * Sets the number of latest requests the error rate of an endpoint is
+     * computed over. An endpoint must have answered that many since it was
+     * last ejected before its error rate is acted on. Default is 5.
+     *
+     * @param minRequests Number of requests
+     * @return LoadBalancingPolicy
+     */
+    public LoadBalancingPolicy setMinRequests(int minRequests) {
+        this.minRequests = minRequests;
+        return this;
+    }
+
+    public long getEjectionDuration() {
+        return ejectionDuration;
+    }
+
+    /**
+     * Sets how long (in milliseconds) an unhealthy endpoint gets no requests,
+     * unless a probe finds it healthy earlier. Default is 30000.
+     *
+     * @param ejectionDuration Duration in milliseconds
+     * @return LoadBalancingPolicy
+     */
+    public LoadBalancingPolicy setEjectionDuration(long ejectionDuration) {
+        this.ejectionDuration = ejectionDuration;
+        return this;
+    }
+
+    public long getProbeInterval() {
+        return probeInterval;
+    }
+
+    /**
+     * Sets the time (in milliseconds) between two health probes of the
+     * endpoints. Default is 10000.
+     *
+     * @param probeInterval Interval in milliseconds, 0 to not probe
+     * @return LoadBalancingPolicy
+     */
+    public LoadBalancingPolicy setProbeInterval(long probeInterval) {
+        this.probeInterval = probeInterval;
+        return this;
+    }
+
+    public long getProbeTimeout() {
+        return probeTimeout;
+    }
+
+    /**
+     * Sets the connect and read timeout (in milliseconds) of the health probes.
+     * Default is 2000.
+     *
+     * @param probeTimeout Timeout in milliseconds
+     * @return LoadBalancingPolicy
+     */
+    public LoadBalancingPolicy setProbeTimeout(long probeTimeout) {
+        this.probeTimeout = probeTimeout;
+        return this;
+    }
+
+    public Set<String> getStickyOperations() {
+        return stickyOperations;
+    }
+
+    /**
+     * Sets the operations that need the runspaces of their session and so are
+     * routed by API key. Default is the runspace and script execution operations.
+     *
+     * @param operationIds Operation ids
+     * @return LoadBalancingPolicy
+     */
+    public LoadBalancingPolicy setStickyOperations(String... operationIds) {
+        this.stickyOperations = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(operationIds)));
+        return this;
+    }
+}
@@ -0,0 +1,91 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * Media type classification shared by request building and response handling.
+ *
+ * The JSON pattern is compiled once and the classification of the media types
+ * seen is cached, so the Content-Type of every response is not matched again.
+ */
+public class MediaTypes {
+    private static final Pattern JSON_MIME =
+            Pattern.compile("(?i)^(application/json|[^;/ \t]+/[^;/ \t]+[+]json)[ \t]*(;.*)?$");
+
+    // Media types come from the API definition and the server, so only a handful
+    // are expected. Beyond the bound classification is computed without caching.
+    static final int MAX_CACHED = 256;
+    private static final ConcurrentMap<String, Boolean> JSON_CACHE = new ConcurrentHashMap<String, Boolean>();
+
+    private MediaTypes() {
+    }
+
+    /**
+     * Check if the given MIME is a JSON MIME.
+     *
+     * @param mime MIME, e.g. "application/json; charset=UTF-8"
+     * @return True if the given MIME is JSON or "* / *", false otherwise.
+     * @see ApiClient#isJsonMime(String)
+     */
+    public static boolean isJson(String mime) {
+        if (mime == null) {
+            return false;
+        }
+        Boolean json = JSON_CACHE.get(mime);
+        if (json == null) {
+            json = mime.equals("*/*") || JSON_MIME.matcher(mime).matches();
+            if (JSON_CACHE.size() < MAX_CACHED) {
+                JSON_CACHE.put(mime, json);
+            }
+        }
+        return json;
+    }
+
+    /**
+     * Select the Accept header's value from the given accepts array.
+     *
+     * @param accepts The accepts array to select from
+     * @return The Accept header to use, null if the array is empty
+     * @see ApiClient#selectHeaderAccept(String[])
+     */
+    public static String selectHeaderAccept(String[] accepts) {
+        if (accepts.length == 0) {
+            return null;
+        }
+        for (String accept : accepts) {
+            if (isJson(accept)) {
+                return accept;
+            }
+        }
+        return StringUtil.join(accepts, ",");
+    }
+
+    /**
+     * Select the Content-Type header's value from the given array.
+     *
+     * @param contentTypes The Content-Type array to select from
+     * @return The Content-Type header to use
+     * @see ApiClient#selectHeaderContentType(String[])
+     */
+    public static String selectHeaderContentType(String[] contentTypes) {
+        if (contentTypes.length == 0 || contentTypes[0].equals("*/*")) {
+            return "application/json";
+        }
+        for (String contentType : contentTypes) {
+            if (isJson(contentType)) {
+                return contentType;
+            }
+        }
+        return contentTypes[0];
+    }
+
+    static int cachedCount() {
+        return JSON_CACHE.size();
+    }
+}
@@ -0,0 +1,29 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.Call;
+import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.Request;
+
+/**
+ * Default {@link HttpTransport} executing requests with an OkHttp client.
+ */
+public class OkHttpTransport implements HttpTransport {
+    private final OkHttpClient httpClient;
+
+    public OkHttpTransport(OkHttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    public OkHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    @Override
+    public Call newCall(Request request) {
+        return httpClient.newCall(request);
+    }
+}
@@ -0,0 +1,245 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.Call;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Result of polling a resource until it is done, see
+ * {@link ApiClient#executePolling}.
+ *
+ * Polls are asynchronous calls and the waits between them are timer tasks,
+ * so no thread is held while polling. Polling fails with the first call that
+ * fails, after the retries of the {@link RetryPolicy}, and with a
+ * {@link DeadlineExceededException} when the deadline of the client passes.
+ * Canceling stops polling and does not invoke the callback.
+ *
+ * @param <T> Type of the resource polled
+ */
+public class PollingFuture<T> implements Future<T> {
+    private static final ScheduledThreadPoolExecutor TIMER = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "ApiClient polling");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    static {
+        TIMER.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * A single poll of the resource.
+     *
+     * @param <T> Type of the resource polled
+     */
+    public interface Poll<T> {
+        /**
+         * Start an asynchronous call getting the resource.
+         *
+         * @param callback Callback to pass to the call
+         * @return The call started
+         * @throws ApiException If the call could not be started
+         */
+        Call call(ApiCallback<T> callback) throws ApiException;
+
+        /**
+         * @param result The resource polled
+         * @return True if polling is done
+         */
+        boolean isDone(T result);
+    }
+
+    private final PollingPolicy policy;
+    private final Deadline deadline;
+    private final Poll<T> poll;
+    private final ApiCallback<T> callback;
+    private final AtomicInteger polls = new AtomicInteger();
+    private final CountDownLatch done = new CountDownLatch(1);
+    // guarded by this
+    private long interval;
+    private Call call;
+    private ScheduledFuture<?> next;
+    private boolean finished;
+    private boolean cancelled;
+    private T result;
+    private ApiException failure;
+
+    PollingFuture(PollingPolicy policy, Deadline deadline, Poll<T> poll, ApiCallback<T> callback) {
+        this.policy = policy;
+        this.deadline = deadline;
+        this.poll = poll;
+        this.callback = callback;
+        this.interval = policy.getInitialInterval();
+    }
+
+    void start() {
+        schedule(interval);
+    }
+
+    /**
+     * @return Number of polls sent so far
+     */
+    public int getPolls() {
+        return polls.get();
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        Call current;
+        ScheduledFuture<?> scheduled;
+        synchronized (this) {
+            if (finished) {
+                return false;
+            }
+            finished = true;
+            cancelled = true;
+            current = call;
+            scheduled = next;
+        }
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+        if (current != null) {
+            current.cancel();
+        }
+        done.countDown();
+        return true;
+    }
+
+    @Override
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public boolean isDone() {
+        return done.getCount() == 0;
+    }
+
+    @Override
+    public T get() throws InterruptedException, ExecutionException {
+        done.await();
+        return report();
+    }
+
+    @Override
+    public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        if (!done.await(timeout, unit)) {
+            throw new TimeoutException();
+        }
+        return report();
+    }
+
+    private synchronized T report() throws ExecutionException {
+        if (cancelled) {
+            throw new CancellationException();
+        }
+        if (failure != null) {
+            throw new ExecutionException(failure);
+        }
+        return result;
+    }
+
+    private void schedule(long delay) {
+        if (deadline != null) {
+            delay = Math.min(delay, deadline.remaining(TimeUnit.MILLISECONDS));
+        }
+        synchronized (this) {
+            if (!finished) {
+                next = TIMER.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        pollNow();
+                    }
+                }, delay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void pollNow() {
+        if (deadline != null && deadline.isExpired()) {
+            complete(null, 0, null, new ApiException(deadline.exceeded()));
+            return;
+        }
+        Call started;
+        try {
+            polls.incrementAndGet();
+            started = poll.call(new ApiCallback<T>() {
+                @Override
+                public void onFailure(ApiException e, int statusCode, Map<String, List<String>> responseHeaders) {
+                    complete(null, statusCode, responseHeaders, e);
+                }
+
+                @Override
+                public void onSuccess(T result, int statusCode, Map<String, List<String>> responseHeaders) {
+                    if (poll.isDone(result)) {
+                        complete(result, statusCode, responseHeaders, null);
+                    } else {
+                        schedule(nextDelay());
+                    }
+                }
+
+                @Override
+                public void onUploadProgress(long bytesWritten, long contentLength, boolean done) {
+                }
+
+                @Override
+                public void onDownloadProgress(long bytesRead, long contentLength, boolean done) {
+                }
+            });
+        } catch (ApiException e) {
+            complete(null, 0, null, e);
+            return;
+        }
+        synchronized (this) {
+            if (!finished) {
+                call = started;
+                return;
+            }
+        }
+        started.cancel();
+    }
+
+    private synchronized long nextDelay() {
+        interval = Math.min(policy.getMaxInterval(), (long) (interval * policy.getMultiplier()));
+        return interval - (long) (interval * policy.getJitter() * ThreadLocalRandom.current().nextDouble());
+    }
+
+    private void complete(T result, int statusCode, Map<String, List<String>> responseHeaders, ApiException failure) {
+        synchronized (this) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            this.result = result;
+            this.failure = failure;
+        }
+        done.countDown();
+        if (callback != null) {
+            if (failure != null) {
+                callback.onFailure(failure, statusCode, responseHeaders);
+            } else {
+                callback.onSuccess(result, statusCode, responseHeaders);
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+/**
+ * How often {@link ApiClient#executePolling} polls a resource until it is done.
+ *
+ * Polls are frequent at first, so short scripts are seen completing right
+ * away, and back off exponentially up to {@link #getMaxInterval()}, so long
+ * scripts are not polled needlessly. Each wait is shortened by a random part
+ * of up to {@link #getJitter()} of it, which spreads out the polls of
+ * executions started together.
+ *
+ * @see ApiClient#setPollingPolicy(PollingPolicy)
+ */
+public class PollingPolicy {
+    private long initialInterval = 50;
+    private double multiplier = 1.5;
+    private long maxInterval = 5000;
+    private double jitter = 0.2;
+
+    public long getInitialInterval() {
+        return initialInterval;
+    }
+
+    /**
+     * Sets the wait (in milliseconds) before the first poll. Default is 50.
+     *
+     * @param initialInterval Interval in milliseconds
+     * @return PollingPolicy
+     */
+    public PollingPolicy setInitialInterval(long initialInterval) {
+        this.initialInterval = initialInterval;
+        return this;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    /**
+     * Sets the factor the wait grows by after each poll. Default is 1.5.
+     *
+     * @param multiplier Factor of at least 1
+     * @return PollingPolicy
+     */
+    public PollingPolicy setMultiplier(double multiplier) {
+        if (multiplier < 1) {
+            throw new IllegalArgumentException("multiplier must be at least 1");
+        }
+        this.multiplier = multiplier;
+        return this;
+    }
+
+    public long getMaxInterval() {
+        return maxInterval;
+    }
+
+    /**
+     * Sets the longest wait (in milliseconds) between two polls. Default is 5000.
+     *
+     * @param maxInterval Interval in milliseconds
+     * @return PollingPolicy
+     */
+    public PollingPolicy setMaxInterval(long maxInterval) {
+        this.maxInterval = maxInterval;
+        return this;
+    }
+
+    public double getJitter() {
+        return jitter;
+    }
+
+    /**
+     * Sets the largest part of a wait that is randomly cut from it. Default is 0.2.
+     *
+     * @param jitter Part between 0 and 1
+     * @return PollingPolicy
+     */
+    public PollingPolicy setJitter(double jitter) {
+        if (jitter < 0 || jitter > 1) {
+            throw new IllegalArgumentException("jitter must be between 0 and 1");
+        }
+        this.jitter = jitter;
+        return this;
+    }
+}
@@ -0,0 +1,62 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.Request;
+
+/**
+ * Call-scoped state attached to every request built by {@link ApiClient} as
+ * the request tag.
+ *
+ * The interceptors installed once on the HTTP client look the tag up on each
+ * request instead of being added per call.
+ */
+public class RequestTag {
+    private final String operationId;
+    private final ProgressResponseBody.ProgressListener progressListener;
+    private final Deadline deadline;
+
+    /**
+     * @param operationId The API operation the request was built for, e.g. "getRunspace"
+     * @param progressListener Download progress listener, may be null
+     */
+    public RequestTag(String operationId, ProgressResponseBody.ProgressListener progressListener) {
+        this(operationId, progressListener, null);
+    }
+
+    /**
+     * @param operationId The API operation the request was built for, e.g. "getRunspace"
+     * @param progressListener Download progress listener, may be null
+     * @param deadline Deadline of the call, may be null
+     */
+    public RequestTag(String operationId, ProgressResponseBody.ProgressListener progressListener, Deadline deadline) {
+        this.operationId = operationId;
+        this.progressListener = progressListener;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Get the tag of the given request.
+     *
+     * @param request The request
+     * @return The tag, null if the request was not built by {@link ApiClient}
+     */
+    public static RequestTag of(Request request) {
+        Object tag = request.tag();
+        return tag instanceof RequestTag ? (RequestTag) tag : null;
+    }
+
+    public String getOperationId() {
+        return operationId;
+    }
+
+    public ProgressResponseBody.ProgressListener getProgressListener() {
+        return progressListener;
+    }
+
+    public Deadline getDeadline() {
+        return deadline;
+    }
+}
@@ -0,0 +1,79 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.Connection;
+import com.squareup.okhttp.Interceptor;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Network interceptor installed once per HTTP client that applies the
+ * call-scoped {@link RequestTag} of each request: reports download progress
+ * and notifies the {@link CallListener}s. It also counts how many exchanges
+ * reused an already open connection.
+ */
+class RequestTagInterceptor implements Interceptor {
+    private final List<CallListener> callListeners;
+    private final Set<Connection> seenConnections =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<Connection, Boolean>()));
+    private final AtomicLong exchanges = new AtomicLong();
+    private final AtomicLong reusedExchanges = new AtomicLong();
+
+    RequestTagInterceptor(List<CallListener> callListeners) {
+        this.callListeners = callListeners;
+    }
+
+    @Override public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        RequestTag tag = RequestTag.of(request);
+        countExchange(chain.connection());
+        long startNanos = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            for (CallListener listener : callListeners) {
+                listener.onFailure(tag, request, e, System.nanoTime() - startNanos);
+            }
+            throw e;
+        }
+        for (CallListener listener : callListeners) {
+            listener.onResponse(tag, request, response, System.nanoTime() - startNanos);
+        }
+
+        if (tag == null || tag.getProgressListener() == null || response.body() == null) {
+            return response;
+        }
+        return response.newBuilder()
+                .body(new ProgressResponseBody(response.body(), tag.getProgressListener()))
+                .build();
+    }
+
+    long getExchangeCount() {
+        return exchanges.get();
+    }
+
+    long getReusedExchangeCount() {
+        return reusedExchanges.get();
+    }
+
+    private void countExchange(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        exchanges.incrementAndGet();
+        if (!seenConnections.add(connection)) {
+            reusedExchanges.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.Request;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Results of the GET operations that change so rarely they can be reused for
+ * a while, by call key (see {@link KeyedCall#keyOf(Request)}). Each operation
+ * has its own TTL and size limit, and drops its least recently used result
+ * when full.
+ */
+class ResponseCache {
+    private final ConcurrentMap<String, OperationCache> operations = new ConcurrentHashMap<String, OperationCache>();
+
+    /**
+     * Cache the results of the given operation from now on, 0 TTL to not cache them.
+     */
+    void configure(String operationId, long ttl, int maxEntries) {
+        if (ttl <= 0) {
+            operations.remove(operationId);
+        } else {
+            if (maxEntries < 1) {
+                throw new IllegalArgumentException("maxEntries must be at least 1");
+            }
+            operations.put(operationId, new OperationCache(TimeUnit.MILLISECONDS.toNanos(ttl), maxEntries));
+        }
+    }
+
+    /**
+     * @return True if the result of the given request may come from the cache
+     */
+    boolean isCached(Request request) {
+        RequestTag tag = RequestTag.of(request);
+        return !operations.isEmpty() && "GET".equals(request.method()) && tag != null
+                && tag.getOperationId() != null && operations.containsKey(tag.getOperationId());
+    }
+
+    /**
+     * @return The cached result, null on a miss
+     */
+    @SuppressWarnings("unchecked")
+    <T> ApiResponse<T> get(String operationId, String key) {
+        OperationCache cache = operations.get(operationId);
+        return cache != null ? (ApiResponse<T>) cache.get(key) : null;
+    }
+
+    void put(String operationId, String key, ApiResponse<?> result) {
+        OperationCache cache = operations.get(operationId);
+        if (cache != null) {
+            cache.put(key, result);
+        }
+    }
+
+    void invalidate(String operationId) {
+        OperationCache cache = operations.get(operationId);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    void invalidateAll() {
+        for (OperationCache cache : operations.values()) {
+            cache.clear();
+        }
+    }
+
+    CacheStats getStats(String operationId) {
+        OperationCache cache = operations.get(operationId);
+        return cache != null ? cache.getStats() : null;
+    }
+
+    private static class OperationCache {
+        private final long ttlNanos;
+        private final int maxEntries;
+        // guarded by this, least recently used first
+        private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true);
+        private long hits;
+        private long misses;
+        private long evictions;
+        private long expirations;
+
+        OperationCache(long ttlNanos, int maxEntries) {
+            this.ttlNanos = ttlNanos;
+            this.maxEntries = maxEntries;
+        }
+
+        synchronized ApiResponse<?> get(String key) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAtNanos - System.nanoTime() <= 0) {
+                entries.remove(key);
+                expirations++;
+                entry = null;
+            }
+            if (entry == null) {
+                misses++;
+                return null;
+            }
+            hits++;
+            return entry.result;
+        }
+
+        synchronized void put(String key, ApiResponse<?> result) {
+            long now = System.nanoTime();
+            entries.put(key, new Entry(now + ttlNanos, result));
+            if (entries.size() <= maxEntries) {
+                return;
+            }
+            // expired results go first, then the least recently used ones
+            for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+                if (it.next().expiresAtNanos - now <= 0) {
+                    it.remove();
+                    expirations++;
+                }
+            }
+            for (Iterator<Entry> it = entries.values().iterator(); entries.size() > maxEntries; ) {
+                it.next();
+                it.remove();
+                evictions++;
+            }
+        }
+
+        synchronized void clear() {
+            entries.clear();
+        }
+
+        synchronized CacheStats getStats() {
+            return new CacheStats(hits, misses, evictions, expirations, entries.size());
+        }
+    }
+
+    private static class Entry {
+        final long expiresAtNanos;
+        final ApiResponse<?> result;
+
+        Entry(long expiresAtNanos, ApiResponse<?> result) {
+            this.expiresAtNanos = expiresAtNanos;
+            this.result = result;
+        }
+    }
+}
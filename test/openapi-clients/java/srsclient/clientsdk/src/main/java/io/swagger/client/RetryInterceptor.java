@@ -0,0 +1,129 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.Interceptor;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+import com.squareup.okhttp.internal.http.HttpDate;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application interceptor that retries requests according to a {@link RetryPolicy}.
+ *
+ * The wait between attempts blocks the calling thread, which for asynchronous
+ * calls is a dispatcher thread.
+ */
+class RetryInterceptor implements Interceptor {
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private final RetryPolicy policy;
+    private final TokenBucket budget;
+
+    RetryInterceptor(RetryPolicy policy) {
+        this.policy = policy;
+        this.budget = new TokenBucket(policy.getRetryBudget(), policy.getRetryBudgetRatio());
+    }
+
+    RetryPolicy getPolicy() {
+        return policy;
+    }
+
+    @Override public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        RequestTag tag = RequestTag.of(request);
+        if (tag != null && request.header(IDEMPOTENCY_KEY_HEADER) == null
+                && policy.getIdempotencyKeyOperations().contains(tag.getOperationId())) {
+            request = request.newBuilder().header(IDEMPOTENCY_KEY_HEADER, UUID.randomUUID().toString()).build();
+        }
+        budget.earn();
+
+        boolean retryable = isRetryable(request);
+        long backoff = policy.getInitialBackoff();
+        for (int attempt = 1; ; attempt++) {
+            Response response = null;
+            IOException failure = null;
+            try {
+                response = chain.proceed(request);
+            } catch (IOException e) {
+                // OkHttp reports canceled calls this way, they must not be retried
+                if ("Canceled".equals(e.getMessage()) || e instanceof InterruptedIOException) {
+                    throw e;
+                }
+                failure = e;
+            }
+            if (response != null && !policy.getRetryableStatusCodes().contains(response.code())) {
+                return response;
+            }
+            if (!retryable || attempt >= policy.getMaxAttempts()) {
+                return result(response, failure);
+            }
+
+            backoff = Math.min(policy.getMaxBackoff(),
+                    ThreadLocalRandom.current().nextLong(policy.getInitialBackoff(), Math.max(policy.getInitialBackoff(), backoff * 3) + 1));
+            long wait = backoff;
+            if (response != null) {
+                long retryAfter = retryAfterMillis(response);
+                if (retryAfter > policy.getMaxBackoff()) {
+                    return response;
+                }
+                if (retryAfter >= 0) {
+                    wait = retryAfter;
+                }
+            }
+            Deadline deadline = tag != null ? tag.getDeadline() : null;
+            if (deadline != null && wait >= deadline.remaining(TimeUnit.MILLISECONDS)) {
+                // the retry could not complete in time
+                return result(response, failure);
+            }
+            if (!budget.trySpend()) {
+                return result(response, failure);
+            }
+            if (response != null && response.body() != null) {
+                response.body().close();
+            }
+            try {
+                Thread.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting to retry " + request.url());
+            }
+        }
+    }
+
+    private boolean isRetryable(Request request) {
+        return "GET".equals(request.method()) || "DELETE".equals(request.method())
+                || request.header(IDEMPOTENCY_KEY_HEADER) != null;
+    }
+
+    private static Response result(Response response, IOException failure) throws IOException {
+        if (response == null) {
+            throw failure;
+        }
+        return response;
+    }
+
+    /**
+     * @return The wait the response asks for in milliseconds, -1 if none
+     */
+    private static long retryAfterMillis(Response response) {
+        String retryAfter = response.header("Retry-After");
+        if (retryAfter == null) {
+            return -1;
+        }
+        try {
+            return Math.max(0, Long.parseLong(retryAfter.trim()) * 1000);
+        } catch (NumberFormatException e) {
+            Date date = HttpDate.parse(retryAfter);
+            return date == null ? -1 : Math.max(0, date.getTime() - System.currentTimeMillis());
+        }
+    }
+}
@@ -0,0 +1,150 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * When and how often {@link ApiClient} retries failed requests.
+ *
+ * GET and DELETE requests are retried on I/O errors and on the retryable
+ * status codes. Other requests are retried only when they carry an
+ * Idempotency-Key header, which the client adds to the operations given to
+ * {@link #setIdempotencyKeyOperations(String...)}.
+ *
+ * Retries back off exponentially with decorrelated jitter and wait for the
+ * Retry-After the server asks for. They draw from a retry budget that each
+ * request refills by {@link #getRetryBudgetRatio()}, so during an outage the
+ * retries add at most that fraction to the load.
+ *
+ * @see ApiClient#setRetryPolicy(RetryPolicy)
+ */
+public class RetryPolicy {
+    private int maxAttempts = 3;
+    private long initialBackoff = 100;
+    private long maxBackoff = 10000;
+    private Set<Integer> retryableStatusCodes = Collections.unmodifiableSet(
+            new HashSet<Integer>(Arrays.asList(429, 502, 503, 504)));
+    private Set<String> idempotencyKeyOperations = Collections.emptySet();
+    private double retryBudgetRatio = 0.1;
+    private int retryBudget = 10;
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Sets the maximum number of attempts, including the first one. Default is 3.
+     *
+     * @param maxAttempts Maximum number of attempts, 1 disables retries
+     * @return RetryPolicy
+     */
+    public RetryPolicy setMaxAttempts(int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+
+    public long getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    /**
+     * Sets the shortest wait before a retry (in milliseconds). Default is 100.
+     *
+     * @param initialBackoff Backoff in milliseconds
+     * @return RetryPolicy
+     */
+    public RetryPolicy setInitialBackoff(long initialBackoff) {
+        this.initialBackoff = initialBackoff;
+        return this;
+    }
+
+    public long getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    /**
+     * Sets the longest wait before a retry (in milliseconds). A response whose
+     * Retry-After asks for a longer wait is returned without retrying.
+     * Default is 10000.
+     *
+     * @param maxBackoff Backoff in milliseconds
+     * @return RetryPolicy
+     */
+    public RetryPolicy setMaxBackoff(long maxBackoff) {
+        this.maxBackoff = maxBackoff;
+        return this;
+    }
+
+    public Set<Integer> getRetryableStatusCodes() {
+        return retryableStatusCodes;
+    }
+
+    /**
+     * Sets the response status codes that are retried. Default is 429, 502, 503 and 504.
+     *
+     * @param statusCodes HTTP status codes
+     * @return RetryPolicy
+     */
+    public RetryPolicy setRetryableStatusCodes(Integer... statusCodes) {
+        this.retryableStatusCodes = Collections.unmodifiableSet(new HashSet<Integer>(Arrays.asList(statusCodes)));
+        return this;
+    }
+
+    public Set<String> getIdempotencyKeyOperations() {
+        return idempotencyKeyOperations;
+    }
+
+    /**
+     * Sets the operations that are sent with a generated Idempotency-Key
+     * header, kept across the retries of a call, so they can be retried even
+     * though they are not idempotent by method.
+     *
+     * @param operationIds Operation ids, e.g. "createScriptExecution"
+     * @return RetryPolicy
+     */
+    public RetryPolicy setIdempotencyKeyOperations(String... operationIds) {
+        this.idempotencyKeyOperations = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(operationIds)));
+        return this;
+    }
+
+    public double getRetryBudgetRatio() {
+        return retryBudgetRatio;
+    }
+
+    /**
+     * Sets the retries earned by each request. Default is 0.1, i.e. one retry
+     * per ten requests.
+     *
+     * @param retryBudgetRatio Retries per request
+     * @return RetryPolicy
+     */
+    public RetryPolicy setRetryBudgetRatio(double retryBudgetRatio) {
+        this.retryBudgetRatio = retryBudgetRatio;
+        return this;
+    }
+
+    public int getRetryBudget() {
+        return retryBudget;
+    }
+
+    /**
+     * Sets the maximum number of retries the budget can hold, which is also
+     * the initial budget. Default is 10.
+     *
+     * @param retryBudget Number of retries
+     * @return RetryPolicy
+     */
+    public RetryPolicy setRetryBudget(int retryBudget) {
+        this.retryBudget = retryBudget;
+        return this;
+    }
+}
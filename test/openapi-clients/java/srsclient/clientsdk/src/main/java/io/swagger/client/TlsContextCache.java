@@ -0,0 +1,222 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509ExtendedTrustManager;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SSL contexts and socket factories shared by all {@link ApiClient}s, keyed
+ * by their TLS configuration.
+ *
+ * Clients with the same configuration use the same SSL context, so the trust
+ * material is built once and TLS sessions negotiated by one client are
+ * resumed by the others. Key managers are told apart by identity, so the
+ * least recently used contexts are dropped once {@link #MAX_ENTRIES}
+ * configurations were seen, e.g. by clients reconfigured with new key managers.
+ */
+final class TlsContextCache {
+    static final HostnameVerifier TRUST_ALL_HOSTNAMES = new HostnameVerifier() {
+        @Override
+        public boolean verify(String hostname, SSLSession session) { return true; }
+    };
+
+    static final int MAX_ENTRIES = 32;
+
+    // guarded by itself, least recently used first
+    private static final Map<Key, Entry> ENTRIES = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, TlsContextCache.Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private TlsContextCache() {
+    }
+
+    /**
+     * Get the socket factory of the given configuration, creating it on first use.
+     *
+     * @param verifyingSsl False to trust all certificates
+     * @param sslCaCert Encoded trusted CA certificates, null to trust the platform CAs
+     * @param keyManagers Client key managers, may be null
+     * @return The shared socket factory
+     * @throws GeneralSecurityException If the TLS material is invalid
+     */
+    static HandshakeCountingSocketFactory socketFactory(boolean verifyingSsl, byte[] sslCaCert, KeyManager[] keyManagers)
+            throws GeneralSecurityException {
+        return entry(verifyingSsl, sslCaCert, keyManagers).socketFactory;
+    }
+
+    /**
+     * Get the SSL context of the given configuration, creating it on first use.
+     *
+     * @param verifyingSsl False to trust all certificates
+     * @param sslCaCert Encoded trusted CA certificates, null to trust the platform CAs
+     * @param keyManagers Client key managers, may be null
+     * @return The shared SSL context
+     * @throws GeneralSecurityException If the TLS material is invalid
+     */
+    static SSLContext sslContext(boolean verifyingSsl, byte[] sslCaCert, KeyManager[] keyManagers)
+            throws GeneralSecurityException {
+        return entry(verifyingSsl, sslCaCert, keyManagers).sslContext;
+    }
+
+    private static Entry entry(boolean verifyingSsl, byte[] sslCaCert, KeyManager[] keyManagers)
+            throws GeneralSecurityException {
+        if (!verifyingSsl) {
+            sslCaCert = null;
+        }
+        Key key = new Key(verifyingSsl, sslCaCert == null ? null : sha256(sslCaCert), keyManagers);
+        Entry entry;
+        synchronized (ENTRIES) {
+            entry = ENTRIES.get(key);
+        }
+        if (entry != null) {
+            return entry;
+        }
+        // built outside of the lock, parsing the certificates takes a while
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(keyManagers, trustManagers(verifyingSsl, sslCaCert), new SecureRandom());
+        entry = new Entry(sslContext);
+        synchronized (ENTRIES) {
+            Entry existing = ENTRIES.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            ENTRIES.put(key, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * @return Number of configurations whose SSL context is currently held
+     */
+    static int size() {
+        synchronized (ENTRIES) {
+            return ENTRIES.size();
+        }
+    }
+
+    private static TrustManager[] trustManagers(boolean verifyingSsl, byte[] sslCaCert) throws GeneralSecurityException {
+        if (!verifyingSsl) {
+            // an extended trust manager, so the JDK does not check the host name behind its back
+            TrustManager trustAll = new X509ExtendedTrustManager() {
+                @Override
+                public void checkClientTrusted(X509Certificate[] chain, String authType) throws CertificateException {}
+                @Override
+                public void checkServerTrusted(X509Certificate[] chain, String authType) throws CertificateException {}
+                @Override
+                public void checkClientTrusted(X509Certificate[] chain, String authType, Socket socket) throws CertificateException {}
+                @Override
+                public void checkServerTrusted(X509Certificate[] chain, String authType, Socket socket) throws CertificateException {}
+                @Override
+                public void checkClientTrusted(X509Certificate[] chain, String authType, SSLEngine engine) throws CertificateException {}
+                @Override
+                public void checkServerTrusted(X509Certificate[] chain, String authType, SSLEngine engine) throws CertificateException {}
+                @Override
+                public X509Certificate[] getAcceptedIssuers() { return new X509Certificate[0]; }
+            };
+            return new TrustManager[]{ trustAll };
+        }
+        if (sslCaCert == null) {
+            return null;
+        }
+        char[] password = null; // Any password will work.
+        CertificateFactory certificateFactory = CertificateFactory.getInstance("X.509");
+        Collection<? extends Certificate> certificates =
+                certificateFactory.generateCertificates(new ByteArrayInputStream(sslCaCert));
+        if (certificates.isEmpty()) {
+            throw new IllegalArgumentException("expected non-empty set of trusted certificates");
+        }
+        KeyStore caKeyStore = newEmptyKeyStore(password);
+        int index = 0;
+        for (Certificate certificate : certificates) {
+            String certificateAlias = "ca" + Integer.toString(index++);
+            caKeyStore.setCertificateEntry(certificateAlias, certificate);
+        }
+        TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagerFactory.init(caKeyStore);
+        return trustManagerFactory.getTrustManagers();
+    }
+
+    private static KeyStore newEmptyKeyStore(char[] password) throws GeneralSecurityException {
+        try {
+            KeyStore keyStore = KeyStore.getInstance(KeyStore.getDefaultType());
+            keyStore.load(null, password);
+            return keyStore;
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static byte[] sha256(byte[] data) throws GeneralSecurityException {
+        return MessageDigest.getInstance("SHA-256").digest(data);
+    }
+
+    private static class Entry {
+        private final SSLContext sslContext;
+        private final HandshakeCountingSocketFactory socketFactory;
+
+        Entry(SSLContext sslContext) {
+            this.sslContext = sslContext;
+            this.socketFactory = new HandshakeCountingSocketFactory(sslContext.getSocketFactory());
+        }
+    }
+
+    private static class Key {
+        private final boolean verifyingSsl;
+        private final byte[] caCertDigest;
+        // key managers are compared by identity, they cannot be compared by content
+        private final KeyManager[] keyManagers;
+
+        Key(boolean verifyingSsl, byte[] caCertDigest, KeyManager[] keyManagers) {
+            this.verifyingSsl = verifyingSsl;
+            this.caCertDigest = caCertDigest;
+            this.keyManagers = keyManagers;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return verifyingSsl == other.verifyingSsl
+                    && Arrays.equals(caCertDigest, other.caCertDigest)
+                    && keyManagers == other.keyManagers;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * (verifyingSsl ? 1 : 0) + Arrays.hashCode(caCertDigest))
+                    + System.identityHashCode(keyManagers);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+/**
+ * Budget of extra requests, such as retries or hedges, earned by the regular
+ * requests. Starts full.
+ */
+class TokenBucket {
+    private final int capacity;
+    private final double ratio;
+    private double tokens;
+
+    /**
+     * @param capacity Maximum number of tokens
+     * @param ratio Tokens earned per request
+     */
+    TokenBucket(int capacity, double ratio) {
+        this.capacity = capacity;
+        this.ratio = ratio;
+        this.tokens = capacity;
+    }
+
+    synchronized void earn() {
+        tokens = Math.min(capacity, tokens + ratio);
+    }
+
+    synchronized boolean trySpend() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+}
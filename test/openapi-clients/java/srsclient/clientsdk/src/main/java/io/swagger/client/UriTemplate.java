@@ -0,0 +1,183 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Path template such as "/api/runspaces/{id}", parsed once and expanded
+ * without regular expressions.
+ *
+ * Variables are expanded in the order they appear in the template and their
+ * values are percent-encoded the same way as {@link ApiClient#escapeString(String)}.
+ */
+public class UriTemplate {
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private final String template;
+    // literals[i] precedes the i-th variable, the last literal follows the last variable
+    private final String[] literals;
+    private final String[] variables;
+    private final int literalLength;
+
+    private UriTemplate(String template, String[] literals, String[] variables) {
+        this.template = template;
+        this.literals = literals;
+        this.variables = variables;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Parse the given template.
+     *
+     * @param template Path template, e.g. "/api/runspaces/{id}"
+     * @return The parsed template
+     * @throws IllegalArgumentException If a variable is not closed
+     */
+    public static UriTemplate compile(String template) {
+        List<String> literals = new ArrayList<String>();
+        List<String> variables = new ArrayList<String>();
+        int start = 0;
+        int open;
+        while ((open = template.indexOf('{', start)) >= 0) {
+            int close = template.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed variable in URI template: " + template);
+            }
+            literals.add(template.substring(start, open));
+            variables.add(template.substring(open + 1, close));
+            start = close + 1;
+        }
+        literals.add(template.substring(start));
+        return new UriTemplate(
+                template,
+                literals.toArray(new String[literals.size()]),
+                variables.toArray(new String[variables.size()]));
+    }
+
+    /**
+     * Get the names of the variables in the order they are expanded.
+     *
+     * @return Variable names
+     */
+    public String[] getVariables() {
+        return variables.clone();
+    }
+
+    /**
+     * Expand the template with the given variable values.
+     *
+     * @param values Values of the variables in the order they appear in the template
+     * @return The expanded path
+     * @throws IllegalArgumentException If the number of values does not match the variables
+     */
+    public String expand(String... values) {
+        if (values.length != variables.length) {
+            throw new IllegalArgumentException("URI template " + template + " expects " +
+                    variables.length + " values but got " + values.length);
+        }
+        if (variables.length == 0) {
+            return template;
+        }
+        int capacity = literalLength;
+        for (String value : values) {
+            capacity += value.length();
+        }
+        StringBuilder path = new StringBuilder(capacity + 16);
+        for (int i = 0; i < variables.length; i++) {
+            path.append(literals[i]);
+            encode(values[i], path);
+        }
+        return path.append(literals[variables.length]).toString();
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+
+    /**
+     * Percent-encode the given value as {@link java.net.URLEncoder} does with
+     * UTF-8, except that spaces become "%20".
+     *
+     * @param value The value to encode
+     * @return The encoded value, the value itself if nothing needs encoding
+     */
+    public static String encode(String value) {
+        int i = firstUnsafe(value);
+        if (i == value.length()) {
+            return value;
+        }
+        StringBuilder encoded = new StringBuilder(value.length() + 16);
+        encoded.append(value, 0, i);
+        encodeFrom(value, i, encoded);
+        return encoded.toString();
+    }
+
+    /**
+     * Percent-encode the given value into the given builder.
+     *
+     * @param value The value to encode
+     * @param out Builder the encoded value is appended to
+     * @see #encode(String)
+     */
+    public static void encode(String value, StringBuilder out) {
+        int i = firstUnsafe(value);
+        out.append(value, 0, i);
+        encodeFrom(value, i, out);
+    }
+
+    private static int firstUnsafe(String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            if (!isUnreserved(value.charAt(i))) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    private static void encodeFrom(String value, int start, StringBuilder out) {
+        int length = value.length();
+        for (int i = start; i < length; i++) {
+            char c = value.charAt(i);
+            if (isUnreserved(c)) {
+                out.append(c);
+            } else if (c < 0x80) {
+                appendByte(c, out);
+            } else if (c < 0x800) {
+                appendByte(0xC0 | (c >> 6), out);
+                appendByte(0x80 | (c & 0x3F), out);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                appendByte(0xF0 | (codePoint >> 18), out);
+                appendByte(0x80 | ((codePoint >> 12) & 0x3F), out);
+                appendByte(0x80 | ((codePoint >> 6) & 0x3F), out);
+                appendByte(0x80 | (codePoint & 0x3F), out);
+            } else if (Character.isSurrogate(c)) {
+                // unpaired surrogates are replaced like the UTF-8 encoder does
+                appendByte('?', out);
+            } else {
+                appendByte(0xE0 | (c >> 12), out);
+                appendByte(0x80 | ((c >> 6) & 0x3F), out);
+                appendByte(0x80 | (c & 0x3F), out);
+            }
+        }
+    }
+
+    private static boolean isUnreserved(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '_' || c == '.' || c == '*';
+    }
+
+    private static void appendByte(int b, StringBuilder out) {
+        out.append('%').append(HEX_DIGITS[(b >> 4) & 0xF]).append(HEX_DIGITS[b & 0xF]);
+    }
+}
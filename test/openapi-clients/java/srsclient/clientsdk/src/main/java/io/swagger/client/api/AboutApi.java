@@ -17,9 +17,11 @@ import io.swagger.client.ApiClient;
 import io.swagger.client.ApiException;
 import io.swagger.client.ApiResponse;
 import io.swagger.client.Configuration;
+import io.swagger.client.MediaTypes;
 import io.swagger.client.Pair;
 import io.swagger.client.ProgressRequestBody;
 import io.swagger.client.ProgressResponseBody;
+import io.swagger.client.UriTemplate;
 
 import com.google.gson.reflect.TypeToken;
 
@@ -35,6 +37,10 @@ import java.util.List;
 import java.util.Map;
 
 public class AboutApi {
+    private static final UriTemplate GET_ABOUT_PATH = UriTemplate.compile("/api/about");
+    private static final String GET_ABOUT_ACCEPT = MediaTypes.selectHeaderAccept(new String[] { "application/json" });
+    private static final String GET_ABOUT_CONTENT_TYPE = MediaTypes.selectHeaderContentType(new String[0]);
+
     private ApiClient apiClient;
 
     public AboutApi() {
@@ -64,41 +70,21 @@ public class AboutApi {
         Object localVarPostBody = null;
         
         // create path and map variables
-        String localVarPath = "/api/about";
+        String localVarPath = GET_ABOUT_PATH.expand();
 
-        List<Pair> localVarQueryParams = new ArrayList<Pair>();
-        List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
+        // the operation has no query or form parameters
+        List<Pair> localVarQueryParams = null;
+        List<Pair> localVarCollectionQueryParams = null;
 
         Map<String, String> localVarHeaderParams = new HashMap<String, String>();
 
-        Map<String, Object> localVarFormParams = new HashMap<String, Object>();
-
-        final String[] localVarAccepts = {
-            "application/json"
-        };
-        final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        if (localVarAccept != null) localVarHeaderParams.put("Accept", localVarAccept);
-
-        final String[] localVarContentTypes = {
-            
-        };
-        final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-        localVarHeaderParams.put("Content-Type", localVarContentType);
+        Map<String, Object> localVarFormParams = null;
 
-        if(progressListener != null) {
-            apiClient.getHttpClient().networkInterceptors().add(new com.squareup.okhttp.Interceptor() {
-                @Override
-                public com.squareup.okhttp.Response intercept(com.squareup.okhttp.Interceptor.Chain chain) throws IOException {
-                    com.squareup.okhttp.Response originalResponse = chain.proceed(chain.request());
-                    return originalResponse.newBuilder()
-                    .body(new ProgressResponseBody(originalResponse.body(), progressListener))
-                    .build();
-                }
-            });
-        }
+        if (GET_ABOUT_ACCEPT != null) localVarHeaderParams.put("Accept", GET_ABOUT_ACCEPT);
+        localVarHeaderParams.put("Content-Type", GET_ABOUT_CONTENT_TYPE);
 
         String[] localVarAuthNames = new String[] { "apiKeyAuth", "basicAuth", "signAuth" };
-        return apiClient.buildCall(localVarPath, "GET", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressRequestListener);
+        return apiClient.buildCall("getAbout", localVarPath, "GET", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressListener, progressRequestListener);
     }
     
     @SuppressWarnings("rawtypes")
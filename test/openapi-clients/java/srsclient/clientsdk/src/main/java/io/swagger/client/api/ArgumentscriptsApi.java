@@ -17,9 +17,11 @@ import io.swagger.client.ApiClient;
 import io.swagger.client.ApiException;
 import io.swagger.client.ApiResponse;
 import io.swagger.client.Configuration;
+import io.swagger.client.MediaTypes;
 import io.swagger.client.Pair;
 import io.swagger.client.ProgressRequestBody;
 import io.swagger.client.ProgressResponseBody;
+import io.swagger.client.UriTemplate;
 
 import com.google.gson.reflect.TypeToken;
 
@@ -37,6 +39,18 @@ import java.util.List;
 import java.util.Map;
 
 public class ArgumentscriptsApi {
+    private static final UriTemplate CREATE_ARGUMENT_SCRIPTS_SCRIPT_PATH = UriTemplate.compile("/api/argument-scripts/script");
+    private static final String CREATE_ARGUMENT_SCRIPTS_SCRIPT_ACCEPT = MediaTypes.selectHeaderAccept(new String[] { "application/json" });
+    private static final String CREATE_ARGUMENT_SCRIPTS_SCRIPT_CONTENT_TYPE = MediaTypes.selectHeaderContentType(new String[] { "application/json" });
+
+    private static final UriTemplate GET_ARGUMENT_SCRIPTS_TEMPLATE_PATH = UriTemplate.compile("/api/argument-scripts/templates/{id}");
+    private static final String GET_ARGUMENT_SCRIPTS_TEMPLATE_ACCEPT = MediaTypes.selectHeaderAccept(new String[] { "application/json" });
+    private static final String GET_ARGUMENT_SCRIPTS_TEMPLATE_CONTENT_TYPE = MediaTypes.selectHeaderContentType(new String[0]);
+
+    private static final UriTemplate LIST_ARGUMENT_SCRIPTS_TEMPLATES_PATH = UriTemplate.compile("/api/argument-scripts/templates");
+    private static final String LIST_ARGUMENT_SCRIPTS_TEMPLATES_ACCEPT = MediaTypes.selectHeaderAccept(new String[] { "application/json" });
+    private static final String LIST_ARGUMENT_SCRIPTS_TEMPLATES_CONTENT_TYPE = MediaTypes.selectHeaderContentType(new String[0]);
+
     private ApiClient apiClient;
 
     public ArgumentscriptsApi() {
@@ -67,41 +81,21 @@ public class ArgumentscriptsApi {
         Object localVarPostBody = body;
         
         // create path and map variables
-        String localVarPath = "/api/argument-scripts/script";
+        String localVarPath = CREATE_ARGUMENT_SCRIPTS_SCRIPT_PATH.expand();
 
-        List<Pair> localVarQueryParams = new ArrayList<Pair>();
-        List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
+        // the operation has no query or form parameters
+        List<Pair> localVarQueryParams = null;
+        List<Pair> localVarCollectionQueryParams = null;
 
         Map<String, String> localVarHeaderParams = new HashMap<String, String>();
 
-        Map<String, Object> localVarFormParams = new HashMap<String, Object>();
+        Map<String, Object> localVarFormParams = null;
 
-        final String[] localVarAccepts = {
-            "application/json"
-        };
-        final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        if (localVarAccept != null) localVarHeaderParams.put("Accept", localVarAccept);
-
-        final String[] localVarContentTypes = {
-            "application/json"
-        };
-        final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-        localVarHeaderParams.put("Content-Type", localVarContentType);
-
-        if(progressListener != null) {
-            apiClient.getHttpClient().networkInterceptors().add(new com.squareup.okhttp.Interceptor() {
-                @Override
-                public com.squareup.okhttp.Response intercept(com.squareup.okhttp.Interceptor.Chain chain) throws IOException {
-                    com.squareup.okhttp.Response originalResponse = chain.proceed(chain.request());
-                    return originalResponse.newBuilder()
-                    .body(new ProgressResponseBody(originalResponse.body(), progressListener))
-                    .build();
-                }
-            });
-        }
+        if (CREATE_ARGUMENT_SCRIPTS_SCRIPT_ACCEPT != null) localVarHeaderParams.put("Accept", CREATE_ARGUMENT_SCRIPTS_SCRIPT_ACCEPT);
+        localVarHeaderParams.put("Content-Type", CREATE_ARGUMENT_SCRIPTS_SCRIPT_CONTENT_TYPE);
 
         String[] localVarAuthNames = new String[] { "apiKeyAuth" };
-        return apiClient.buildCall(localVarPath, "POST", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressRequestListener);
+        return apiClient.buildCall("createArgumentScriptsScript", localVarPath, "POST", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressListener, progressRequestListener);
     }
     
     @SuppressWarnings("rawtypes")
@@ -187,42 +181,21 @@ public class ArgumentscriptsApi {
         Object localVarPostBody = null;
         
         // create path and map variables
-        String localVarPath = "/api/argument-scripts/templates/{id}"
-            .replaceAll("\\{" + "id" + "\\}", apiClient.escapeString(id.toString()));
+        String localVarPath = GET_ARGUMENT_SCRIPTS_TEMPLATE_PATH.expand(id.toString());
 
-        List<Pair> localVarQueryParams = new ArrayList<Pair>();
-        List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
+        // the operation has no query or form parameters
+        List<Pair> localVarQueryParams = null;
+        List<Pair> localVarCollectionQueryParams = null;
 
         Map<String, String> localVarHeaderParams = new HashMap<String, String>();
 
-        Map<String, Object> localVarFormParams = new HashMap<String, Object>();
-
-        final String[] localVarAccepts = {
-            "application/json"
-        };
-        final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        if (localVarAccept != null) localVarHeaderParams.put("Accept", localVarAccept);
+        Map<String, Object> localVarFormParams = null;
 
-        final String[] localVarContentTypes = {
-            
-        };
-        final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-        localVarHeaderParams.put("Content-Type", localVarContentType);
-
-        if(progressListener != null) {
-            apiClient.getHttpClient().networkInterceptors().add(new com.squareup.okhttp.Interceptor() {
-                @Override
-                public com.squareup.okhttp.Response intercept(com.squareup.okhttp.Interceptor.Chain chain) throws IOException {
-                    com.squareup.okhttp.Response originalResponse = chain.proceed(chain.request());
-                    return originalResponse.newBuilder()
-                    .body(new ProgressResponseBody(originalResponse.body(), progressListener))
-                    .build();
-                }
-            });
-        }
+        if (GET_ARGUMENT_SCRIPTS_TEMPLATE_ACCEPT != null) localVarHeaderParams.put("Accept", GET_ARGUMENT_SCRIPTS_TEMPLATE_ACCEPT);
+        localVarHeaderParams.put("Content-Type", GET_ARGUMENT_SCRIPTS_TEMPLATE_CONTENT_TYPE);
 
         String[] localVarAuthNames = new String[] { "apiKeyAuth" };
-        return apiClient.buildCall(localVarPath, "GET", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressRequestListener);
+        return apiClient.buildCall("getArgumentScriptsTemplate", localVarPath, "GET", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressListener, progressRequestListener);
     }
     
     @SuppressWarnings("rawtypes")
@@ -311,41 +284,21 @@ public class ArgumentscriptsApi {
         Object localVarPostBody = null;
         
         // create path and map variables
-        String localVarPath = "/api/argument-scripts/templates";
+        String localVarPath = LIST_ARGUMENT_SCRIPTS_TEMPLATES_PATH.expand();
 
-        List<Pair> localVarQueryParams = new ArrayList<Pair>();
-        List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
+        // the operation has no query or form parameters
+        List<Pair> localVarQueryParams = null;
+        List<Pair> localVarCollectionQueryParams = null;
 
         Map<String, String> localVarHeaderParams = new HashMap<String, String>();
 
-        Map<String, Object> localVarFormParams = new HashMap<String, Object>();
-
-        final String[] localVarAccepts = {
-            "application/json"
-        };
-        final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        if (localVarAccept != null) localVarHeaderParams.put("Accept", localVarAccept);
+        Map<String, Object> localVarFormParams = null;
 
-        final String[] localVarContentTypes = {
-            
-        };
-        final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-        localVarHeaderParams.put("Content-Type", localVarContentType);
-
-        if(progressListener != null) {
-            apiClient.getHttpClient().networkInterceptors().add(new com.squareup.okhttp.Interceptor() {
-                @Override
-                public com.squareup.okhttp.Response intercept(com.squareup.okhttp.Interceptor.Chain chain) throws IOException {
-                    com.squareup.okhttp.Response originalResponse = chain.proceed(chain.request());
-                    return originalResponse.newBuilder()
-                    .body(new ProgressResponseBody(originalResponse.body(), progressListener))
-                    .build();
-                }
-            });
-        }
+        if (LIST_ARGUMENT_SCRIPTS_TEMPLATES_ACCEPT != null) localVarHeaderParams.put("Accept", LIST_ARGUMENT_SCRIPTS_TEMPLATES_ACCEPT);
+        localVarHeaderParams.put("Content-Type", LIST_ARGUMENT_SCRIPTS_TEMPLATES_CONTENT_TYPE);
 
         String[] localVarAuthNames = new String[] { "apiKeyAuth" };
-        return apiClient.buildCall(localVarPath, "GET", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressRequestListener);
+        return apiClient.buildCall("listArgumentScriptsTemplates", localVarPath, "GET", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressListener, progressRequestListener);
     }
     
     @SuppressWarnings("rawtypes")
@@ -17,9 +17,11 @@ import io.swagger.client.ApiClient;
 import io.swagger.client.ApiException;
 import io.swagger.client.ApiResponse;
 import io.swagger.client.Configuration;
+import io.swagger.client.MediaTypes;
 import io.swagger.client.Pair;
 import io.swagger.client.ProgressRequestBody;
 import io.swagger.client.ProgressResponseBody;
+import io.swagger.client.UriTemplate;
 
 import com.google.gson.reflect.TypeToken;
 
@@ -35,6 +37,14 @@ import java.util.List;
 import java.util.Map;
 
 public class AuthenticationApi {
+    private static final UriTemplate LOGIN_PATH = UriTemplate.compile("/api/auth/login");
+    private static final String LOGIN_ACCEPT = MediaTypes.selectHeaderAccept(new String[] { "application/json" });
+    private static final String LOGIN_CONTENT_TYPE = MediaTypes.selectHeaderContentType(new String[0]);
+
+    private static final UriTemplate LOGOUT_PATH = UriTemplate.compile("/api/auth/logout");
+    private static final String LOGOUT_ACCEPT = MediaTypes.selectHeaderAccept(new String[] { "application/json" });
+    private static final String LOGOUT_CONTENT_TYPE = MediaTypes.selectHeaderContentType(new String[0]);
+
     private ApiClient apiClient;
 
     public AuthenticationApi() {
@@ -64,41 +74,21 @@ public class AuthenticationApi {
         Object localVarPostBody = null;
         
         // create path and map variables
-        String localVarPath = "/api/auth/login";
+        String localVarPath = LOGIN_PATH.expand();
 
-        List<Pair> localVarQueryParams = new ArrayList<Pair>();
-        List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
+        // the operation has no query or form parameters
+        List<Pair> localVarQueryParams = null;
+        List<Pair> localVarCollectionQueryParams = null;
 
         Map<String, String> localVarHeaderParams = new HashMap<String, String>();
 
-        Map<String, Object> localVarFormParams = new HashMap<String, Object>();
-
-        final String[] localVarAccepts = {
-            "application/json"
-        };
-        final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        if (localVarAccept != null) localVarHeaderParams.put("Accept", localVarAccept);
+        Map<String, Object> localVarFormParams = null;
 
-        final String[] localVarContentTypes = {
-            
-        };
-        final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-        localVarHeaderParams.put("Content-Type", localVarContentType);
-
-        if(progressListener != null) {
-            apiClient.getHttpClient().networkInterceptors().add(new com.squareup.okhttp.Interceptor() {
-                @Override
-                public com.squareup.okhttp.Response intercept(com.squareup.okhttp.Interceptor.Chain chain) throws IOException {
-                    com.squareup.okhttp.Response originalResponse = chain.proceed(chain.request());
-                    return originalResponse.newBuilder()
-                    .body(new ProgressResponseBody(originalResponse.body(), progressListener))
-                    .build();
-                }
-            });
-        }
+        if (LOGIN_ACCEPT != null) localVarHeaderParams.put("Accept", LOGIN_ACCEPT);
+        localVarHeaderParams.put("Content-Type", LOGIN_CONTENT_TYPE);
 
         String[] localVarAuthNames = new String[] { "basicAuth", "signAuth" };
-        return apiClient.buildCall(localVarPath, "POST", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressRequestListener);
+        return apiClient.buildCall("login", localVarPath, "POST", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressListener, progressRequestListener);
     }
     
     @SuppressWarnings("rawtypes")
@@ -176,41 +166,21 @@ public class AuthenticationApi {
         Object localVarPostBody = null;
         
         // create path and map variables
-        String localVarPath = "/api/auth/logout";
+        String localVarPath = LOGOUT_PATH.expand();
 
-        List<Pair> localVarQueryParams = new ArrayList<Pair>();
-        List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
+        // the operation has no query or form parameters
+        List<Pair> localVarQueryParams = null;
+        List<Pair> localVarCollectionQueryParams = null;
 
         Map<String, String> localVarHeaderParams = new HashMap<String, String>();
 
-        Map<String, Object> localVarFormParams = new HashMap<String, Object>();
-
-        final String[] localVarAccepts = {
-            "application/json"
-        };
-        final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        if (localVarAccept != null) localVarHeaderParams.put("Accept", localVarAccept);
-
-        final String[] localVarContentTypes = {
-            
-        };
-        final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-        localVarHeaderParams.put("Content-Type", localVarContentType);
+        Map<String, Object> localVarFormParams = null;
 
-        if(progressListener != null) {
-            apiClient.getHttpClient().networkInterceptors().add(new com.squareup.okhttp.Interceptor() {
-                @Override
-                public com.squareup.okhttp.Response intercept(com.squareup.okhttp.Interceptor.Chain chain) throws IOException {
-                    com.squareup.okhttp.Response originalResponse = chain.proceed(chain.request());
-                    return originalResponse.newBuilder()
-                    .body(new ProgressResponseBody(originalResponse.body(), progressListener))
-                    .build();
-                }
-            });
-        }
+        if (LOGOUT_ACCEPT != null) localVarHeaderParams.put("Accept", LOGOUT_ACCEPT);
+        localVarHeaderParams.put("Content-Type", LOGOUT_CONTENT_TYPE);
 
         String[] localVarAuthNames = new String[] { "apiKeyAuth" };
-        return apiClient.buildCall(localVarPath, "POST", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressRequestListener);
+        return apiClient.buildCall("logout", localVarPath, "POST", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressListener, progressRequestListener);
     }
     
     @SuppressWarnings("rawtypes")
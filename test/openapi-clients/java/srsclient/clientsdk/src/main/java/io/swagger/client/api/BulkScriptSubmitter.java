@@ -0,0 +1,107 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client.api;
+
+import io.swagger.client.ApiClient;
+import io.swagger.client.model.ScriptExecution;
+
+import java.util.Iterator;
+
+/**
+ * Creates large batches of script executions with a bounded number of
+ * requests in flight.
+ *
+ * The requests are read lazily: the next one is taken only once fewer than
+ * {@link #getMaxInFlight()} submissions are in flight, so a batch generated
+ * on the fly is never held in memory and a slow server holds the reader
+ * back. Each request gets a future of its created script execution, and
+ * the batch reports its throughput and latency percentiles. The dispatcher
+ * limits of the API client apply on top, see
+ * {@link ApiClient#setMaxRequestsPerHost(int)}.
+ *
+ * On Java 11 and later, {@code FlowScriptSubmitter} submits a Stream or a
+ * Flow.Publisher of requests.
+ */
+public class BulkScriptSubmitter {
+    private final ScriptexecutionsApi api;
+    private volatile int maxInFlight = 16;
+
+    /**
+     * @param apiClient API client to create the script executions with
+     */
+    public BulkScriptSubmitter(ApiClient apiClient) {
+        this.api = new ScriptexecutionsApi(apiClient);
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Sets the most submissions in flight at once in a batch. Default is 16.
+     *
+     * @param maxInFlight Number of submissions
+     * @return BulkScriptSubmitter
+     */
+    public BulkScriptSubmitter setMaxInFlight(int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be at least 1");
+        }
+        this.maxInFlight = maxInFlight;
+        return this;
+    }
+
+    /**
+     * Create a script execution for each request, reading the requests on a
+     * background thread.
+     *
+     * @param requests The script executions to create
+     * @return The batch, to wait on and to get the futures and statistics of
+     */
+    public BulkSubmission submit(final Iterable<? extends ScriptExecution> requests) {
+        final BulkSubmission submission = start();
+        Thread feeder = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                feed(submission, requests);
+            }
+        }, "BulkScriptSubmitter");
+        feeder.setDaemon(true);
+        feeder.start();
+        return submission;
+    }
+
+    /**
+     * @return A batch to feed requests to
+     */
+    BulkSubmission start() {
+        return new BulkSubmission(api, maxInFlight);
+    }
+
+    private void feed(final BulkSubmission submission, Iterable<? extends ScriptExecution> requests) {
+        Runnable release = new Runnable() {
+            @Override
+            public void run() {
+                submission.permits.release();
+            }
+        };
+        try {
+            Iterator<? extends ScriptExecution> iterator = requests.iterator();
+            while (!submission.isCanceled()) {
+                // the next request is taken only once it can be sent
+                submission.permits.acquire();
+                if (submission.isCanceled() || !iterator.hasNext()) {
+                    break;
+                }
+                submission.submit(iterator.next(), release);
+            }
+            submission.fed(null);
+        } catch (InterruptedException e) {
+            submission.fed(e);
+        } catch (RuntimeException e) {
+            submission.fed(e);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client.api;
+
+import io.swagger.client.ApiCallback;
+import io.swagger.client.ApiException;
+import io.swagger.client.model.ScriptExecution;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A batch of script executions being created by a {@link BulkScriptSubmitter}.
+ *
+ * The futures complete as the script executions are created, not when they
+ * finish running; follow them with
+ * {@link ScriptexecutionsApi#awaitCompletion(String, io.swagger.client.Deadline)}
+ * or a {@link ScriptExecutionPoller}.
+ */
+public class BulkSubmission {
+    private final ScriptexecutionsApi api;
+    private final long startNanos = System.nanoTime();
+    private final CountDownLatch done = new CountDownLatch(1);
+    final Semaphore permits;
+
+    // guarded by this, in the order submitted
+    private final List<Future<ScriptExecution>> futures = new ArrayList<Future<ScriptExecution>>();
+    private long[] latencyNanos = new long[16];
+    private int succeeded;
+    private int failed;
+    private int pending;
+    private boolean feeding = true;
+    private long endNanos;
+    private Throwable feedFailure;
+    private volatile boolean canceled;
+
+    BulkSubmission(ScriptexecutionsApi api, int maxInFlight) {
+        this.api = api;
+        this.permits = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * @return Futures of the script executions submitted so far, in the order of the requests
+     */
+    public synchronized List<Future<ScriptExecution>> getFutures() {
+        return new ArrayList<Future<ScriptExecution>>(futures);
+    }
+
+    /**
+     * Stop taking requests. The submissions in flight still complete.
+     */
+    public void cancel() {
+        canceled = true;
+    }
+
+    public boolean isCanceled() {
+        return canceled;
+    }
+
+    /**
+     * Wait until every request taken has been submitted and completed.
+     *
+     * @throws ApiException If the requests could not be read
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public void await() throws ApiException, InterruptedException {
+        done.await();
+        checkFeed();
+    }
+
+    /**
+     * Wait until every request taken has been submitted and completed.
+     *
+     * @param timeout Longest time to wait
+     * @param unit Unit of the timeout
+     * @return Whether the batch completed in time
+     * @throws ApiException If the requests could not be read
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public boolean await(long timeout, TimeUnit unit) throws ApiException, InterruptedException {
+        if (!done.await(timeout, unit)) {
+            return false;
+        }
+        checkFeed();
+        return true;
+    }
+
+    /**
+     * @return Snapshot of the counts, throughput and latencies of the batch
+     */
+    public synchronized BulkSubmissionStats getStats() {
+        long end = done.getCount() == 0 ? endNanos : System.nanoTime();
+        long[] sorted = Arrays.copyOf(latencyNanos, succeeded + failed);
+        Arrays.sort(sorted);
+        return new BulkSubmissionStats(futures.size(), succeeded, failed, end - startNanos, sorted);
+    }
+
+    /**
+     * Create a script execution. The caller holds one of the permits.
+     *
+     * @param request The script execution to create
+     * @param onDone Invoked once the submission completed, e.g. to give the permit back
+     * @return Future of the created script execution
+     */
+    Future<ScriptExecution> submit(ScriptExecution request, final Runnable onDone) {
+        final ResultFuture<ScriptExecution> future = new ResultFuture<ScriptExecution>();
+        synchronized (this) {
+            futures.add(future);
+            pending++;
+        }
+        final long start = System.nanoTime();
+        try {
+            api.createScriptExecutionAsync(request, new ApiCallback<ScriptExecution>() {
+                @Override
+                public void onFailure(ApiException e, int statusCode, Map<String, List<String>> responseHeaders) {
+                    future.fail(e);
+                    finished(start, false, onDone);
+                }
+
+                @Override
+                public void onSuccess(ScriptExecution result, int statusCode, Map<String, List<String>> responseHeaders) {
+                    future.complete(result);
+                    finished(start, true, onDone);
+                }
+
+                @Override
+                public void onUploadProgress(long bytesWritten, long contentLength, boolean done) {
+                }
+
+                @Override
+                public void onDownloadProgress(long bytesRead, long contentLength, boolean done) {
+                }
+            });
+        } catch (ApiException e) {
+            future.fail(e);
+            finished(start, false, onDone);
+        }
+        return future;
+    }
+
+    /**
+     * No more requests will be submitted.
+     *
+     * @param failure Why the requests could not be read to the end, null if they were
+     */
+    void fed(Throwable failure) {
+        synchronized (this) {
+            feeding = false;
+            feedFailure = failure;
+            checkDone();
+        }
+    }
+
+    private void finished(long start, boolean ok, Runnable onDone) {
+        long latency = System.nanoTime() - start;
+        synchronized (this) {
+            int completed = succeeded + failed;
+            if (completed == latencyNanos.length) {
+                latencyNanos = Arrays.copyOf(latencyNanos, completed * 2);
+            }
+            latencyNanos[completed] = latency;
+            if (ok) {
+                succeeded++;
+            } else {
+                failed++;
+            }
+            pending--;
+        }
+        // before the batch completes, so the permit is back when await returns
+        onDone.run();
+        synchronized (this) {
+            checkDone();
+        }
+    }
+
+    // lock held
+    private void checkDone() {
+        if (!feeding && pending == 0 && done.getCount() != 0) {
+            endNanos = System.nanoTime();
+            done.countDown();
+        }
+    }
+
+    private synchronized void checkFeed() throws ApiException {
+        if (feedFailure != null) {
+            throw new ApiException(feedFailure);
+        }
+    }
+}
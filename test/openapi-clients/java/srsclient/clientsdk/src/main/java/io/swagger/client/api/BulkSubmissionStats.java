@@ -0,0 +1,100 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client.api;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point-in-time snapshot of a {@link BulkSubmission}.
+ *
+ * @see BulkSubmission#getStats()
+ */
+public class BulkSubmissionStats {
+    private final int submitted;
+    private final int succeeded;
+    private final int failed;
+    private final long elapsedNanos;
+    // of the completed submissions, ascending
+    private final long[] latencyNanos;
+
+    BulkSubmissionStats(int submitted, int succeeded, int failed, long elapsedNanos, long[] latencyNanos) {
+        this.submitted = submitted;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.elapsedNanos = elapsedNanos;
+        this.latencyNanos = latencyNanos;
+    }
+
+    /**
+     * @return Number of script executions submitted
+     */
+    public int getSubmitted() {
+        return submitted;
+    }
+
+    /**
+     * @return Number of script executions created
+     */
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    /**
+     * @return Number of script executions that could not be created
+     */
+    public int getFailed() {
+        return failed;
+    }
+
+    /**
+     * @return Number of submissions in flight
+     */
+    public int getInFlight() {
+        return submitted - succeeded - failed;
+    }
+
+    /**
+     * @param unit Unit of the result
+     * @return Time from the start of the batch until it completed, or until now
+     */
+    public long getElapsed(TimeUnit unit) {
+        return unit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return Completed submissions per second
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : (succeeded + failed) * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * @param percentile Percentile between 0 and 1, e.g. 0.99
+     * @param unit Unit of the result
+     * @return Latency of the completed submissions at the percentile, 0 if none completed
+     */
+    public long getLatencyPercentile(double percentile, TimeUnit unit) {
+        if (percentile < 0 || percentile > 1) {
+            throw new IllegalArgumentException("percentile must be between 0 and 1");
+        }
+        if (latencyNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * latencyNanos.length) - 1;
+        return unit.convert(latencyNanos[Math.max(0, index)], TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "BulkSubmissionStats {submitted=" + submitted +
+                ", succeeded=" + succeeded +
+                ", failed=" + failed +
+                ", elapsedMillis=" + getElapsed(TimeUnit.MILLISECONDS) +
+                ", throughput=" + String.format("%.1f", getThroughput()) +
+                ", p50Millis=" + getLatencyPercentile(0.5, TimeUnit.MILLISECONDS) +
+                ", p90Millis=" + getLatencyPercentile(0.9, TimeUnit.MILLISECONDS) +
+                ", p99Millis=" + getLatencyPercentile(0.99, TimeUnit.MILLISECONDS) + "}";
+    }
+}
@@ -0,0 +1,35 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client.api;
+
+import io.swagger.client.ApiException;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Future completed from an API callback.
+ */
+class ResultFuture<T> extends FutureTask<T> {
+    private static final Callable<Object> NONE = new Callable<Object>() {
+        @Override
+        public Object call() {
+            return null;
+        }
+    };
+
+    @SuppressWarnings("unchecked")
+    ResultFuture() {
+        super((Callable<T>) NONE);
+    }
+
+    void complete(T result) {
+        set(result);
+    }
+
+    void fail(ApiException e) {
+        setException(e);
+    }
+}
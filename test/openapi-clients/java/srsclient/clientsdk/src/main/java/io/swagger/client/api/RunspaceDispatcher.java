@@ -0,0 +1,278 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client.api;
+
+import io.swagger.client.ApiCallback;
+import io.swagger.client.ApiClient;
+import io.swagger.client.ApiException;
+import io.swagger.client.model.ScriptExecution;
+import io.swagger.client.model.ScriptExecutionState;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+/**
+ * Places script executions on the least loaded of a set of runspaces.
+ *
+ * The dispatcher counts the executions it has in flight on each runspace
+ * and creates each new one on the runspace with the fewest, at most
+ * {@link #getMaxConcurrency()} per runspace. Executions that find every
+ * runspace at its cap wait in a queue, in the order submitted. Executions
+ * are followed to completion with a {@link ScriptExecutionPoller}; one that
+ * is no longer found fails its submission and frees its runspace slot.
+ */
+public class RunspaceDispatcher {
+
+    private static class Load {
+        private int inFlight;
+        private long placements;
+        private boolean removed;
+    }
+
+    private static class Submission extends ResultFuture<ScriptExecution> {
+        private final ScriptExecution request;
+
+        Submission(ScriptExecution request) {
+            this.request = request;
+        }
+    }
+
+    private final ScriptexecutionsApi api;
+    private final ScriptExecutionPoller poller;
+    // guarded by this, in the order the runspaces were added
+    private final Map<String, Load> loads = new LinkedHashMap<String, Load>();
+    private final Deque<Submission> queue = new ArrayDeque<Submission>();
+    private long queued;
+    private int maxQueueDepth;
+    private volatile int maxConcurrency = 1;
+
+    /**
+     * @param apiClient API client to create the script executions with
+     * @param poller Poller following the script executions to completion
+     */
+    public RunspaceDispatcher(ApiClient apiClient, ScriptExecutionPoller poller) {
+        this.api = new ScriptexecutionsApi(apiClient);
+        this.poller = poller;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Sets the most script executions in flight on one runspace. Default is 1.
+     *
+     * @param maxConcurrency Number of script executions
+     * @return RunspaceDispatcher
+     */
+    public RunspaceDispatcher setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+        drain();
+        return this;
+    }
+
+    /**
+     * Start placing script executions on a runspace, e.g. one leased from a
+     * {@link RunspacePool}.
+     *
+     * @param runspaceId Unique identifier of the runspace
+     */
+    public void addRunspace(String runspaceId) {
+        synchronized (this) {
+            Load load = loads.get(runspaceId);
+            if (load == null) {
+                loads.put(runspaceId, new Load());
+            } else {
+                load.removed = false;
+            }
+        }
+        drain();
+    }
+
+    /**
+     * Stop placing script executions on a runspace. The ones in flight on it
+     * are still followed.
+     *
+     * @param runspaceId Unique identifier of the runspace
+     */
+    public synchronized void removeRunspace(String runspaceId) {
+        Load load = loads.get(runspaceId);
+        if (load == null) {
+            return;
+        }
+        if (load.inFlight == 0) {
+            loads.remove(runspaceId);
+        } else {
+            load.removed = true;
+        }
+    }
+
+    /**
+     * Create a script execution on the least loaded runspace, once one is
+     * below its cap. The runspace id of the request is set accordingly.
+     * Canceling the future of a submission still in the queue withdraws it.
+     *
+     * @param request The script execution to create
+     * @return Future of the script execution once it is no longer running
+     */
+    public Future<ScriptExecution> submit(ScriptExecution request) {
+        Submission submission = new Submission(request);
+        synchronized (this) {
+            queue.add(submission);
+        }
+        drain();
+        synchronized (this) {
+            if (queue.contains(submission)) {
+                queued++;
+            }
+        }
+        return submission;
+    }
+
+    /**
+     * @return Number of submissions waiting for a runspace
+     */
+    public synchronized int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * @return Most submissions that waited for a runspace at once
+     */
+    public synchronized int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    /**
+     * @return Number of submissions that had to wait for a runspace
+     */
+    public synchronized long getQueuedSubmissions() {
+        return queued;
+    }
+
+    /**
+     * @return Script executions in flight by runspace id
+     */
+    public synchronized Map<String, Integer> getInFlight() {
+        Map<String, Integer> inFlight = new HashMap<String, Integer>();
+        for (Map.Entry<String, Load> load : loads.entrySet()) {
+            inFlight.put(load.getKey(), load.getValue().inFlight);
+        }
+        return inFlight;
+    }
+
+    /**
+     * @return Script executions placed by runspace id, since the runspace was added
+     */
+    public synchronized Map<String, Long> getPlacements() {
+        Map<String, Long> placements = new HashMap<String, Long>();
+        for (Map.Entry<String, Load> load : loads.entrySet()) {
+            placements.put(load.getKey(), load.getValue().placements);
+        }
+        return placements;
+    }
+
+    private void drain() {
+        while (true) {
+            Submission submission;
+            String runspaceId;
+            synchronized (this) {
+                runspaceId = leastLoaded();
+                if (runspaceId == null) {
+                    maxQueueDepth = Math.max(maxQueueDepth, queue.size());
+                    return;
+                }
+                submission = queue.poll();
+                if (submission == null) {
+                    return;
+                }
+                if (submission.isCancelled()) {
+                    continue;
+                }
+                Load load = loads.get(runspaceId);
+                load.inFlight++;
+                load.placements++;
+            }
+            place(submission, runspaceId);
+        }
+    }
+
+    // lock held
+    private String leastLoaded() {
+        String leastLoaded = null;
+        int fewest = maxConcurrency;
+        for (Map.Entry<String, Load> load : loads.entrySet()) {
+            if (!load.getValue().removed && load.getValue().inFlight < fewest) {
+                leastLoaded = load.getKey();
+                fewest = load.getValue().inFlight;
+            }
+        }
+        return leastLoaded;
+    }
+
+    private void place(final Submission submission, final String runspaceId) {
+        submission.request.setRunspaceId(runspaceId);
+        try {
+            api.createScriptExecutionAsync(submission.request, new ApiCallback<ScriptExecution>() {
+                @Override
+                public void onFailure(ApiException e, int statusCode, Map<String, List<String>> responseHeaders) {
+                    done(runspaceId);
+                    submission.fail(e);
+                }
+
+                @Override
+                public void onSuccess(ScriptExecution result, int statusCode, Map<String, List<String>> responseHeaders) {
+                    poller.watch(result.getId(), new ScriptExecutionPoller.Watcher() {
+                        @Override
+                        public void onStateChange(ScriptExecution execution, ScriptExecutionState previous) {
+                            if (execution.getState() != ScriptExecutionState.RUNNING) {
+                                done(runspaceId);
+                                submission.complete(execution);
+                            }
+                        }
+
+                        @Override
+                        public void onFailure(String id, ApiException e) {
+                            if (e.getCode() == 404) {
+                                // deleted, it would hold its runspace slot forever
+                                poller.unwatch(id);
+                                done(runspaceId);
+                                submission.fail(e);
+                            }
+                            // otherwise polled again on the next tick
+                        }
+                    });
+                }
+
+                @Override
+                public void onUploadProgress(long bytesWritten, long contentLength, boolean done) {
+                }
+
+                @Override
+                public void onDownloadProgress(long bytesRead, long contentLength, boolean done) {
+                }
+            });
+        } catch (ApiException e) {
+            done(runspaceId);
+            submission.fail(e);
+        }
+    }
+
+    private void done(String runspaceId) {
+        synchronized (this) {
+            Load load = loads.get(runspaceId);
+            load.inFlight--;
+            if (load.removed && load.inFlight == 0) {
+                loads.remove(runspaceId);
+            }
+        }
+        drain();
+    }
+}
@@ -0,0 +1,414 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client.api;
+
+import io.swagger.client.ApiClient;
+import io.swagger.client.ApiException;
+import io.swagger.client.model.Runspace;
+import io.swagger.client.model.RunspaceState;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pool of runspaces created ahead of time, so a script does not wait for a
+ * runspace to start and connect to the VC.
+ *
+ * A background thread keeps at least {@link #getMinSize()} runspaces and
+ * {@link #getTargetIdle()} ready ones besides the ones leased, never more
+ * than {@link #getMaxSize()} in all. It follows the runspaces being created
+ * and checks the idle ones with one listRunspaces call per tick, and deletes
+ * the ones in the error state. Idle runspaces above the target are deleted.
+ *
+ * A leased runspace is given back with {@link #release(Runspace)} to be
+ * reused, which keeps the variables and modules of the scripts run in it,
+ * or with {@link #discard(Runspace)} to be deleted.
+ */
+public class RunspacePool implements Closeable {
+    private final RunspacesApi api;
+    private final Runspace template;
+    private final ScheduledExecutorService executor;
+    private final Runnable maintenance = new Runnable() {
+        @Override
+        public void run() {
+            maintain();
+        }
+    };
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    // guarded by lock, the most recently released runspace first
+    private final Deque<Runspace> idle = new ArrayDeque<Runspace>();
+    private final Map<String, Runspace> creating = new HashMap<String, Runspace>();
+    private final Set<String> leased = new HashSet<String>();
+    private int waiting;
+    private boolean closed;
+    private long created;
+    private long evicted;
+    private long leases;
+    private long leaseTimeouts;
+    private long leaseWaitNanos;
+    private long maxLeaseWaitNanos;
+
+    private volatile int minSize = 0;
+    private volatile int maxSize = 10;
+    private volatile int targetIdle = 1;
+    private volatile long leaseTimeout = 600000;
+
+    /**
+     * @param apiClient API client to create the runspaces with
+     * @param template Runspace to create, e.g. with runVcConnectionScript set
+     * @param interval Time between two checks of the runspaces
+     * @param unit Unit of the interval
+     */
+    public RunspacePool(ApiClient apiClient, Runspace template, long interval, TimeUnit unit) {
+        this.api = new RunspacesApi(apiClient);
+        this.template = template;
+        this.executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "RunspacePool");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        executor.scheduleWithFixedDelay(maintenance, 0, interval, unit);
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    /**
+     * Sets the number of runspaces kept, leased or not. Default is 0.
+     *
+     * @param minSize Number of runspaces
+     * @return RunspacePool
+     */
+    public RunspacePool setMinSize(int minSize) {
+        this.minSize = minSize;
+        return this;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets the most runspaces the pool holds, leased or not. Default is 10.
+     *
+     * @param maxSize Number of runspaces
+     * @return RunspacePool
+     */
+    public RunspacePool setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+        return this;
+    }
+
+    public int getTargetIdle() {
+        return targetIdle;
+    }
+
+    /**
+     * Sets the number of ready runspaces kept for the next leases. Default is 1.
+     *
+     * @param targetIdle Number of runspaces
+     * @return RunspacePool
+     */
+    public RunspacePool setTargetIdle(int targetIdle) {
+        this.targetIdle = targetIdle;
+        return this;
+    }
+
+    public long getLeaseTimeout() {
+        return leaseTimeout;
+    }
+
+    /**
+     * Sets how long (in milliseconds) {@link #lease()} waits for a runspace. Default is 600000.
+     *
+     * @param leaseTimeout Timeout in milliseconds
+     * @return RunspacePool
+     */
+    public RunspacePool setLeaseTimeout(long leaseTimeout) {
+        this.leaseTimeout = leaseTimeout;
+        return this;
+    }
+
+    /**
+     * Lease a ready runspace, waiting for one at most the lease timeout.
+     *
+     * @return The runspace
+     * @throws ApiException If no runspace got ready in time or the pool is closed
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public Runspace lease() throws ApiException, InterruptedException {
+        return lease(leaseTimeout, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Lease a ready runspace.
+     *
+     * @param timeout Longest time to wait for a runspace
+     * @param unit Unit of the timeout
+     * @return The runspace
+     * @throws ApiException If no runspace got ready in time or the pool is closed
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public Runspace lease(long timeout, TimeUnit unit) throws ApiException, InterruptedException {
+        long start = System.nanoTime();
+        long remaining = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            if (closed) {
+                throw new ApiException("Runspace pool is closed");
+            }
+            if (idle.isEmpty()) {
+                // replenish now rather than on the next tick
+                executor.execute(maintenance);
+            }
+            waiting++;
+            try {
+                while (idle.isEmpty()) {
+                    if (closed) {
+                        throw new ApiException("Runspace pool is closed");
+                    }
+                    if (remaining <= 0) {
+                        leaseTimeouts++;
+                        throw new ApiException("No runspace got ready within " + unit.toMillis(timeout) + " ms");
+                    }
+                    remaining = available.awaitNanos(remaining);
+                }
+            } finally {
+                waiting--;
+            }
+            Runspace runspace = idle.pop();
+            leased.add(runspace.getId());
+            long waited = System.nanoTime() - start;
+            leases++;
+            leaseWaitNanos += waited;
+            maxLeaseWaitNanos = Math.max(maxLeaseWaitNanos, waited);
+            return runspace;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Give a leased runspace back to be leased again.
+     *
+     * @param runspace The leased runspace
+     */
+    public void release(Runspace runspace) {
+        lock.lock();
+        try {
+            if (!leased.remove(runspace.getId())) {
+                return;
+            }
+            if (!closed) {
+                idle.push(runspace);
+                available.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        delete(runspace.getId());
+    }
+
+    /**
+     * Give a leased runspace back to be deleted, e.g. after a script failed in it.
+     *
+     * @param runspace The leased runspace
+     */
+    public void discard(Runspace runspace) {
+        lock.lock();
+        try {
+            if (!leased.remove(runspace.getId())) {
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        delete(runspace.getId());
+    }
+
+    /**
+     * @return Snapshot of the runspaces and leases
+     */
+    public RunspacePoolStats getStats() {
+        lock.lock();
+        try {
+            return new RunspacePoolStats(idle.size(), leased.size(), creating.size(), created, evicted,
+                    leases, leaseTimeouts, leaseWaitNanos, maxLeaseWaitNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stop replenishing and delete the runspaces not leased. The leased ones
+     * are deleted when given back.
+     */
+    @Override
+    public void close() {
+        List<String> ids = new ArrayList<String>();
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Runspace runspace : idle) {
+                ids.add(runspace.getId());
+            }
+            ids.addAll(creating.keySet());
+            idle.clear();
+            creating.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        executor.shutdownNow();
+        for (String id : ids) {
+            delete(id);
+        }
+    }
+
+    private void maintain() {
+        boolean check;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            check = !idle.isEmpty() || !creating.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+        Map<String, Runspace> listed = null;
+        if (check) {
+            try {
+                listed = new HashMap<String, Runspace>();
+                for (Runspace runspace : api.listRunspaces()) {
+                    listed.put(runspace.getId(), runspace);
+                }
+            } catch (ApiException e) {
+                // checked again on the next tick
+                listed = null;
+            }
+        }
+
+        List<String> deletes = new ArrayList<String>();
+        int creates;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            if (listed != null) {
+                update(listed, deletes);
+            }
+            int size = idle.size() + creating.size() + leased.size();
+            while (idle.size() > targetIdle && size > minSize) {
+                deletes.add(idle.removeLast().getId());
+                size--;
+            }
+            creates = Math.max(minSize - size, targetIdle + waiting - idle.size() - creating.size());
+            creates = Math.min(creates, maxSize - size);
+        } finally {
+            lock.unlock();
+        }
+
+        for (String id : deletes) {
+            delete(id);
+        }
+        for (int i = 0; i < creates; i++) {
+            Runspace runspace;
+            try {
+                runspace = api.createRunspace(template);
+            } catch (ApiException e) {
+                // created on the next tick
+                return;
+            }
+            if (!add(runspace)) {
+                delete(runspace.getId());
+                return;
+            }
+        }
+    }
+
+    // lock held
+    private void update(Map<String, Runspace> listed, List<String> deletes) {
+        Iterator<Map.Entry<String, Runspace>> pending = creating.entrySet().iterator();
+        while (pending.hasNext()) {
+            Runspace runspace = listed.get(pending.next().getKey());
+            if (runspace == null) {
+                pending.remove();
+                evicted++;
+            } else if (runspace.getState() == RunspaceState.READY) {
+                pending.remove();
+                idle.push(runspace);
+                available.signal();
+            } else if (runspace.getState() == RunspaceState.ERROR) {
+                pending.remove();
+                deletes.add(runspace.getId());
+                evicted++;
+            }
+        }
+        Iterator<Runspace> ready = idle.iterator();
+        while (ready.hasNext()) {
+            Runspace runspace = listed.get(ready.next().getId());
+            if (runspace == null || runspace.getState() == RunspaceState.ERROR) {
+                ready.remove();
+                if (runspace != null) {
+                    deletes.add(runspace.getId());
+                }
+                evicted++;
+            }
+        }
+    }
+
+    private boolean add(Runspace runspace) {
+        lock.lock();
+        try {
+            if (closed) {
+                return false;
+            }
+            created++;
+            if (runspace.getState() == RunspaceState.READY) {
+                idle.push(runspace);
+                available.signal();
+            } else {
+                creating.put(runspace.getId(), runspace);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void delete(String id) {
+        try {
+            api.deleteRunspace(id);
+        } catch (ApiException ignored) {
+            // the runspace is gone or left to the server to clean up
+        }
+    }
+}
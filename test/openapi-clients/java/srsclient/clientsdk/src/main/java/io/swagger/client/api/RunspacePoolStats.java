@@ -0,0 +1,115 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client.api;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point-in-time snapshot of a {@link RunspacePool}.
+ *
+ * @see RunspacePool#getStats()
+ */
+public class RunspacePoolStats {
+    private final int idle;
+    private final int leased;
+    private final int creating;
+    private final long created;
+    private final long evicted;
+    private final long leases;
+    private final long leaseTimeouts;
+    private final long leaseWaitNanos;
+    private final long maxLeaseWaitNanos;
+
+    RunspacePoolStats(int idle, int leased, int creating, long created, long evicted,
+                      long leases, long leaseTimeouts, long leaseWaitNanos, long maxLeaseWaitNanos) {
+        this.idle = idle;
+        this.leased = leased;
+        this.creating = creating;
+        this.created = created;
+        this.evicted = evicted;
+        this.leases = leases;
+        this.leaseTimeouts = leaseTimeouts;
+        this.leaseWaitNanos = leaseWaitNanos;
+        this.maxLeaseWaitNanos = maxLeaseWaitNanos;
+    }
+
+    /**
+     * @return Number of ready runspaces waiting to be leased
+     */
+    public int getIdle() {
+        return idle;
+    }
+
+    /**
+     * @return Number of runspaces leased
+     */
+    public int getLeased() {
+        return leased;
+    }
+
+    /**
+     * @return Number of runspaces still being created
+     */
+    public int getCreating() {
+        return creating;
+    }
+
+    /**
+     * @return Number of runspaces created by the pool
+     */
+    public long getCreated() {
+        return created;
+    }
+
+    /**
+     * @return Number of runspaces dropped because they failed or disappeared
+     */
+    public long getEvicted() {
+        return evicted;
+    }
+
+    /**
+     * @return Number of leases granted
+     */
+    public long getLeases() {
+        return leases;
+    }
+
+    /**
+     * @return Number of leases that timed out waiting for a runspace
+     */
+    public long getLeaseTimeouts() {
+        return leaseTimeouts;
+    }
+
+    /**
+     * @param unit Unit of the result
+     * @return Average time a granted lease waited for a runspace, 0 if none was granted
+     */
+    public long getAverageLeaseWait(TimeUnit unit) {
+        return leases == 0 ? 0 : unit.convert(leaseWaitNanos / leases, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param unit Unit of the result
+     * @return Longest time a granted lease waited for a runspace
+     */
+    public long getMaxLeaseWait(TimeUnit unit) {
+        return unit.convert(maxLeaseWaitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "RunspacePoolStats {idle=" + idle +
+                ", leased=" + leased +
+                ", creating=" + creating +
+                ", created=" + created +
+                ", evicted=" + evicted +
+                ", leases=" + leases +
+                ", leaseTimeouts=" + leaseTimeouts +
+                ", averageLeaseWaitMillis=" + getAverageLeaseWait(TimeUnit.MILLISECONDS) +
+                ", maxLeaseWaitMillis=" + getMaxLeaseWait(TimeUnit.MILLISECONDS) + "}";
+    }
+}
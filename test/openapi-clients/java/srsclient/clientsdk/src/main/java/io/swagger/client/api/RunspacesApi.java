@@ -17,9 +17,11 @@ import io.swagger.client.ApiClient;
 import io.swagger.client.ApiException;
 import io.swagger.client.ApiResponse;
 import io.swagger.client.Configuration;
+import io.swagger.client.MediaTypes;
 import io.swagger.client.Pair;
 import io.swagger.client.ProgressRequestBody;
 import io.swagger.client.ProgressResponseBody;
+import io.swagger.client.UriTemplate;
 
 import com.google.gson.reflect.TypeToken;
 
@@ -36,6 +38,22 @@ import java.util.List;
 import java.util.Map;
 
 public class RunspacesApi {
+    private static final UriTemplate CREATE_RUNSPACE_PATH = UriTemplate.compile("/api/runspaces");
+    private static final String CREATE_RUNSPACE_ACCEPT = MediaTypes.selectHeaderAccept(new String[] { "application/json" });
+    private static final String CREATE_RUNSPACE_CONTENT_TYPE = MediaTypes.selectHeaderContentType(new String[] { "application/json" });
+
+    private static final UriTemplate DELETE_RUNSPACE_PATH = UriTemplate.compile("/api/runspaces/{id}");
+    private static final String DELETE_RUNSPACE_ACCEPT = MediaTypes.selectHeaderAccept(new String[] { "application/json" });
+    private static final String DELETE_RUNSPACE_CONTENT_TYPE = MediaTypes.selectHeaderContentType(new String[0]);
+
+    private static final UriTemplate GET_RUNSPACE_PATH = UriTemplate.compile("/api/runspaces/{id}");
+    private static final String GET_RUNSPACE_ACCEPT = MediaTypes.selectHeaderAccept(new String[] { "application/json" });
+    private static final String GET_RUNSPACE_CONTENT_TYPE = MediaTypes.selectHeaderContentType(new String[0]);
+
+    private static final UriTemplate LIST_RUNSPACES_PATH = UriTemplate.compile("/api/runspaces");
+    private static final String LIST_RUNSPACES_ACCEPT = MediaTypes.selectHeaderAccept(new String[] { "application/json" });
+    private static final String LIST_RUNSPACES_CONTENT_TYPE = MediaTypes.selectHeaderContentType(new String[0]);
+
     private ApiClient apiClient;
 
     public RunspacesApi() {
@@ -66,41 +84,21 @@ public class RunspacesApi {
         Object localVarPostBody = body;
         
         // create path and map variables
-        String localVarPath = "/api/runspaces";
+        String localVarPath = CREATE_RUNSPACE_PATH.expand();
 
-        List<Pair> localVarQueryParams = new ArrayList<Pair>();
-        List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
+        // the operation has no query or form parameters
+        List<Pair> localVarQueryParams = null;
+        List<Pair> localVarCollectionQueryParams = null;
 
         Map<String, String> localVarHeaderParams = new HashMap<String, String>();
 
-        Map<String, Object> localVarFormParams = new HashMap<String, Object>();
-
-        final String[] localVarAccepts = {
-            "application/json"
-        };
-        final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        if (localVarAccept != null) localVarHeaderParams.put("Accept", localVarAccept);
-
-        final String[] localVarContentTypes = {
-            "application/json"
-        };
-        final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-        localVarHeaderParams.put("Content-Type", localVarContentType);
+        Map<String, Object> localVarFormParams = null;
 
-        if(progressListener != null) {
-            apiClient.getHttpClient().networkInterceptors().add(new com.squareup.okhttp.Interceptor() {
-                @Override
-                public com.squareup.okhttp.Response intercept(com.squareup.okhttp.Interceptor.Chain chain) throws IOException {
-                    com.squareup.okhttp.Response originalResponse = chain.proceed(chain.request());
-                    return originalResponse.newBuilder()
-                    .body(new ProgressResponseBody(originalResponse.body(), progressListener))
-                    .build();
-                }
-            });
-        }
+        if (CREATE_RUNSPACE_ACCEPT != null) localVarHeaderParams.put("Accept", CREATE_RUNSPACE_ACCEPT);
+        localVarHeaderParams.put("Content-Type", CREATE_RUNSPACE_CONTENT_TYPE);
 
         String[] localVarAuthNames = new String[] { "apiKeyAuth" };
-        return apiClient.buildCall(localVarPath, "POST", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressRequestListener);
+        return apiClient.buildCall("createRunspace", localVarPath, "POST", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressListener, progressRequestListener);
     }
     
     @SuppressWarnings("rawtypes")
@@ -186,42 +184,21 @@ public class RunspacesApi {
         Object localVarPostBody = null;
         
         // create path and map variables
-        String localVarPath = "/api/runspaces/{id}"
-            .replaceAll("\\{" + "id" + "\\}", apiClient.escapeString(id.toString()));
+        String localVarPath = DELETE_RUNSPACE_PATH.expand(id.toString());
 
-        List<Pair> localVarQueryParams = new ArrayList<Pair>();
-        List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
+        // the operation has no query or form parameters
+        List<Pair> localVarQueryParams = null;
+        List<Pair> localVarCollectionQueryParams = null;
 
         Map<String, String> localVarHeaderParams = new HashMap<String, String>();
 
-        Map<String, Object> localVarFormParams = new HashMap<String, Object>();
+        Map<String, Object> localVarFormParams = null;
 
-        final String[] localVarAccepts = {
-            "application/json"
-        };
-        final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        if (localVarAccept != null) localVarHeaderParams.put("Accept", localVarAccept);
-
-        final String[] localVarContentTypes = {
-            
-        };
-        final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-        localVarHeaderParams.put("Content-Type", localVarContentType);
-
-        if(progressListener != null) {
-            apiClient.getHttpClient().networkInterceptors().add(new com.squareup.okhttp.Interceptor() {
-                @Override
-                public com.squareup.okhttp.Response intercept(com.squareup.okhttp.Interceptor.Chain chain) throws IOException {
-                    com.squareup.okhttp.Response originalResponse = chain.proceed(chain.request());
-                    return originalResponse.newBuilder()
-                    .body(new ProgressResponseBody(originalResponse.body(), progressListener))
-                    .build();
-                }
-            });
-        }
+        if (DELETE_RUNSPACE_ACCEPT != null) localVarHeaderParams.put("Accept", DELETE_RUNSPACE_ACCEPT);
+        localVarHeaderParams.put("Content-Type", DELETE_RUNSPACE_CONTENT_TYPE);
 
         String[] localVarAuthNames = new String[] { "apiKeyAuth" };
-        return apiClient.buildCall(localVarPath, "DELETE", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressRequestListener);
+        return apiClient.buildCall("deleteRunspace", localVarPath, "DELETE", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressListener, progressRequestListener);
     }
     
     @SuppressWarnings("rawtypes")
@@ -307,42 +284,21 @@ public class RunspacesApi {
         Object localVarPostBody = null;
         
         // create path and map variables
-        String localVarPath = "/api/runspaces/{id}"
-            .replaceAll("\\{" + "id" + "\\}", apiClient.escapeString(id.toString()));
+        String localVarPath = GET_RUNSPACE_PATH.expand(id.toString());
 
-        List<Pair> localVarQueryParams = new ArrayList<Pair>();
-        List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
+        // the operation has no query or form parameters
+        List<Pair> localVarQueryParams = null;
+        List<Pair> localVarCollectionQueryParams = null;
 
         Map<String, String> localVarHeaderParams = new HashMap<String, String>();
 
-        Map<String, Object> localVarFormParams = new HashMap<String, Object>();
-
-        final String[] localVarAccepts = {
-            "application/json"
-        };
-        final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        if (localVarAccept != null) localVarHeaderParams.put("Accept", localVarAccept);
+        Map<String, Object> localVarFormParams = null;
 
-        final String[] localVarContentTypes = {
-            
-        };
-        final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-        localVarHeaderParams.put("Content-Type", localVarContentType);
-
-        if(progressListener != null) {
-            apiClient.getHttpClient().networkInterceptors().add(new com.squareup.okhttp.Interceptor() {
-                @Override
-                public com.squareup.okhttp.Response intercept(com.squareup.okhttp.Interceptor.Chain chain) throws IOException {
-                    com.squareup.okhttp.Response originalResponse = chain.proceed(chain.request());
-                    return originalResponse.newBuilder()
-                    .body(new ProgressResponseBody(originalResponse.body(), progressListener))
-                    .build();
-                }
-            });
-        }
+        if (GET_RUNSPACE_ACCEPT != null) localVarHeaderParams.put("Accept", GET_RUNSPACE_ACCEPT);
+        localVarHeaderParams.put("Content-Type", GET_RUNSPACE_CONTENT_TYPE);
 
         String[] localVarAuthNames = new String[] { "apiKeyAuth" };
-        return apiClient.buildCall(localVarPath, "GET", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressRequestListener);
+        return apiClient.buildCall("getRunspace", localVarPath, "GET", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressListener, progressRequestListener);
     }
     
     @SuppressWarnings("rawtypes")
@@ -431,41 +387,21 @@ public class RunspacesApi {
         Object localVarPostBody = null;
         
         // create path and map variables
-        String localVarPath = "/api/runspaces";
+        String localVarPath = LIST_RUNSPACES_PATH.expand();
 
-        List<Pair> localVarQueryParams = new ArrayList<Pair>();
-        List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
+        // the operation has no query or form parameters
+        List<Pair> localVarQueryParams = null;
+        List<Pair> localVarCollectionQueryParams = null;
 
         Map<String, String> localVarHeaderParams = new HashMap<String, String>();
 
-        Map<String, Object> localVarFormParams = new HashMap<String, Object>();
-
-        final String[] localVarAccepts = {
-            "application/json"
-        };
-        final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        if (localVarAccept != null) localVarHeaderParams.put("Accept", localVarAccept);
-
-        final String[] localVarContentTypes = {
-            
-        };
-        final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-        localVarHeaderParams.put("Content-Type", localVarContentType);
+        Map<String, Object> localVarFormParams = null;
 
-        if(progressListener != null) {
-            apiClient.getHttpClient().networkInterceptors().add(new com.squareup.okhttp.Interceptor() {
-                @Override
-                public com.squareup.okhttp.Response intercept(com.squareup.okhttp.Interceptor.Chain chain) throws IOException {
-                    com.squareup.okhttp.Response originalResponse = chain.proceed(chain.request());
-                    return originalResponse.newBuilder()
-                    .body(new ProgressResponseBody(originalResponse.body(), progressListener))
-                    .build();
-                }
-            });
-        }
+        if (LIST_RUNSPACES_ACCEPT != null) localVarHeaderParams.put("Accept", LIST_RUNSPACES_ACCEPT);
+        localVarHeaderParams.put("Content-Type", LIST_RUNSPACES_CONTENT_TYPE);
 
         String[] localVarAuthNames = new String[] { "apiKeyAuth" };
-        return apiClient.buildCall(localVarPath, "GET", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressRequestListener);
+        return apiClient.buildCall("listRunspaces", localVarPath, "GET", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressListener, progressRequestListener);
     }
     
     @SuppressWarnings("rawtypes")
@@ -0,0 +1,270 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client.api;
+
+import io.swagger.client.ApiClient;
+import io.swagger.client.ApiException;
+import io.swagger.client.model.ScriptExecution;
+import io.swagger.client.model.ScriptExecutionState;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Watches many script executions with a single poll per tick.
+ *
+ * While at least {@link #getListThreshold()} executions are watched, each
+ * tick gets all of them with one listScriptExecutions call and compares the
+ * states with the ones seen before. Fewer executions are polled one by one
+ * with getScriptExecution. With conditional GETs enabled on the API client,
+ * a list that did not change costs a 304 response.
+ *
+ * A watcher is told of each state observed that differs from the previous
+ * one, the first observation included, and stops being watched once the
+ * execution is no longer running. An execution that is not found, with a 404
+ * response to its GET or missing from the list, stops being watched after
+ * {@link #getMaxMisses()} ticks in a row: the watcher gets a 404 failure on
+ * each of them and nothing after the last one. Watchers are invoked on the
+ * poller thread and must not block.
+ */
+public class ScriptExecutionPoller implements Closeable {
+
+    /**
+     * Receives the state transitions of a watched script execution.
+     */
+    public interface Watcher {
+        /**
+         * @param execution The script execution in its new state
+         * @param previous The state observed before, null on the first observation
+         */
+        void onStateChange(ScriptExecution execution, ScriptExecutionState previous);
+
+        /**
+         * The script execution could not be polled on this tick. It is polled
+         * again on the next one, unless it was not found (code 404) for
+         * {@link #getMaxMisses()} ticks in a row.
+         *
+         * @param id Unique identifier of the script execution
+         * @param e The failure
+         */
+        void onFailure(String id, ApiException e);
+    }
+
+    private static class Watch {
+        private final Watcher watcher;
+        // only accessed on the poller thread
+        private ScriptExecutionState state;
+        private int misses;
+
+        Watch(Watcher watcher) {
+            this.watcher = watcher;
+        }
+    }
+
+    private final ScriptexecutionsApi api;
+    private final ScheduledExecutorService executor;
+    private final ConcurrentMap<String, Watch> watches = new ConcurrentHashMap<String, Watch>();
+    private final AtomicLong listCalls = new AtomicLong();
+    private final AtomicLong getCalls = new AtomicLong();
+    private volatile int listThreshold = 20;
+    private volatile int maxMisses = 3;
+
+    /**
+     * @param apiClient API client to poll with
+     * @param interval Time between two ticks
+     * @param unit Unit of the interval
+     */
+    public ScriptExecutionPoller(ApiClient apiClient, long interval, TimeUnit unit) {
+        this.api = new ScriptexecutionsApi(apiClient);
+        this.executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "ScriptExecutionPoller");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        executor.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                tick();
+            }
+        }, interval, interval, unit);
+    }
+
+    public int getListThreshold() {
+        return listThreshold;
+    }
+
+    /**
+     * Sets the number of watched executions from which they are polled with
+     * a single list call. Default is 20.
+     *
+     * @param listThreshold Number of executions
+     * @return ScriptExecutionPoller
+     */
+    public ScriptExecutionPoller setListThreshold(int listThreshold) {
+        this.listThreshold = listThreshold;
+        return this;
+    }
+
+    public int getMaxMisses() {
+        return maxMisses;
+    }
+
+    /**
+     * Sets the number of ticks in a row a watched execution may not be found
+     * before it stops being watched. A list may lag behind the executions
+     * just created. Default is 3.
+     *
+     * @param maxMisses Number of ticks, at least 1
+     * @return ScriptExecutionPoller
+     */
+    public ScriptExecutionPoller setMaxMisses(int maxMisses) {
+        if (maxMisses < 1) {
+            throw new IllegalArgumentException("maxMisses must be at least 1");
+        }
+        this.maxMisses = maxMisses;
+        return this;
+    }
+
+    /**
+     * Start watching a script execution, replacing its previous watcher.
+     *
+     * @param id Unique identifier of the script execution
+     * @param watcher Watcher of its state transitions
+     */
+    public void watch(String id, Watcher watcher) {
+        watches.put(id, new Watch(watcher));
+    }
+
+    /**
+     * Stop watching a script execution.
+     *
+     * @param id Unique identifier of the script execution
+     */
+    public void unwatch(String id) {
+        watches.remove(id);
+    }
+
+    /**
+     * @return Number of script executions watched
+     */
+    public int getWatched() {
+        return watches.size();
+    }
+
+    /**
+     * @return Number of listScriptExecutions calls made
+     */
+    public long getListCalls() {
+        return listCalls.get();
+    }
+
+    /**
+     * @return Number of getScriptExecution calls made
+     */
+    public long getGetCalls() {
+        return getCalls.get();
+    }
+
+    /**
+     * Stop polling. Watchers are not told.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void tick() {
+        if (watches.isEmpty()) {
+            return;
+        }
+        List<String> ids = new ArrayList<String>(watches.keySet());
+        if (ids.size() < listThreshold) {
+            for (String id : ids) {
+                ScriptExecution execution;
+                try {
+                    getCalls.incrementAndGet();
+                    execution = api.getScriptExecution(id);
+                } catch (ApiException e) {
+                    failed(id, e);
+                    continue;
+                }
+                observe(id, execution);
+            }
+            return;
+        }
+
+        List<ScriptExecution> executions;
+        try {
+            listCalls.incrementAndGet();
+            executions = api.listScriptExecutions();
+        } catch (ApiException e) {
+            for (String id : ids) {
+                failed(id, e);
+            }
+            return;
+        }
+        Map<String, ScriptExecution> byId = new HashMap<String, ScriptExecution>();
+        for (ScriptExecution execution : executions) {
+            byId.put(execution.getId(), execution);
+        }
+        for (String id : ids) {
+            ScriptExecution execution = byId.get(id);
+            if (execution != null) {
+                observe(id, execution);
+            } else {
+                failed(id, new ApiException(404, "Script execution " + id + " is not listed"));
+            }
+        }
+    }
+
+    private void observe(String id, ScriptExecution execution) {
+        Watch watch = watches.get(id);
+        if (watch == null) {
+            return;
+        }
+        watch.misses = 0;
+        ScriptExecutionState previous = watch.state;
+        if (execution.getState() == previous) {
+            return;
+        }
+        watch.state = execution.getState();
+        if (execution.getState() != ScriptExecutionState.RUNNING) {
+            watches.remove(id, watch);
+        }
+        try {
+            watch.watcher.onStateChange(execution, previous);
+        } catch (RuntimeException ignored) {
+            // a failing watcher must not stop the poller thread
+        }
+    }
+
+    private void failed(String id, ApiException e) {
+        Watch watch = watches.get(id);
+        if (watch == null) {
+            return;
+        }
+        if (e.getCode() == 404 && ++watch.misses >= maxMisses) {
+            watches.remove(id, watch);
+        }
+        try {
+            watch.watcher.onFailure(id, e);
+        } catch (RuntimeException ignored) {
+            // a failing watcher must not stop the poller thread
+        }
+    }
+}
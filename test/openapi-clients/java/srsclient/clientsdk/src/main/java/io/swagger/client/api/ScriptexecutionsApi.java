@@ -16,10 +16,15 @@ import io.swagger.client.ApiCallback;
 import io.swagger.client.ApiClient;
 import io.swagger.client.ApiException;
 import io.swagger.client.ApiResponse;
+import io.swagger.client.CloseableIterator;
 import io.swagger.client.Configuration;
+import io.swagger.client.Deadline;
+import io.swagger.client.MediaTypes;
 import io.swagger.client.Pair;
+import io.swagger.client.PollingFuture;
 import io.swagger.client.ProgressRequestBody;
 import io.swagger.client.ProgressResponseBody;
+import io.swagger.client.UriTemplate;
 
 import com.google.gson.reflect.TypeToken;
 
@@ -28,6 +33,7 @@ import java.io.IOException;
 
 import io.swagger.client.model.ErrorDetails;
 import io.swagger.client.model.ScriptExecution;
+import io.swagger.client.model.ScriptExecutionState;
 import io.swagger.client.model.StreamRecord;
 import io.swagger.client.model.StreamType;
 
@@ -38,6 +44,30 @@ import java.util.List;
 import java.util.Map;
 
 public class ScriptexecutionsApi {
+    private static final UriTemplate CANCEL_SCRIPT_EXECUTION_PATH = UriTemplate.compile("/api/script-executions/{id}/cancel");
+    private static final String CANCEL_SCRIPT_EXECUTION_ACCEPT = MediaTypes.selectHeaderAccept(new String[] { "application/json" });
+    private static final String CANCEL_SCRIPT_EXECUTION_CONTENT_TYPE = MediaTypes.selectHeaderContentType(new String[0]);
+
+    private static final UriTemplate CREATE_SCRIPT_EXECUTION_PATH = UriTemplate.compile("/api/script-executions");
+    private static final String CREATE_SCRIPT_EXECUTION_ACCEPT = MediaTypes.selectHeaderAccept(new String[] { "application/json" });
+    private static final String CREATE_SCRIPT_EXECUTION_CONTENT_TYPE = MediaTypes.selectHeaderContentType(new String[] { "application/json" });
+
+    private static final UriTemplate GET_SCRIPT_EXECUTION_PATH = UriTemplate.compile("/api/script-executions/{id}");
+    private static final String GET_SCRIPT_EXECUTION_ACCEPT = MediaTypes.selectHeaderAccept(new String[] { "application/json" });
+    private static final String GET_SCRIPT_EXECUTION_CONTENT_TYPE = MediaTypes.selectHeaderContentType(new String[0]);
+
+    private static final UriTemplate GET_SCRIPT_EXECUTION_OUTPUT_PATH = UriTemplate.compile("/api/script-executions/{id}/output");
+    private static final String GET_SCRIPT_EXECUTION_OUTPUT_ACCEPT = MediaTypes.selectHeaderAccept(new String[] { "application/json" });
+    private static final String GET_SCRIPT_EXECUTION_OUTPUT_CONTENT_TYPE = MediaTypes.selectHeaderContentType(new String[0]);
+
+    private static final UriTemplate GET_SCRIPT_EXECUTION_STREAM_PATH = UriTemplate.compile("/api/script-executions/{id}/streams/{stream-type}");
+    private static final String GET_SCRIPT_EXECUTION_STREAM_ACCEPT = MediaTypes.selectHeaderAccept(new String[] { "application/json" });
+    private static final String GET_SCRIPT_EXECUTION_STREAM_CONTENT_TYPE = MediaTypes.selectHeaderContentType(new String[0]);
+
+    private static final UriTemplate LIST_SCRIPT_EXECUTIONS_PATH = UriTemplate.compile("/api/script-executions");
+    private static final String LIST_SCRIPT_EXECUTIONS_ACCEPT = MediaTypes.selectHeaderAccept(new String[] { "application/json" });
+    private static final String LIST_SCRIPT_EXECUTIONS_CONTENT_TYPE = MediaTypes.selectHeaderContentType(new String[0]);
+
     private ApiClient apiClient;
 
     public ScriptexecutionsApi() {
@@ -68,42 +98,21 @@ public class ScriptexecutionsApi {
         Object localVarPostBody = null;
         
         // create path and map variables
-        String localVarPath = "/api/script-executions/{id}/cancel"
-            .replaceAll("\\{" + "id" + "\\}", apiClient.escapeString(id.toString()));
+        String localVarPath = CANCEL_SCRIPT_EXECUTION_PATH.expand(id.toString());
 
-        List<Pair> localVarQueryParams = new ArrayList<Pair>();
-        List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
+        // the operation has no query or form parameters
+        List<Pair> localVarQueryParams = null;
+        List<Pair> localVarCollectionQueryParams = null;
 
         Map<String, String> localVarHeaderParams = new HashMap<String, String>();
 
-        Map<String, Object> localVarFormParams = new HashMap<String, Object>();
+        Map<String, Object> localVarFormParams = null;
 
-        final String[] localVarAccepts = {
-            "application/json"
-        };
-        final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        if (localVarAccept != null) localVarHeaderParams.put("Accept", localVarAccept);
-
-        final String[] localVarContentTypes = {
-            
-        };
-        final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-        localVarHeaderParams.put("Content-Type", localVarContentType);
-
-        if(progressListener != null) {
-            apiClient.getHttpClient().networkInterceptors().add(new com.squareup.okhttp.Interceptor() {
-                @Override
-                public com.squareup.okhttp.Response intercept(com.squareup.okhttp.Interceptor.Chain chain) throws IOException {
-                    com.squareup.okhttp.Response originalResponse = chain.proceed(chain.request());
-                    return originalResponse.newBuilder()
-                    .body(new ProgressResponseBody(originalResponse.body(), progressListener))
-                    .build();
-                }
-            });
-        }
+        if (CANCEL_SCRIPT_EXECUTION_ACCEPT != null) localVarHeaderParams.put("Accept", CANCEL_SCRIPT_EXECUTION_ACCEPT);
+        localVarHeaderParams.put("Content-Type", CANCEL_SCRIPT_EXECUTION_CONTENT_TYPE);
 
         String[] localVarAuthNames = new String[] { "apiKeyAuth" };
-        return apiClient.buildCall(localVarPath, "POST", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressRequestListener);
+        return apiClient.buildCall("cancelScriptExecution", localVarPath, "POST", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressListener, progressRequestListener);
     }
     
     @SuppressWarnings("rawtypes")
@@ -189,41 +198,21 @@ public class ScriptexecutionsApi {
         Object localVarPostBody = body;
         
         // create path and map variables
-        String localVarPath = "/api/script-executions";
+        String localVarPath = CREATE_SCRIPT_EXECUTION_PATH.expand();
 
-        List<Pair> localVarQueryParams = new ArrayList<Pair>();
-        List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
+        // the operation has no query or form parameters
+        List<Pair> localVarQueryParams = null;
+        List<Pair> localVarCollectionQueryParams = null;
 
         Map<String, String> localVarHeaderParams = new HashMap<String, String>();
 
-        Map<String, Object> localVarFormParams = new HashMap<String, Object>();
-
-        final String[] localVarAccepts = {
-            "application/json"
-        };
-        final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        if (localVarAccept != null) localVarHeaderParams.put("Accept", localVarAccept);
+        Map<String, Object> localVarFormParams = null;
 
-        final String[] localVarContentTypes = {
-            "application/json"
-        };
-        final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-        localVarHeaderParams.put("Content-Type", localVarContentType);
-
-        if(progressListener != null) {
-            apiClient.getHttpClient().networkInterceptors().add(new com.squareup.okhttp.Interceptor() {
-                @Override
-                public com.squareup.okhttp.Response intercept(com.squareup.okhttp.Interceptor.Chain chain) throws IOException {
-                    com.squareup.okhttp.Response originalResponse = chain.proceed(chain.request());
-                    return originalResponse.newBuilder()
-                    .body(new ProgressResponseBody(originalResponse.body(), progressListener))
-                    .build();
-                }
-            });
-        }
+        if (CREATE_SCRIPT_EXECUTION_ACCEPT != null) localVarHeaderParams.put("Accept", CREATE_SCRIPT_EXECUTION_ACCEPT);
+        localVarHeaderParams.put("Content-Type", CREATE_SCRIPT_EXECUTION_CONTENT_TYPE);
 
         String[] localVarAuthNames = new String[] { "apiKeyAuth" };
-        return apiClient.buildCall(localVarPath, "POST", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressRequestListener);
+        return apiClient.buildCall("createScriptExecution", localVarPath, "POST", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressListener, progressRequestListener);
     }
     
     @SuppressWarnings("rawtypes")
@@ -309,42 +298,21 @@ public class ScriptexecutionsApi {
         Object localVarPostBody = null;
         
         // create path and map variables
-        String localVarPath = "/api/script-executions/{id}"
-            .replaceAll("\\{" + "id" + "\\}", apiClient.escapeString(id.toString()));
+        String localVarPath = GET_SCRIPT_EXECUTION_PATH.expand(id.toString());
 
-        List<Pair> localVarQueryParams = new ArrayList<Pair>();
-        List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
+        // the operation has no query or form parameters
+        List<Pair> localVarQueryParams = null;
+        List<Pair> localVarCollectionQueryParams = null;
 
         Map<String, String> localVarHeaderParams = new HashMap<String, String>();
 
-        Map<String, Object> localVarFormParams = new HashMap<String, Object>();
-
-        final String[] localVarAccepts = {
-            "application/json"
-        };
-        final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        if (localVarAccept != null) localVarHeaderParams.put("Accept", localVarAccept);
+        Map<String, Object> localVarFormParams = null;
 
-        final String[] localVarContentTypes = {
-            
-        };
-        final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-        localVarHeaderParams.put("Content-Type", localVarContentType);
-
-        if(progressListener != null) {
-            apiClient.getHttpClient().networkInterceptors().add(new com.squareup.okhttp.Interceptor() {
-                @Override
-                public com.squareup.okhttp.Response intercept(com.squareup.okhttp.Interceptor.Chain chain) throws IOException {
-                    com.squareup.okhttp.Response originalResponse = chain.proceed(chain.request());
-                    return originalResponse.newBuilder()
-                    .body(new ProgressResponseBody(originalResponse.body(), progressListener))
-                    .build();
-                }
-            });
-        }
+        if (GET_SCRIPT_EXECUTION_ACCEPT != null) localVarHeaderParams.put("Accept", GET_SCRIPT_EXECUTION_ACCEPT);
+        localVarHeaderParams.put("Content-Type", GET_SCRIPT_EXECUTION_CONTENT_TYPE);
 
         String[] localVarAuthNames = new String[] { "apiKeyAuth" };
-        return apiClient.buildCall(localVarPath, "GET", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressRequestListener);
+        return apiClient.buildCall("getScriptExecution", localVarPath, "GET", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressListener, progressRequestListener);
     }
     
     @SuppressWarnings("rawtypes")
@@ -422,6 +390,47 @@ public class ScriptexecutionsApi {
         apiClient.executeAsync(call, localVarReturnType, callback);
         return call;
     }
+
+    /**
+     * Waits for a script execution to complete.
+     * Polls the script execution until it is no longer running, often at first and then less and less
+     * often, as the polling policy of the API client says.
+     * @param id Unique identifier of the script execution (required)
+     * @param deadline Deadline to stop polling at, null for the deadline of the API client
+     * @return Future of the completed script execution, which tells the number of polls it took
+     * @throws ApiException If the id is missing
+     */
+    public PollingFuture<ScriptExecution> awaitCompletion(String id, Deadline deadline) throws ApiException {
+        return awaitCompletion(id, deadline, null);
+    }
+
+    /**
+     * Waits for a script execution to complete (asynchronously)
+     * Same as {@link #awaitCompletion(String, Deadline)}, and the callback is invoked with the completed
+     * script execution or with the failure.
+     * @param id Unique identifier of the script execution (required)
+     * @param deadline Deadline to stop polling at, null for the deadline of the API client
+     * @param callback The callback to be executed when the script execution completes
+     * @return Future of the completed script execution, which tells the number of polls it took
+     * @throws ApiException If the id is missing
+     */
+    public PollingFuture<ScriptExecution> awaitCompletion(final String id, Deadline deadline, final ApiCallback<ScriptExecution> callback) throws ApiException {
+        if (id == null) {
+            throw new ApiException("Missing the required parameter 'id' when calling awaitCompletion");
+        }
+        final ScriptexecutionsApi api = deadline != null ? new ScriptexecutionsApi(apiClient.withDeadline(deadline)) : this;
+        return api.apiClient.executePolling(new PollingFuture.Poll<ScriptExecution>() {
+            @Override
+            public com.squareup.okhttp.Call call(ApiCallback<ScriptExecution> pollCallback) throws ApiException {
+                return api.getScriptExecutionAsync(id, pollCallback);
+            }
+
+            @Override
+            public boolean isDone(ScriptExecution result) {
+                return result.getState() != ScriptExecutionState.RUNNING;
+            }
+        }, callback);
+    }
     /**
      * Build call for getScriptExecutionOutput
      * @param id Unique identifier of the script execution (required)
@@ -434,42 +443,21 @@ public class ScriptexecutionsApi {
         Object localVarPostBody = null;
         
         // create path and map variables
-        String localVarPath = "/api/script-executions/{id}/output"
-            .replaceAll("\\{" + "id" + "\\}", apiClient.escapeString(id.toString()));
+        String localVarPath = GET_SCRIPT_EXECUTION_OUTPUT_PATH.expand(id.toString());
 
-        List<Pair> localVarQueryParams = new ArrayList<Pair>();
-        List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
+        // the operation has no query or form parameters
+        List<Pair> localVarQueryParams = null;
+        List<Pair> localVarCollectionQueryParams = null;
 
         Map<String, String> localVarHeaderParams = new HashMap<String, String>();
 
-        Map<String, Object> localVarFormParams = new HashMap<String, Object>();
-
-        final String[] localVarAccepts = {
-            "application/json"
-        };
-        final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        if (localVarAccept != null) localVarHeaderParams.put("Accept", localVarAccept);
+        Map<String, Object> localVarFormParams = null;
 
-        final String[] localVarContentTypes = {
-            
-        };
-        final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-        localVarHeaderParams.put("Content-Type", localVarContentType);
-
-        if(progressListener != null) {
-            apiClient.getHttpClient().networkInterceptors().add(new com.squareup.okhttp.Interceptor() {
-                @Override
-                public com.squareup.okhttp.Response intercept(com.squareup.okhttp.Interceptor.Chain chain) throws IOException {
-                    com.squareup.okhttp.Response originalResponse = chain.proceed(chain.request());
-                    return originalResponse.newBuilder()
-                    .body(new ProgressResponseBody(originalResponse.body(), progressListener))
-                    .build();
-                }
-            });
-        }
+        if (GET_SCRIPT_EXECUTION_OUTPUT_ACCEPT != null) localVarHeaderParams.put("Accept", GET_SCRIPT_EXECUTION_OUTPUT_ACCEPT);
+        localVarHeaderParams.put("Content-Type", GET_SCRIPT_EXECUTION_OUTPUT_CONTENT_TYPE);
 
         String[] localVarAuthNames = new String[] { "apiKeyAuth" };
-        return apiClient.buildCall(localVarPath, "GET", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressRequestListener);
+        return apiClient.buildCall("getScriptExecutionOutput", localVarPath, "GET", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressListener, progressRequestListener);
     }
     
     @SuppressWarnings("rawtypes")
@@ -547,6 +535,20 @@ public class ScriptexecutionsApi {
         apiClient.executeAsync(call, localVarReturnType, callback);
         return call;
     }
+
+    /**
+     * Iterates output objects produced by a script execution.
+     * Same as {@link #getScriptExecutionOutput(String)}, but the output lines are parsed one at a time
+     * as they are read from the connection, so memory use does not depend on the size of the output.
+     * The connection is released when the iterator is exhausted or closed.
+     * @param id Unique identifier of the script execution (required)
+     * @return CloseableIterator&lt;String&gt;
+     * @throws ApiException If fail to call the API, e.g. server error or the response is not a JSON array
+     */
+    public CloseableIterator<String> iterateScriptExecutionOutput(String id) throws ApiException {
+        com.squareup.okhttp.Call call = getScriptExecutionOutputValidateBeforeCall(id, null, null);
+        return apiClient.executeIterator(call, String.class);
+    }
     /**
      * Build call for getScriptExecutionStream
      * @param id Unique identifier of the script execution (required)
@@ -560,43 +562,21 @@ public class ScriptexecutionsApi {
         Object localVarPostBody = null;
         
         // create path and map variables
-        String localVarPath = "/api/script-executions/{id}/streams/{stream-type}"
-            .replaceAll("\\{" + "id" + "\\}", apiClient.escapeString(id.toString()))
-            .replaceAll("\\{" + "stream-type" + "\\}", apiClient.escapeString(streamType.toString()));
+        String localVarPath = GET_SCRIPT_EXECUTION_STREAM_PATH.expand(id.toString(), streamType.toString());
 
-        List<Pair> localVarQueryParams = new ArrayList<Pair>();
-        List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
+        // the operation has no query or form parameters
+        List<Pair> localVarQueryParams = null;
+        List<Pair> localVarCollectionQueryParams = null;
 
         Map<String, String> localVarHeaderParams = new HashMap<String, String>();
 
-        Map<String, Object> localVarFormParams = new HashMap<String, Object>();
-
-        final String[] localVarAccepts = {
-            "application/json"
-        };
-        final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        if (localVarAccept != null) localVarHeaderParams.put("Accept", localVarAccept);
+        Map<String, Object> localVarFormParams = null;
 
-        final String[] localVarContentTypes = {
-            
-        };
-        final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-        localVarHeaderParams.put("Content-Type", localVarContentType);
-
-        if(progressListener != null) {
-            apiClient.getHttpClient().networkInterceptors().add(new com.squareup.okhttp.Interceptor() {
-                @Override
-                public com.squareup.okhttp.Response intercept(com.squareup.okhttp.Interceptor.Chain chain) throws IOException {
-                    com.squareup.okhttp.Response originalResponse = chain.proceed(chain.request());
-                    return originalResponse.newBuilder()
-                    .body(new ProgressResponseBody(originalResponse.body(), progressListener))
-                    .build();
-                }
-            });
-        }
+        if (GET_SCRIPT_EXECUTION_STREAM_ACCEPT != null) localVarHeaderParams.put("Accept", GET_SCRIPT_EXECUTION_STREAM_ACCEPT);
+        localVarHeaderParams.put("Content-Type", GET_SCRIPT_EXECUTION_STREAM_CONTENT_TYPE);
 
         String[] localVarAuthNames = new String[] { "apiKeyAuth" };
-        return apiClient.buildCall(localVarPath, "GET", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressRequestListener);
+        return apiClient.buildCall("getScriptExecutionStream", localVarPath, "GET", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressListener, progressRequestListener);
     }
     
     @SuppressWarnings("rawtypes")
@@ -681,6 +661,21 @@ public class ScriptexecutionsApi {
         apiClient.executeAsync(call, localVarReturnType, callback);
         return call;
     }
+
+    /**
+     * Iterates stream records received during script execution.
+     * Same as {@link #getScriptExecutionStream(String, StreamType)}, but the records are parsed one at a time
+     * as they are read from the connection, so memory use does not depend on the number of records.
+     * The connection is released when the iterator is exhausted or closed.
+     * @param id Unique identifier of the script execution (required)
+     * @param streamType Type of the stream for which records to be retrieved (required)
+     * @return CloseableIterator&lt;StreamRecord&gt;
+     * @throws ApiException If fail to call the API, e.g. server error or the response is not a JSON array
+     */
+    public CloseableIterator<StreamRecord> iterateScriptExecutionStream(String id, StreamType streamType) throws ApiException {
+        com.squareup.okhttp.Call call = getScriptExecutionStreamValidateBeforeCall(id, streamType, null, null);
+        return apiClient.executeIterator(call, StreamRecord.class);
+    }
     /**
      * Build call for listScriptExecutions
      * @param progressListener Progress listener
@@ -692,41 +687,21 @@ public class ScriptexecutionsApi {
         Object localVarPostBody = null;
         
         // create path and map variables
-        String localVarPath = "/api/script-executions";
+        String localVarPath = LIST_SCRIPT_EXECUTIONS_PATH.expand();
 
-        List<Pair> localVarQueryParams = new ArrayList<Pair>();
-        List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
+        // the operation has no query or form parameters
+        List<Pair> localVarQueryParams = null;
+        List<Pair> localVarCollectionQueryParams = null;
 
         Map<String, String> localVarHeaderParams = new HashMap<String, String>();
 
-        Map<String, Object> localVarFormParams = new HashMap<String, Object>();
-
-        final String[] localVarAccepts = {
-            "application/json"
-        };
-        final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        if (localVarAccept != null) localVarHeaderParams.put("Accept", localVarAccept);
-
-        final String[] localVarContentTypes = {
-            
-        };
-        final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-        localVarHeaderParams.put("Content-Type", localVarContentType);
+        Map<String, Object> localVarFormParams = null;
 
-        if(progressListener != null) {
-            apiClient.getHttpClient().networkInterceptors().add(new com.squareup.okhttp.Interceptor() {
-                @Override
-                public com.squareup.okhttp.Response intercept(com.squareup.okhttp.Interceptor.Chain chain) throws IOException {
-                    com.squareup.okhttp.Response originalResponse = chain.proceed(chain.request());
-                    return originalResponse.newBuilder()
-                    .body(new ProgressResponseBody(originalResponse.body(), progressListener))
-                    .build();
-                }
-            });
-        }
+        if (LIST_SCRIPT_EXECUTIONS_ACCEPT != null) localVarHeaderParams.put("Accept", LIST_SCRIPT_EXECUTIONS_ACCEPT);
+        localVarHeaderParams.put("Content-Type", LIST_SCRIPT_EXECUTIONS_CONTENT_TYPE);
 
         String[] localVarAuthNames = new String[] { "apiKeyAuth" };
-        return apiClient.buildCall(localVarPath, "GET", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressRequestListener);
+        return apiClient.buildCall("listScriptExecutions", localVarPath, "GET", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressListener, progressRequestListener);
     }
     
     @SuppressWarnings("rawtypes")
@@ -0,0 +1,366 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.Call;
+import com.squareup.okhttp.Callback;
+import com.squareup.okhttp.Connection;
+import com.squareup.okhttp.Headers;
+import com.squareup.okhttp.Interceptor;
+import com.squareup.okhttp.MediaType;
+import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.Protocol;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.RequestBody;
+import com.squareup.okhttp.Response;
+import com.squareup.okhttp.ResponseBody;
+import okio.BufferedSink;
+import okio.Okio;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link HttpTransport} executing requests with the JDK {@link HttpClient}.
+ *
+ * The JDK client negotiates HTTP/2 with the gateway and multiplexes
+ * concurrent requests over a single connection per host, instead of holding
+ * one connection per in-flight request. The application and network
+ * interceptors and the read timeout of {@link ApiClient#getHttpClient()} are
+ * applied to every exchange, so logging, progress and call listeners keep working.
+ * The timeout is shrunk to the time remaining until the {@link Deadline} of the call.
+ *
+ * The default JDK client takes its SSL context from the TLS settings of the
+ * API client at the time the transport is created. A JDK client passed in
+ * keeps its own, see {@link HttpClient.Builder#sslContext}.
+ */
+public class JdkHttpTransport implements HttpTransport {
+    // headers managed by the JDK client, which refuses to send them explicitly
+    private static final Set<String> RESTRICTED_HEADERS = new HashSet<>(Arrays.asList(
+            "connection", "content-length", "expect", "host", "upgrade"));
+
+    // bytes of a request body buffered between the interceptor chain and the JDK client
+    private static final int BODY_PIPE_SIZE = 64 * 1024;
+    private static final Logger logger = Logger.getLogger(JdkHttpTransport.class.getName());
+
+    private final ApiClient apiClient;
+    private final HttpClient httpClient;
+    private final Executor executor;
+
+    /**
+     * Create a transport with an HTTP/2-preferring JDK client using the connect timeout
+     * and the TLS settings of the given API client.
+     *
+     * @param apiClient The API client whose interceptors, timeouts and TLS settings are applied
+     */
+    public JdkHttpTransport(ApiClient apiClient) {
+        this(apiClient, newDefaultHttpClient(apiClient));
+    }
+
+    /**
+     * @param apiClient The API client whose interceptors and timeouts are applied
+     * @param httpClient The JDK client executing the requests
+     */
+    public JdkHttpTransport(ApiClient apiClient, HttpClient httpClient) {
+        this.apiClient = apiClient;
+        this.httpClient = httpClient;
+        this.executor = httpClient.executor().orElseGet(() -> newDefaultExecutor(apiClient.getMaxRequests()));
+    }
+
+    private static HttpClient newDefaultHttpClient(ApiClient apiClient) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .sslContext(apiClient.getSslContext());
+        if (apiClient.getConnectTimeout() > 0) {
+            builder.connectTimeout(Duration.ofMillis(apiClient.getConnectTimeout()));
+        }
+        return builder.build();
+    }
+
+    /**
+     * The interceptor chain of an enqueued call runs on a thread of this
+     * executor until the response arrives, so at most maxRequests calls are
+     * in flight and the others wait in its queue.
+     */
+    private static ExecutorService newDefaultExecutor(int maxRequests) {
+        AtomicInteger threads = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxRequests, maxRequests, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "JdkHttpTransport Dispatcher-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    @Override
+    public Call newCall(Request request) {
+        return new JdkCall(apiClient.getHttpClient(), request);
+    }
+
+    private class JdkCall extends Call {
+        private final OkHttpClient client;
+        private final Request originalRequest;
+        private boolean executed;
+        private volatile boolean canceled;
+        private volatile CompletableFuture<HttpResponse<InputStream>> inFlight;
+
+        JdkCall(OkHttpClient client, Request originalRequest) {
+            super(client, originalRequest);
+            this.client = client;
+            this.originalRequest = originalRequest;
+        }
+
+        @Override
+        public Response execute() throws IOException {
+            markExecuted();
+            return getResponseWithInterceptorChain();
+        }
+
+        @Override
+        public void enqueue(final Callback responseCallback) {
+            markExecuted();
+            executor.execute(() -> {
+                // like OkHttp, the callback is signalled once: a failure of
+                // onResponse is only logged
+                boolean signalledCallback = false;
+                try {
+                    Response response = getResponseWithInterceptorChain();
+                    if (canceled) {
+                        closeQuietly(response.body());
+                        signalledCallback = true;
+                        responseCallback.onFailure(originalRequest, new IOException("Canceled"));
+                    } else {
+                        signalledCallback = true;
+                        responseCallback.onResponse(response);
+                    }
+                } catch (IOException e) {
+                    if (signalledCallback) {
+                        logger.log(Level.INFO, "Callback failure for call to " + originalRequest.httpUrl(), e);
+                    } else {
+                        responseCallback.onFailure(originalRequest, e);
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void cancel() {
+            canceled = true;
+            CompletableFuture<HttpResponse<InputStream>> future = inFlight;
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        @Override
+        public synchronized boolean isExecuted() {
+            return executed;
+        }
+
+        private synchronized void markExecuted() {
+            if (executed) throw new IllegalStateException("Already Executed");
+            executed = true;
+        }
+
+        private Response getResponseWithInterceptorChain() throws IOException {
+            List<Interceptor> interceptors = new ArrayList<>(client.interceptors());
+            interceptors.addAll(client.networkInterceptors());
+            return new JdkChain(interceptors, 0, originalRequest).proceed(originalRequest);
+        }
+
+        private class JdkChain implements Interceptor.Chain {
+            private final List<Interceptor> interceptors;
+            private final int index;
+            private final Request request;
+
+            JdkChain(List<Interceptor> interceptors, int index, Request request) {
+                this.interceptors = interceptors;
+                this.index = index;
+                this.request = request;
+            }
+
+            @Override
+            public Request request() {
+                return request;
+            }
+
+            @Override
+            public Connection connection() {
+                return null;
+            }
+
+            @Override
+            public Response proceed(Request request) throws IOException {
+                if (index < interceptors.size()) {
+                    Interceptor interceptor = interceptors.get(index);
+                    Response response = interceptor.intercept(new JdkChain(interceptors, index + 1, request));
+                    if (response == null) {
+                        throw new NullPointerException("application interceptor " + interceptor + " returned null");
+                    }
+                    return response;
+                }
+                return send(request);
+            }
+        }
+
+        private Response send(Request request) throws IOException {
+            if (canceled) throw new IOException("Canceled");
+
+            HttpRequest.Builder builder = HttpRequest.newBuilder(request.uri());
+            long timeout = client.getReadTimeout();
+            RequestTag tag = RequestTag.of(request);
+            if (tag != null && tag.getDeadline() != null) {
+                long remaining = Math.max(1, tag.getDeadline().remaining(TimeUnit.MILLISECONDS));
+                timeout = timeout > 0 ? Math.min(timeout, remaining) : remaining;
+            }
+            if (timeout > 0) {
+                builder.timeout(Duration.ofMillis(timeout));
+            }
+            Headers headers = request.headers();
+            for (int i = 0; i < headers.size(); i++) {
+                if (!RESTRICTED_HEADERS.contains(headers.name(i).toLowerCase())) {
+                    builder.header(headers.name(i), headers.value(i));
+                }
+            }
+            RequestBody body = request.body();
+            PipedOutputStream bodySink = null;
+            if (body == null) {
+                builder.method(request.method(), HttpRequest.BodyPublishers.noBody());
+            } else {
+                if (body.contentType() != null && request.header("Content-Type") == null) {
+                    builder.header("Content-Type", body.contentType().toString());
+                }
+                // the body is written below while the JDK client sends it, never held whole
+                PipedInputStream bodySource = new PipedInputStream(BODY_PIPE_SIZE);
+                bodySink = new PipedOutputStream(bodySource);
+                HttpRequest.BodyPublisher publisher = HttpRequest.BodyPublishers.ofInputStream(oneShot(bodySource));
+                long contentLength = body.contentLength();
+                builder.method(request.method(), contentLength < 0
+                        ? publisher : HttpRequest.BodyPublishers.fromPublisher(publisher, contentLength));
+            }
+
+            CompletableFuture<HttpResponse<InputStream>> future =
+                    httpClient.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+            inFlight = future;
+            if (canceled) future.cancel(true);
+            if (bodySink != null) {
+                writeBody(body, bodySink, future);
+            }
+            HttpResponse<InputStream> httpResponse;
+            try {
+                httpResponse = future.get();
+            } catch (CancellationException e) {
+                throw new IOException("Canceled");
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+                throw new IOException(e.getCause());
+            }
+            return toResponse(request, httpResponse);
+        }
+    }
+
+    /**
+     * Write the body into the pipe the JDK client reads it from. A response
+     * that arrives before the whole body was read, e.g. an early error, ends
+     * the writing.
+     */
+    private static void writeBody(RequestBody body, PipedOutputStream bodySink,
+                                  CompletableFuture<HttpResponse<InputStream>> future) throws IOException {
+        future.whenComplete((response, failure) -> closeQuietly(bodySink));
+        try (BufferedSink sink = Okio.buffer(Okio.sink(bodySink))) {
+            body.writeTo(sink);
+        } catch (IOException e) {
+            if (!future.isDone()) {
+                future.cancel(true);
+                throw e;
+            }
+        }
+    }
+
+    private static Supplier<InputStream> oneShot(InputStream body) {
+        AtomicBoolean supplied = new AtomicBoolean();
+        return () -> {
+            if (supplied.getAndSet(true)) {
+                throw new IllegalStateException("The request body can be sent only once");
+            }
+            return body;
+        };
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+            // nothing left to do with it
+        }
+    }
+
+    private static Response toResponse(Request request, HttpResponse<InputStream> httpResponse) {
+        Headers.Builder headers = new Headers.Builder();
+        for (Map.Entry<String, List<String>> header : httpResponse.headers().map().entrySet()) {
+            if (header.getKey().startsWith(":")) continue; // HTTP/2 pseudo headers
+            for (String value : header.getValue()) {
+                headers.add(header.getKey(), value);
+            }
+        }
+        String contentType = httpResponse.headers().firstValue("Content-Type").orElse(null);
+        long contentLength = httpResponse.headers().firstValueAsLong("Content-Length").orElse(-1L);
+        ResponseBody body = ResponseBody.create(
+                contentType != null ? MediaType.parse(contentType) : null,
+                contentLength,
+                Okio.buffer(Okio.source(httpResponse.body())));
+        return new Response.Builder()
+                .request(request)
+                .protocol(httpResponse.version() == HttpClient.Version.HTTP_2 ? Protocol.HTTP_2 : Protocol.HTTP_1_1)
+                .code(httpResponse.statusCode())
+                .message("")
+                .headers(headers.build())
+                .body(body)
+                .build();
+    }
+}
@@ -0,0 +1,100 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client.api;
+
+import io.swagger.client.model.ScriptExecution;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Submits a {@link Stream} or a {@link Flow.Publisher} of requests with a
+ * {@link BulkScriptSubmitter}.
+ *
+ * A publisher is subscribed with a demand of {@link BulkScriptSubmitter#getMaxInFlight()}
+ * requests and asked for one more as each submission completes, so it never
+ * gets ahead of the server.
+ */
+public final class FlowScriptSubmitter {
+
+    private FlowScriptSubmitter() {
+    }
+
+    /**
+     * @param submitter Submitter to create the script executions with
+     * @param requests The script executions to create, read lazily on a background thread
+     * @return The batch
+     */
+    public static <T extends ScriptExecution> BulkSubmission submit(BulkScriptSubmitter submitter, Stream<T> requests) {
+        Iterable<T> iterable = requests::iterator;
+        return submitter.submit(iterable);
+    }
+
+    /**
+     * @param submitter Submitter to create the script executions with
+     * @param requests Publisher of the script executions to create
+     * @return The batch
+     */
+    public static BulkSubmission submit(BulkScriptSubmitter submitter, Flow.Publisher<? extends ScriptExecution> requests) {
+        BulkSubmission submission = submitter.start();
+        requests.subscribe(new Subscriber(submission, submitter.getMaxInFlight()));
+        return submission;
+    }
+
+    private static class Subscriber implements Flow.Subscriber<ScriptExecution> {
+        private final BulkSubmission submission;
+        private final int maxInFlight;
+        private final AtomicBoolean fed = new AtomicBoolean();
+        private volatile Flow.Subscription subscription;
+
+        Subscriber(BulkSubmission submission, int maxInFlight) {
+            this.submission = submission;
+            this.maxInFlight = maxInFlight;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(maxInFlight);
+        }
+
+        @Override
+        public void onNext(ScriptExecution request) {
+            if (submission.isCanceled()) {
+                stop();
+                return;
+            }
+            submission.submit(request, () -> {
+                if (submission.isCanceled()) {
+                    stop();
+                } else {
+                    subscription.request(1);
+                }
+            });
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            fed(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            fed(null);
+        }
+
+        private void stop() {
+            subscription.cancel();
+            fed(null);
+        }
+
+        private void fed(Throwable failure) {
+            if (fed.compareAndSet(false, true)) {
+                submission.fed(failure);
+            }
+        }
+    }
+}
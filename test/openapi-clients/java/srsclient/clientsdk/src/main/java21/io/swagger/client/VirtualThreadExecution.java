@@ -0,0 +1,55 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.Dispatcher;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs API calls on virtual threads.
+ *
+ * Synchronous workflows, such as creating a runspace, running a script and
+ * polling it to completion, can be written as plain blocking code and
+ * started on {@link #newExecutor()}, one virtual thread per workflow. A
+ * virtual thread blocked on a socket read, in {@link Deadline#sleep(long)}
+ * or waiting for a coalesced call gives its carrier thread back, so tens of
+ * thousands of workflows run on a handful of platform threads.
+ *
+ * {@link #enable(ApiClient)} runs the callbacks of asynchronous calls on
+ * virtual threads too. For the {@link JdkHttpTransport} build its
+ * {@code HttpClient} with {@code executor(newExecutor())} instead.
+ */
+public final class VirtualThreadExecution {
+
+    private VirtualThreadExecution() {
+    }
+
+    /**
+     * Executor starting a new virtual thread per task.
+     *
+     * @return Executor service
+     */
+    public static ExecutorService newExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ApiClient virtual-", 0).factory());
+    }
+
+    /**
+     * Run the asynchronous calls of the API client on virtual threads. The
+     * request limits of the current dispatcher are kept.
+     *
+     * @param apiClient API client
+     * @return API client
+     */
+    public static ApiClient enable(ApiClient apiClient) {
+        Dispatcher current = apiClient.getHttpClient().getDispatcher();
+        Dispatcher dispatcher = new Dispatcher(newExecutor());
+        dispatcher.setMaxRequests(current.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(current.getMaxRequestsPerHost());
+        apiClient.getHttpClient().setDispatcher(dispatcher);
+        return apiClient;
+    }
+}
@@ -0,0 +1,60 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import org.junit.Assume;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Callable;
+
+/**
+ * Heap allocated by a code path on the calling thread, to compare a path
+ * with the one it replaced
+ */
+final class Allocations {
+
+    private static final int WARM_UP_CALLS = 50000;
+    private static final int ROUNDS = 5;
+
+    // keeps the results reachable so the compiler cannot elide their allocation
+    private static volatile int sink;
+
+    private Allocations() {
+    }
+
+    /**
+     * Run the path until compiled, then measure it over a few rounds and keep
+     * the lowest, as a round may run while the path is being recompiled.
+     * Skips the test on JVMs not reporting the allocations of a thread.
+     *
+     * @param calls Number of measured calls per round
+     * @param path The code path, returning what it built
+     * @return Bytes allocated per call
+     */
+    static long bytesPerCall(int calls, Callable<?> path) throws Exception {
+        java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) threadBean;
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        run(WARM_UP_CALLS, path);
+        long threadId = Thread.currentThread().getId();
+        long lowest = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            long before = threads.getThreadAllocatedBytes(threadId);
+            run(calls, path);
+            lowest = Math.min(lowest, (threads.getThreadAllocatedBytes(threadId) - before) / calls);
+        }
+        return lowest;
+    }
+
+    private static void run(int calls, Callable<?> path) throws Exception {
+        int hash = 0;
+        for (int i = 0; i < calls; i++) {
+            hash ^= System.identityHashCode(path.call());
+        }
+        sink = hash;
+    }
+}
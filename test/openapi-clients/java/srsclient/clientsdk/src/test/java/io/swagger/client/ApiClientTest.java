@@ -0,0 +1,203 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.Interceptor;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.mockwebserver.Dispatcher;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+import io.swagger.client.api.ScriptexecutionsApi;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import okio.Source;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for ApiClient against a local stand-in server
+ */
+public class ApiClientTest {
+
+    private static final String SCRIPT_EXECUTION_JSON = "{\"id\":\"se-1\",\"state\":\"running\"}";
+
+    private MockWebServer server;
+    private ApiClient apiClient;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody(SCRIPT_EXECUTION_JSON);
+            }
+        });
+        server.start();
+        apiClient = new ApiClient();
+        apiClient.setBasePath("http://" + server.getHostName() + ":" + server.getPort());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    /**
+     * Default headers are sent with every request, operation headers take precedence.
+     */
+    @Test
+    public void defaultHeadersTest() throws Exception {
+        apiClient.setUserAgent("srs-test");
+        apiClient.addDefaultHeader("Accept", "text/plain");
+        apiClient.addDefaultHeader("X-Request-Source", "test");
+        apiClient.setApiKey("key-1");
+
+        new ScriptexecutionsApi(apiClient).getScriptExecution("se-1");
+
+        RecordedRequest request = server.takeRequest();
+        assertEquals("srs-test", request.getHeader("User-Agent"));
+        assertEquals("test", request.getHeader("X-Request-Source"));
+        assertEquals("application/json", request.getHeader("Accept"));
+        assertEquals("key-1", request.getHeader("X-SRS-API-KEY"));
+        assertEquals("/api/script-executions/se-1", request.getPath());
+    }
+
+    /**
+     * Copying the default headers encoded once allocates no more per request
+     * than encoding them from the map next to always empty parameter
+     * containers. It is usually less, unless escape analysis drops the empty
+     * containers of the old path; one object is allowed for the bytes the
+     * thread allocates outside the measured path.
+     */
+    @Test
+    public void defaultHeadersAllocationTest() throws Exception {
+        apiClient.setUserAgent("srs-test");
+        apiClient.addDefaultHeader("X-Request-Source", "test");
+        final Map<String, String> defaultHeaderMap = new HashMap<String, String>();
+        defaultHeaderMap.put("User-Agent", "srs-test");
+        defaultHeaderMap.put("X-Request-Source", "test");
+        final Map<String, String> headerParams = new HashMap<String, String>();
+        headerParams.put("Accept", "application/json");
+        headerParams.put("Content-Type", "application/json");
+
+        long perRequest = Allocations.bytesPerCall(20000, new Callable<Request.Builder>() {
+            @Override
+            public Request.Builder call() {
+                List<Pair> queryParams = new ArrayList<Pair>();
+                List<Pair> collectionQueryParams = new ArrayList<Pair>();
+                Map<String, Object> formParams = new HashMap<String, Object>();
+                Request.Builder reqBuilder = new Request.Builder();
+                for (Map.Entry<String, String> param : headerParams.entrySet()) {
+                    reqBuilder.header(param.getKey(), apiClient.parameterToString(param.getValue()));
+                }
+                for (Map.Entry<String, String> header : defaultHeaderMap.entrySet()) {
+                    if (!headerParams.containsKey(header.getKey())) {
+                        reqBuilder.header(header.getKey(), apiClient.parameterToString(header.getValue()));
+                    }
+                }
+                return queryParams.size() + collectionQueryParams.size() + formParams.size() == 0 ? reqBuilder : null;
+            }
+        });
+        long encodedOnce = Allocations.bytesPerCall(20000, new Callable<Request.Builder>() {
+            @Override
+            public Request.Builder call() {
+                // the query parameters buildRequest creates for the authentications
+                List<Pair> queryParams = new ArrayList<Pair>(0);
+                Request.Builder reqBuilder = new Request.Builder();
+                apiClient.processHeaderParams(headerParams, reqBuilder);
+                return queryParams.isEmpty() ? reqBuilder : null;
+            }
+        });
+        assertTrue("encoded once: " + encodedOnce + " bytes, per request: " + perRequest + " bytes per request",
+                encodedOnce <= perRequest + 16);
+    }
+
+    /**
+     * A client derived with an API key shares the HTTP stack and differs only in authentication.
+     */
+    @Test
+    public void withApiKeyTest() throws Exception {
+        apiClient.setUsername("user");
+        apiClient.setPassword("secret");
+        ApiClient session = apiClient.withApiKey("key-1");
+
+        assertSame(apiClient.getHttpClient(), session.getHttpClient());
+        assertSame(apiClient.getJSON(), session.getJSON());
+        assertEquals(apiClient.getBasePath(), session.getBasePath());
+
+        new ScriptexecutionsApi(session).getScriptExecution("se-1");
+        new ScriptexecutionsApi(apiClient).getScriptExecution("se-1");
+
+        RecordedRequest sessionRequest = server.takeRequest();
+        assertEquals("key-1", sessionRequest.getHeader("X-SRS-API-KEY"));
+        assertNull(sessionRequest.getHeader("Authorization"));
+        assertNull(server.takeRequest().getHeader("X-SRS-API-KEY"));
+        assertEquals(1, session.getConnectionStats().getReusedExchanges());
+    }
+
+    /**
+     * The settings of the shared HTTP stack cannot be changed on a derived client.
+     */
+    @Test
+    public void derivedClientSettingsTest() throws Exception {
+        RetryPolicy retryPolicy = new RetryPolicy();
+        apiClient.setRetryPolicy(retryPolicy);
+        final ApiClient session = apiClient.withApiKey("key-1").withDeadline(null);
+        List<Runnable> setters = Arrays.<Runnable>asList(
+                new Runnable() { public void run() { session.setHttpClient(session.getHttpClient()); } },
+                new Runnable() { public void run() { session.setVerifyingSsl(false); } },
+                new Runnable() { public void run() { session.setSslCaCert(null); } },
+                new Runnable() { public void run() { session.setKeyManagers(null); } },
+                new Runnable() { public void run() { session.setLenientOnJson(true); } },
+                new Runnable() { public void run() { session.addCallListener(null); } },
+                new Runnable() { public void run() { session.setDebugging(true); } },
+                new Runnable() { public void run() { session.setCompressionEnabled(true); } },
+                new Runnable() { public void run() { session.setCompressionThreshold(0); } },
+                new Runnable() { public void run() { session.setRetryPolicy(null); } },
+                new Runnable() { public void run() { session.setCoalescingEnabled(true); } },
+                new Runnable() { public void run() { session.setConditionalGetsEnabled(true); } },
+                new Runnable() { public void run() { session.setResponseCache("getAbout", 1000, 1); } },
+                new Runnable() { public void run() { session.setBulkhead(new Bulkhead(1), "createRunspace"); } },
+                new Runnable() { public void run() { session.setCircuitBreakers(1, 1000); } },
+                new Runnable() { public void run() { session.setReadTimeout(1); } },
+                new Runnable() { public void run() { session.setConnectionPool(1, 1000); } },
+                new Runnable() { public void run() { session.setMaxRequestsPerHost(1); } });
+        for (Runnable setter : setters) {
+            try {
+                setter.run();
+                fail();
+            } catch (IllegalStateException expected) {
+            }
+        }
+        List<Interceptor> interceptors = apiClient.getHttpClient().interceptors();
+        assertEquals(1, interceptors.size());
+        assertSame(retryPolicy, apiClient.getRetryPolicy());
+        assertSame(retryPolicy, session.getRetryPolicy());
+        assertTrue(apiClient.isVerifyingSsl());
+        assertFalse(apiClient.isDebugging());
+        assertFalse(apiClient.isCompressionEnabled());
+        assertNull(apiClient.getBulkhead("createRunspace"));
+        assertEquals(5, apiClient.getMaxRequestsPerHost());
+        assertEquals("se-1", new ScriptexecutionsApi(session).getScriptExecution("se-1").getId());
+    }
+
+}
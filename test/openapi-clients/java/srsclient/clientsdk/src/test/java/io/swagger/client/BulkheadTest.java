@@ -0,0 +1,127 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.mockwebserver.Dispatcher;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+import io.swagger.client.api.RunspacesApi;
+import io.swagger.client.api.ScriptexecutionsApi;
+import io.swagger.client.model.Runspace;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for bulkheads and circuit breakers against a local stand-in server
+ */
+public class BulkheadTest {
+
+    private static final String SCRIPT_EXECUTION_JSON = "{\"id\":\"se-1\",\"state\":\"running\"}";
+
+    private MockWebServer server;
+    private ApiClient apiClient;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        apiClient = new ApiClient();
+        apiClient.setBasePath("http://" + server.getHostName() + ":" + server.getPort());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    /**
+     * Hanging runspace creation is limited by its bulkhead and its circuit breaker while polls keep working.
+     */
+    @Test
+    public void bulkheadAndCircuitBreakerTest() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                if (request.getPath().equals("/api/runspaces")) {
+                    release.await(10, TimeUnit.SECONDS);
+                    return new MockResponse().setResponseCode(503);
+                }
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody(SCRIPT_EXECUTION_JSON);
+            }
+        });
+        apiClient.setMaxRequestsPerHost(4)
+                .setBulkhead(new Bulkhead(2), "createRunspace")
+                .setCircuitBreakers(2, 60000);
+        final RunspacesApi runspacesApi = new RunspacesApi(apiClient);
+        ScriptexecutionsApi api = new ScriptexecutionsApi(apiClient);
+
+        final AtomicInteger failed = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(2);
+        for (int i = 0; i < 2; i++) {
+            runspacesApi.createRunspaceAsync(new Runspace(), new ApiCallback<Runspace>() {
+                @Override
+                public void onFailure(ApiException e, int statusCode, Map<String, List<String>> responseHeaders) {
+                    failed.incrementAndGet();
+                    done.countDown();
+                }
+
+                @Override
+                public void onSuccess(Runspace result, int statusCode, Map<String, List<String>> responseHeaders) {
+                    done.countDown();
+                }
+
+                @Override
+                public void onUploadProgress(long bytesWritten, long contentLength, boolean done) {
+                }
+
+                @Override
+                public void onDownloadProgress(long bytesRead, long contentLength, boolean done) {
+                }
+            });
+        }
+        Bulkhead bulkhead = apiClient.getBulkhead("createRunspace");
+        for (int i = 0; i < 100 && bulkhead.getActiveCalls() < 2; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(2, bulkhead.getActiveCalls());
+
+        // a third creation fails fast, polls are unaffected
+        try {
+            runspacesApi.createRunspace(new Runspace());
+            fail("the bulkhead must reject the third creation");
+        } catch (ApiException e) {
+            assertTrue(e.getCause() instanceof CallRejectedException);
+        }
+        assertEquals(1, bulkhead.getRejectedCalls());
+        assertEquals("se-1", api.getScriptExecution("se-1").getId());
+
+        release.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(2, failed.get());
+        assertEquals(CircuitBreaker.State.OPEN, apiClient.getCircuitBreaker("createRunspace").getState());
+        assertEquals(CircuitBreaker.State.CLOSED, apiClient.getCircuitBreaker("getScriptExecution").getState());
+        try {
+            runspacesApi.createRunspace(new Runspace());
+            fail("the open circuit breaker must reject creation");
+        } catch (ApiException e) {
+            assertTrue(e.getCause() instanceof CallRejectedException);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.mockwebserver.Dispatcher;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+import io.swagger.client.api.ScriptexecutionsApi;
+import io.swagger.client.model.ScriptExecution;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for Coalescer against a local stand-in server
+ */
+public class CoalescerTest {
+
+    private static final String SCRIPT_EXECUTION_JSON = "{\"id\":\"se-1\",\"state\":\"running\"}";
+
+    private MockWebServer server;
+    private ApiClient apiClient;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        apiClient = new ApiClient();
+        apiClient.setBasePath("http://" + server.getHostName() + ":" + server.getPort());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    /**
+     * Identical polls in flight share one request and its result, sync or async.
+     */
+    @Test
+    public void coalescingTest() throws Exception {
+        final AtomicInteger requests = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                requests.incrementAndGet();
+                release.await(10, TimeUnit.SECONDS);
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody(SCRIPT_EXECUTION_JSON);
+            }
+        });
+        apiClient.setCoalescingEnabled(true);
+        final ScriptexecutionsApi api = new ScriptexecutionsApi(apiClient);
+
+        final List<ScriptExecution> results = new java.util.concurrent.CopyOnWriteArrayList<ScriptExecution>();
+        final CountDownLatch done = new CountDownLatch(8);
+        for (int i = 0; i < 4; i++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        results.add(api.getScriptExecution("se-1"));
+                    } catch (ApiException e) {
+                        e.printStackTrace();
+                    }
+                    done.countDown();
+                }
+            }).start();
+            api.getScriptExecutionAsync("se-1", new ApiCallback<ScriptExecution>() {
+                @Override
+                public void onFailure(ApiException e, int statusCode, Map<String, List<String>> responseHeaders) {
+                    done.countDown();
+                }
+
+                @Override
+                public void onSuccess(ScriptExecution result, int statusCode, Map<String, List<String>> responseHeaders) {
+                    results.add(result);
+                    done.countDown();
+                }
+
+                @Override
+                public void onUploadProgress(long bytesWritten, long contentLength, boolean done) {
+                }
+
+                @Override
+                public void onDownloadProgress(long bytesRead, long contentLength, boolean done) {
+                }
+            });
+        }
+        for (int i = 0; i < 100 && apiClient.getCoalescedCalls() < 7; i++) {
+            Thread.sleep(20);
+        }
+        release.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(8, results.size());
+        for (ScriptExecution result : results) {
+            assertSame(results.get(0), result);
+        }
+        assertEquals(1, requests.get());
+        assertEquals(7, apiClient.getCoalescedCalls());
+
+        // calls after the flight get fresh data
+        assertEquals("se-1", api.getScriptExecution("se-1").getId());
+        assertEquals(2, requests.get());
+    }
+}
@@ -0,0 +1,139 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.mockwebserver.Dispatcher;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+import io.swagger.client.api.ScriptexecutionsApi;
+import io.swagger.client.model.ScriptExecution;
+import io.swagger.client.model.ScriptExecutionState;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for ConditionalCache against a local stand-in server
+ */
+public class ConditionalCacheTest {
+
+    private static final String SCRIPT_EXECUTION_JSON = "{\"id\":\"se-1\",\"state\":\"running\"}";
+
+    private MockWebServer server;
+    private ApiClient apiClient;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        apiClient = new ApiClient();
+        apiClient.setBasePath("http://" + server.getHostName() + ":" + server.getPort());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    /**
+     * Polling an unchanged resource against a server emitting ETags transfers and parses its body once.
+     */
+    @Test
+    public void conditionalGetTest() throws Exception {
+        StringBuilder list = new StringBuilder("[");
+        for (int i = 0; i < 200; i++) {
+            list.append(i == 0 ? "" : ",").append("{\"id\":\"se-").append(i)
+                .append("\",\"name\":\"poll\",\"script\":\"Get-VM | Select-Object Name, PowerState\",\"state\":\"running\"}");
+        }
+        final String listJson = list.append("]").toString();
+        final AtomicInteger version = new AtomicInteger(1);
+        final AtomicInteger bodyBytes = new AtomicInteger();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String etag = "\"v" + version.get() + "\"";
+                if (etag.equals(request.getHeader("If-None-Match"))) {
+                    return new MockResponse().setResponseCode(304).setHeader("ETag", etag);
+                }
+                String body = request.getPath().equals("/api/script-executions")
+                        ? listJson
+                        : SCRIPT_EXECUTION_JSON.replace("running", version.get() == 1 ? "running" : "success");
+                bodyBytes.addAndGet(body.length());
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setHeader("ETag", etag)
+                        .setBody(body);
+            }
+        });
+        ScriptexecutionsApi api = new ScriptexecutionsApi(apiClient);
+        int polls = 50;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < polls; i++) {
+            assertEquals(200, api.listScriptExecutions().size());
+        }
+        long unconditionalNanos = System.nanoTime() - start;
+        int unconditionalBytes = bodyBytes.getAndSet(0);
+
+        apiClient.setConditionalGetsEnabled(true);
+        List<ScriptExecution> first = api.listScriptExecutions();
+        start = System.nanoTime();
+        for (int i = 1; i < polls; i++) {
+            assertSame(first, api.listScriptExecutions());
+        }
+        long conditionalNanos = System.nanoTime() - start;
+        assertEquals(listJson.length(), bodyBytes.get());
+        assertEquals(polls - 1, apiClient.getNotModifiedResponses());
+        System.out.println(String.format("%d polls of %d executions: %d body bytes in %d ms, conditional: %d body bytes in %d ms",
+                polls, first.size(), unconditionalBytes, TimeUnit.NANOSECONDS.toMillis(unconditionalNanos),
+                bodyBytes.get(), TimeUnit.NANOSECONDS.toMillis(conditionalNanos)));
+
+        // a changed resource is transferred again
+        ScriptExecution running = api.getScriptExecution("se-1");
+        assertSame(running, api.getScriptExecution("se-1"));
+        version.incrementAndGet();
+        ScriptExecution changed = api.getScriptExecution("se-1");
+        assertEquals(ScriptExecutionState.SUCCESS, changed.getState());
+        assertSame(changed, api.getScriptExecution("se-1"));
+        assertEquals(polls + 1, apiClient.getNotModifiedResponses());
+    }
+
+    /**
+     * A 304 is answered with the result whose validator the request carried,
+     * even when the entry was evicted while the request was in flight.
+     */
+    @Test
+    public void notModifiedAfterEvictionTest() throws Exception {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if ("\"v1\"".equals(request.getHeader("If-None-Match"))) {
+                    // drops the stored entries, as an eviction would
+                    apiClient.setConditionalGetsEnabled(false);
+                    apiClient.setConditionalGetsEnabled(true);
+                    return new MockResponse().setResponseCode(304).setHeader("ETag", "\"v1\"");
+                }
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setHeader("ETag", "\"v1\"")
+                        .setBody(SCRIPT_EXECUTION_JSON);
+            }
+        });
+        apiClient.setConditionalGetsEnabled(true);
+        ScriptexecutionsApi api = new ScriptexecutionsApi(apiClient);
+
+        ScriptExecution first = api.getScriptExecution("se-1");
+        assertSame(first, api.getScriptExecution("se-1"));
+        assertEquals(1, apiClient.getNotModifiedResponses());
+    }
+}
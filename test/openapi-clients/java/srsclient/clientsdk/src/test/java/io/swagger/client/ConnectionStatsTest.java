@@ -0,0 +1,116 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.mockwebserver.Dispatcher;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+import io.swagger.client.api.ScriptexecutionsApi;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for ConnectionStats against a local stand-in server
+ */
+public class ConnectionStatsTest {
+
+    private static final String SCRIPT_EXECUTION_JSON = "{\"id\":\"se-1\",\"state\":\"running\"}";
+
+    private MockWebServer server;
+    private ApiClient apiClient;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody(SCRIPT_EXECUTION_JSON);
+            }
+        });
+        server.start();
+        apiClient = new ApiClient();
+        apiClient.setBasePath("http://" + server.getHostName() + ":" + server.getPort());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    /**
+     * Pool and dispatcher limits are configurable and the snapshot reports connection reuse.
+     */
+    @Test
+    public void connectionStatsTest() throws Exception {
+        apiClient.setConnectionPool(10, 60000)
+                .setMaxRequests(100)
+                .setMaxRequestsPerHost(20);
+        assertEquals(100, apiClient.getMaxRequests());
+        assertEquals(20, apiClient.getMaxRequestsPerHost());
+
+        ScriptexecutionsApi api = new ScriptexecutionsApi(apiClient);
+        for (int i = 0; i < 10; i++) {
+            api.getScriptExecution("se-1");
+        }
+
+        ConnectionStats stats = apiClient.getConnectionStats();
+        assertEquals(10, stats.getExchanges());
+        assertEquals(9, stats.getReusedExchanges());
+        assertEquals(0.9, stats.getConnectionReuseRatio(), 0.001);
+        assertEquals(1, stats.getIdleConnections());
+        assertEquals(0, stats.getActiveConnections());
+        assertEquals(0, stats.getRunningCalls());
+        assertEquals(0, stats.getQueuedCalls());
+    }
+
+    /**
+     * Synchronous calls count as running until their response arrives, as the
+     * dispatcher only counts the asynchronous ones.
+     */
+    @Test
+    public void connectionStatsCountSyncCallsTest() throws Exception {
+        final CountDownLatch received = new CountDownLatch(1);
+        final CountDownLatch respond = new CountDownLatch(1);
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                received.countDown();
+                respond.await(10, TimeUnit.SECONDS);
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody(SCRIPT_EXECUTION_JSON);
+            }
+        });
+        final ScriptexecutionsApi api = new ScriptexecutionsApi(apiClient);
+        Thread caller = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    api.getScriptExecution("se-1");
+                } catch (ApiException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+        caller.start();
+
+        assertTrue(received.await(10, TimeUnit.SECONDS));
+        assertEquals(1, apiClient.getConnectionStats().getRunningCalls());
+        respond.countDown();
+        caller.join(10000);
+        assertEquals(0, apiClient.getConnectionStats().getRunningCalls());
+    }
+}
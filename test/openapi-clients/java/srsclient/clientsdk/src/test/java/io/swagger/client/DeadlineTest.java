@@ -0,0 +1,103 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.mockwebserver.Dispatcher;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+import io.swagger.client.api.RunspacesApi;
+import io.swagger.client.api.ScriptexecutionsApi;
+import io.swagger.client.model.Runspace;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for Deadline against a local stand-in server
+ */
+public class DeadlineTest {
+
+    private static final String SCRIPT_EXECUTION_JSON = "{\"id\":\"se-1\",\"state\":\"running\"}";
+
+    private MockWebServer server;
+    private ApiClient apiClient;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        apiClient = new ApiClient();
+        apiClient.setBasePath("http://" + server.getHostName() + ":" + server.getPort());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    /**
+     * A call stuck on the server is canceled at the deadline and later calls are not sent.
+     */
+    @Test
+    public void deadlineTest() throws Exception {
+        final AtomicInteger requests = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                requests.incrementAndGet();
+                if (request.getPath().equals("/api/runspaces")) {
+                    release.await(10, TimeUnit.SECONDS);
+                }
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody(SCRIPT_EXECUTION_JSON);
+            }
+        });
+        Deadline deadline = Deadline.after(500, TimeUnit.MILLISECONDS);
+        ApiClient deadlineClient = apiClient.withDeadline(deadline);
+        assertSame(deadline, deadlineClient.getDeadline());
+        assertNull(apiClient.getDeadline());
+        assertEquals("se-1", new ScriptexecutionsApi(deadlineClient).getScriptExecution("se-1").getId());
+
+        long start = System.nanoTime();
+        try {
+            new RunspacesApi(deadlineClient).createRunspace(new Runspace());
+            fail("the call must be canceled at the deadline");
+        } catch (ApiException e) {
+            assertTrue(e.getCause() instanceof DeadlineExceededException);
+        } finally {
+            release.countDown();
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        assertTrue(deadline.isExpired());
+        assertEquals(0, deadline.remaining(TimeUnit.MILLISECONDS));
+
+        try {
+            new ScriptexecutionsApi(deadlineClient.withApiKey("session-1")).getScriptExecution("se-1");
+            fail("calls must not be sent after the deadline");
+        } catch (ApiException e) {
+            assertTrue(e.getCause() instanceof DeadlineExceededException);
+        }
+        assertEquals(2, requests.get());
+        try {
+            deadline.sleep(1000);
+            fail("polling must stop at the deadline");
+        } catch (DeadlineExceededException expected) {
+        }
+        assertEquals("se-1", new ScriptexecutionsApi(apiClient).getScriptExecution("se-1").getId());
+    }
+}
@@ -0,0 +1,101 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.mockwebserver.Dispatcher;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+import io.swagger.client.api.ScriptexecutionsApi;
+import io.swagger.client.model.ScriptExecution;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.GzipSource;
+import okio.Okio;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for GzipRequestInterceptor against a local stand-in server
+ */
+public class GzipRequestInterceptorTest {
+
+    private static final String SCRIPT_EXECUTION_JSON = "{\"id\":\"se-1\",\"state\":\"running\"}";
+
+    private MockWebServer server;
+    private ApiClient apiClient;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        apiClient = new ApiClient();
+        apiClient.setBasePath("http://" + server.getHostName() + ":" + server.getPort());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    /**
+     * Large request bodies are sent gzip encoded and gzip responses are decoded as a stream.
+     */
+    @Test
+    public void compressionTest() throws Exception {
+        final StringBuilder script = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            script.append("Get-VM -Name vm-").append(i).append(" | Start-VM\n");
+        }
+        final String[] received = new String[2];
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                try {
+                    received[0] = request.getHeader("Content-Encoding");
+                    received[1] = "gzip".equals(received[0])
+                            ? Okio.buffer(new GzipSource(request.getBody())).readUtf8()
+                            : request.getBody().readUtf8();
+                    Buffer body = new Buffer();
+                    BufferedSink gzip = Okio.buffer(new GzipSink(body));
+                    gzip.writeUtf8(SCRIPT_EXECUTION_JSON);
+                    gzip.close();
+                    return new MockResponse()
+                            .setHeader("Content-Type", "application/json")
+                            .setHeader("Content-Encoding", "gzip")
+                            .setBody(body);
+                } catch (IOException e) {
+                    return new MockResponse().setResponseCode(500);
+                }
+            }
+        });
+        apiClient.setCompressionEnabled(true).setCompressionThreshold(4096);
+        ScriptexecutionsApi api = new ScriptexecutionsApi(apiClient);
+
+        ScriptExecution created = api.createScriptExecution(
+                new ScriptExecution().runspaceId("pcli-1").script(script.toString()));
+        assertEquals("se-1", created.getId());
+        assertEquals("gzip", received[0]);
+        assertTrue(received[1].contains("vm-999"));
+
+        CompressionStats stats = apiClient.getCompressionStats();
+        assertTrue(stats.getCompressedRequestBytes() < stats.getRequestBytes() / 4);
+        assertEquals(SCRIPT_EXECUTION_JSON.length(), stats.getResponseBytes());
+        assertTrue(stats.getCompressedResponseBytes() > 0);
+
+        // small bodies go out as they are
+        api.createScriptExecution(new ScriptExecution().runspaceId("pcli-1").script("Get-VM"));
+        assertNull(received[0]);
+        assertTrue(received[1].contains("Get-VM"));
+    }
+}
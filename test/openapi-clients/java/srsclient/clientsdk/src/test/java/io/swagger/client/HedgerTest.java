@@ -0,0 +1,206 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.Call;
+import com.squareup.okhttp.Callback;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+import com.squareup.okhttp.mockwebserver.Dispatcher;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+import io.swagger.client.api.ScriptexecutionsApi;
+import io.swagger.client.model.ScriptExecution;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for hedged calls against a local stand-in server
+ */
+public class HedgerTest {
+
+    private static final String SCRIPT_EXECUTION_JSON = "{\"id\":\"se-1\",\"state\":\"running\"}";
+
+    private MockWebServer server;
+    private ApiClient apiClient;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        apiClient = new ApiClient();
+        apiClient.setBasePath("http://" + server.getHostName() + ":" + server.getPort());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    /**
+     * A poll stuck on the server is answered by its hedge after the observed latency.
+     */
+    @Test
+    public void hedgingPolicyTest() throws Exception {
+        final AtomicInteger requests = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                if (requests.incrementAndGet() == 11) {
+                    release.await(10, TimeUnit.SECONDS);
+                }
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody(SCRIPT_EXECUTION_JSON);
+            }
+        });
+        apiClient.setHedgingPolicy(new HedgingPolicy().setMinSamples(10).setMinDelay(50));
+        ScriptexecutionsApi api = new ScriptexecutionsApi(apiClient);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("se-1", api.getScriptExecution("se-1").getId());
+        }
+        assertEquals(0, apiClient.getHedgedRequests());
+
+        long start = System.nanoTime();
+        try {
+            assertEquals("se-1", api.getScriptExecution("se-1").getId());
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        } finally {
+            release.countDown();
+        }
+        assertEquals(12, requests.get());
+        assertEquals(1, apiClient.getHedgedRequests());
+
+        apiClient.setHedgingPolicy(null);
+        assertNull(apiClient.getHedgingPolicy());
+        assertEquals("se-1", api.getScriptExecution("se-1").getId());
+    }
+
+    /**
+     * Both attempts of an enqueued hedged call run on the dispatcher, and
+     * replacing the policy leaves no threads behind.
+     */
+    @Test
+    public void hedgedAttemptsDispatchedTest() throws Exception {
+        final AtomicInteger requests = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                if (requests.incrementAndGet() > 10) {
+                    release.await(10, TimeUnit.SECONDS);
+                }
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody(SCRIPT_EXECUTION_JSON);
+            }
+        });
+        for (int i = 0; i < 100; i++) {
+            apiClient.setHedgingPolicy(new HedgingPolicy().setMinSamples(10).setMinDelay(50));
+        }
+        ScriptexecutionsApi api = new ScriptexecutionsApi(apiClient);
+        for (int i = 0; i < 10; i++) {
+            api.getScriptExecution("se-1");
+        }
+
+        final CountDownLatch done = new CountDownLatch(1);
+        final AtomicReference<String> id = new AtomicReference<String>();
+        api.getScriptExecutionAsync("se-1", new ApiCallback<ScriptExecution>() {
+            @Override
+            public void onFailure(ApiException e, int statusCode, Map<String, List<String>> responseHeaders) {
+                done.countDown();
+            }
+
+            @Override
+            public void onSuccess(ScriptExecution result, int statusCode, Map<String, List<String>> responseHeaders) {
+                id.set(result.getId());
+                done.countDown();
+            }
+
+            @Override
+            public void onUploadProgress(long bytesWritten, long contentLength, boolean done) {
+            }
+
+            @Override
+            public void onDownloadProgress(long bytesRead, long contentLength, boolean done) {
+            }
+        });
+        try {
+            for (int i = 0; i < 100 && requests.get() < 12; i++) {
+                Thread.sleep(20);
+            }
+            assertEquals(12, requests.get());
+            assertEquals(2, apiClient.getConnectionStats().getRunningCalls());
+        } finally {
+            release.countDown();
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals("se-1", id.get());
+        assertEquals(1, apiClient.getHedgedRequests());
+
+        int hedgingThreads = 0;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if ("ApiClient hedging".equals(thread.getName())) {
+                hedgingThreads++;
+            }
+        }
+        assertEquals(1, hedgingThreads);
+    }
+
+    /**
+     * A callback failing in onResponse is not also told of a failure.
+     */
+    @Test
+    public void callbackSignalledOnceTest() throws Exception {
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody(SCRIPT_EXECUTION_JSON));
+        apiClient.setHedgingPolicy(new HedgingPolicy());
+        Call call = apiClient.buildCall("getScriptExecution", "/api/script-executions/se-1", "GET",
+                new ArrayList<Pair>(), new ArrayList<Pair>(), null, new HashMap<String, String>(),
+                new HashMap<String, Object>(), new String[0], null, null);
+        assertTrue(call instanceof HedgedCall);
+
+        final List<String> signals = new CopyOnWriteArrayList<String>();
+        final CountDownLatch responded = new CountDownLatch(1);
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Request request, IOException e) {
+                signals.add("failure");
+            }
+
+            @Override
+            public void onResponse(Response response) throws IOException {
+                signals.add("response");
+                response.body().close();
+                responded.countDown();
+                throw new IOException("Callback failed");
+            }
+        });
+        assertTrue(responded.await(10, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertEquals(1, signals.size());
+        assertEquals("response", signals.get(0));
+    }
+}
@@ -0,0 +1,87 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.mockwebserver.Dispatcher;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+import io.swagger.client.api.ScriptexecutionsApi;
+import io.swagger.client.model.StreamRecord;
+import io.swagger.client.model.StreamType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Tests for the lazy iterators of script output and stream records against a local stand-in server
+ */
+public class JsonArrayIteratorTest {
+
+    private static final String SCRIPT_EXECUTION_JSON = "{\"id\":\"se-1\",\"state\":\"running\"}";
+    private static final String OUTPUT_JSON = "[\"Name  PowerState\", \"----  ----------\", \"vm-1  PoweredOn\"]";
+
+    private MockWebServer server;
+    private ApiClient apiClient;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String body = SCRIPT_EXECUTION_JSON;
+                if (request.getPath().endsWith("/output")) {
+                    body = OUTPUT_JSON;
+                } else if (request.getPath().endsWith("/streams/error")) {
+                    body = "[]";
+                }
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody(body);
+            }
+        });
+        server.start();
+        apiClient = new ApiClient();
+        apiClient.setBasePath("http://" + server.getHostName() + ":" + server.getPort());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    /**
+     * Script output and stream records are iterated lazily and the connection is released at the end.
+     */
+    @Test
+    public void iterateScriptExecutionOutputTest() throws Exception {
+        ScriptexecutionsApi api = new ScriptexecutionsApi(apiClient);
+
+        CloseableIterator<String> output = api.iterateScriptExecutionOutput("se-1");
+        List<String> lines = new ArrayList<String>();
+        while (output.hasNext()) {
+            lines.add(output.next());
+        }
+        assertEquals(Arrays.asList("Name  PowerState", "----  ----------", "vm-1  PoweredOn"), lines);
+        assertFalse(output.hasNext());
+
+        CloseableIterator<StreamRecord> errors = api.iterateScriptExecutionStream("se-1", StreamType.ERROR);
+        assertFalse(errors.hasNext());
+
+        // closing early releases the connection for the next call
+        output = api.iterateScriptExecutionOutput("se-1");
+        assertEquals("Name  PowerState", output.next());
+        output.close();
+        assertEquals("se-1", api.getScriptExecution("se-1").getId());
+    }
+}
@@ -0,0 +1,129 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.google.gson.reflect.TypeToken;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import io.swagger.client.model.ScriptExecution;
+import okio.Buffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Measures the heap used to deserialize a 200 MB listScriptExecutions
+ * response from a local stand-in server. Kept apart from the other tests,
+ * so none of them allocates in the same JVM while the peak is measured.
+ */
+public class LargeResponseTest {
+
+    private static final long SIZE = 200L * 1024 * 1024;
+    private static final String INDENT = String.format("%1024s", "");
+    private static final Type LIST_TYPE = new TypeToken<List<ScriptExecution>>(){}.getType();
+
+    private final Logger serverLogger = Logger.getLogger(MockWebServer.class.getName());
+    private MockWebServer server;
+    private ApiClient apiClient;
+
+    @Before
+    public void setUp() throws Exception {
+        serverLogger.setLevel(Level.WARNING);
+        server = new MockWebServer();
+        server.start();
+        apiClient = new ApiClient();
+        apiClient.setBasePath("http://" + server.getHostName() + ":" + server.getPort());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+        serverLogger.setLevel(null);
+    }
+
+    /**
+     * Streaming into Gson needs a fraction of the heap of buffering the body as a String.
+     */
+    @Test
+    public void deserializeStreamsLargeResponseTest() throws Exception {
+        long streamingPeak = peakHeap(false);
+        long stringPeak = peakHeap(true);
+
+        assertTrue("string path peaked at " + stringPeak + " bytes", stringPeak > SIZE);
+        assertTrue("streaming path peaked at " + streamingPeak + " bytes", streamingPeak < SIZE / 2);
+        assertTrue("streaming path peaked at " + streamingPeak + " bytes, string path at " + stringPeak,
+                streamingPeak < stringPeak / 4);
+    }
+
+    /**
+     * @param buffered True to read the body as a String before deserializing it
+     * @return Peak heap used while reading and deserializing the response, above the heap used before
+     */
+    private long peakHeap(boolean buffered) throws Exception {
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody(scriptExecutionList()));
+        System.gc();
+        long before = 0;
+        for (MemoryPoolMXBean pool : heapPools()) {
+            pool.resetPeakUsage();
+            before += pool.getUsage().getUsed();
+        }
+
+        Response response = apiClient.getHttpClient().newCall(new Request.Builder()
+                .url(apiClient.getBasePath() + "/api/script-executions")
+                .build()).execute();
+        List<ScriptExecution> executions;
+        if (buffered) {
+            executions = apiClient.getJSON().deserialize(response.body().string(), LIST_TYPE);
+        } else {
+            executions = apiClient.deserialize(response, LIST_TYPE);
+        }
+
+        long peak = 0;
+        for (MemoryPoolMXBean pool : heapPools()) {
+            peak += pool.getPeakUsage().getUsed();
+        }
+        assertTrue(executions.size() > 100000);
+        assertEquals("se-0", executions.get(0).getId());
+        return peak - before;
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        List<MemoryPoolMXBean> pools = ManagementFactory.getMemoryPoolMXBeans();
+        for (int i = pools.size() - 1; i >= 0; i--) {
+            if (pools.get(i).getType() != MemoryType.HEAP) {
+                pools.remove(i);
+            }
+        }
+        return pools;
+    }
+
+    /**
+     * @return A pretty-printed JSON array of script executions of about SIZE bytes
+     */
+    private static Buffer scriptExecutionList() {
+        Buffer body = new Buffer().writeUtf8("[");
+        for (int index = 0; body.size() < SIZE; index++) {
+            body.writeUtf8(index == 0 ? "" : ",")
+                    .writeUtf8(INDENT)
+                    .writeUtf8("{\"id\":\"se-" + index + "\",\"state\":\"success\"}");
+        }
+        return body.writeUtf8("]");
+    }
+}
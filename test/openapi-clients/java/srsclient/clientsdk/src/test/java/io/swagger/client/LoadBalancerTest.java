@@ -0,0 +1,154 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.mockwebserver.Dispatcher;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+import io.swagger.client.api.ScriptexecutionsApi;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for LoadBalancer against local stand-in servers
+ */
+public class LoadBalancerTest {
+
+    private static final String SCRIPT_EXECUTION_JSON = "{\"id\":\"se-1\",\"state\":\"running\"}";
+
+    private MockWebServer server;
+    private ApiClient apiClient;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody(SCRIPT_EXECUTION_JSON);
+            }
+        });
+        server.start();
+        apiClient = new ApiClient();
+        apiClient.setBasePath("http://" + server.getHostName() + ":" + server.getPort());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    /**
+     * Requests are spread over the endpoints, a failing endpoint is ejected and sessions stick to one endpoint.
+     */
+    @Test
+    public void loadBalancingTest() throws Exception {
+        final AtomicInteger failing = new AtomicInteger();
+        MockWebServer other = new MockWebServer();
+        other.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (failing.get() > 0) {
+                    return new MockResponse().setResponseCode(503);
+                }
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody(SCRIPT_EXECUTION_JSON);
+            }
+        });
+        other.start();
+        try {
+            String otherBasePath = "http://" + other.getHostName() + ":" + other.getPort();
+            apiClient.setBasePaths(new LoadBalancingPolicy().setProbeInterval(0),
+                    apiClient.getBasePath(), otherBasePath);
+            ScriptexecutionsApi api = new ScriptexecutionsApi(apiClient);
+
+            for (int i = 0; i < 20; i++) {
+                assertEquals("se-1", api.getScriptExecution("se-1").getId());
+            }
+            Endpoint first = apiClient.getEndpoints().get(0);
+            Endpoint second = apiClient.getEndpoints().get(1);
+            assertEquals(20, first.getRequests() + second.getRequests());
+            assertTrue(first.getRequests() > 0 && second.getRequests() > 0);
+
+            failing.set(1);
+            int failed = 0;
+            for (int i = 0; i < 60; i++) {
+                try {
+                    api.getScriptExecution("se-1");
+                } catch (ApiException e) {
+                    assertEquals(503, e.getCode());
+                    failed++;
+                }
+            }
+            assertFalse(second.isHealthy());
+            assertEquals(1, second.getEjections());
+            // 3 failures among the latest 5 requests reach the default threshold of 0.5
+            assertEquals(3, failed);
+            assertEquals(failed, second.getFailures());
+
+            // sessions are routed by API key
+            apiClient.setBasePaths(new LoadBalancingPolicy().setProbeInterval(0), apiClient.getBasePath(), otherBasePath);
+            failing.set(0);
+            ScriptexecutionsApi sessionApi = new ScriptexecutionsApi(apiClient.withApiKey("session-1"));
+            for (int i = 0; i < 10; i++) {
+                assertEquals("se-1", sessionApi.getScriptExecution("se-1").getId());
+            }
+            first = apiClient.getEndpoints().get(0);
+            second = apiClient.getEndpoints().get(1);
+            assertTrue(first.getRequests() == 10 || second.getRequests() == 10);
+
+            // probes find a stopped endpoint
+            apiClient.setBasePaths(new LoadBalancingPolicy().setProbeInterval(20), apiClient.getBasePath(), otherBasePath);
+            other.shutdown();
+            second = apiClient.getEndpoints().get(1);
+            for (int i = 0; i < 100 && second.isHealthy(); i++) {
+                Thread.sleep(20);
+            }
+            assertFalse(second.isHealthy());
+            for (int i = 0; i < 10; i++) {
+                assertEquals("se-1", api.getScriptExecution("se-1").getId());
+            }
+            assertEquals(0, second.getRequests());
+        } finally {
+            apiClient.setBasePath(apiClient.getBasePath());
+            other.shutdown();
+        }
+    }
+
+    /**
+     * The endpoints are shared with the derived clients, which cannot replace them.
+     */
+    @Test
+    public void derivedClientBasePathsTest() throws Exception {
+        String basePath = apiClient.getBasePath();
+        apiClient.setBasePaths(new LoadBalancingPolicy().setProbeInterval(0), basePath, basePath + "/");
+        ApiClient session = apiClient.withApiKey("session-1");
+        try {
+            session.setBasePath(basePath);
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+        try {
+            session.withDeadline(null).setBasePaths(basePath, basePath + "/");
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+        assertEquals(2, apiClient.getEndpoints().size());
+        assertEquals("se-1", new ScriptexecutionsApi(session).getScriptExecution("se-1").getId());
+        apiClient.setBasePath(basePath);
+    }
+}
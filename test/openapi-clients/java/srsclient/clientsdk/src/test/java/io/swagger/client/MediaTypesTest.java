@@ -0,0 +1,118 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for MediaTypes
+ */
+public class MediaTypesTest {
+
+    @Test
+    public void isJsonTest() {
+        assertTrue(MediaTypes.isJson("application/json"));
+        assertTrue(MediaTypes.isJson("application/json; charset=UTF8"));
+        assertTrue(MediaTypes.isJson("APPLICATION/JSON"));
+        assertTrue(MediaTypes.isJson("application/vnd.company+json"));
+        assertTrue(MediaTypes.isJson("*/*"));
+        assertFalse(MediaTypes.isJson("text/plain"));
+        assertFalse(MediaTypes.isJson("application/jsonp"));
+        assertFalse(MediaTypes.isJson(null));
+        // cached answers stay the same
+        assertTrue(MediaTypes.isJson("application/json; charset=UTF8"));
+        assertFalse(MediaTypes.isJson("text/plain"));
+    }
+
+    @Test
+    public void cacheIsBoundedTest() {
+        for (int i = 0; i < MediaTypes.MAX_CACHED * 2; i++) {
+            assertTrue(MediaTypes.isJson("application/vnd.type" + i + "+json"));
+        }
+        // the bound is checked without locking, concurrent lookups may overshoot it slightly
+        assertTrue(MediaTypes.cachedCount() <= MediaTypes.MAX_CACHED + 8);
+    }
+
+    @Test
+    public void selectHeadersTest() {
+        assertNull(MediaTypes.selectHeaderAccept(new String[0]));
+        assertEquals("application/json", MediaTypes.selectHeaderAccept(new String[] { "text/plain", "application/json" }));
+        assertEquals("text/plain,text/csv", MediaTypes.selectHeaderAccept(new String[] { "text/plain", "text/csv" }));
+        assertEquals("application/json", MediaTypes.selectHeaderContentType(new String[0]));
+        assertEquals("text/plain", MediaTypes.selectHeaderContentType(new String[] { "text/plain" }));
+    }
+
+    /**
+     * With the headers of an operation selected once, a call only classifies
+     * the Content-Type of its response, and allocates a fraction of what the
+     * per-call selection and regex matching of the generated code did.
+     */
+    @Test
+    public void mediaTypesAllocationTest() throws Exception {
+        final String accept = MediaTypes.selectHeaderAccept(new String[] { "application/json" });
+        final String responseType = "application/json; charset=utf-8";
+
+        long perCall = Allocations.bytesPerCall(20000, new Callable<String>() {
+            @Override
+            public String call() {
+                final String[] localVarAccepts = {
+                    "application/json"
+                };
+                final String localVarAccept = selectHeaderAcceptPerCall(localVarAccepts);
+                final String[] localVarContentTypes = {
+
+                };
+                final String localVarContentType = selectHeaderContentTypePerCall(localVarContentTypes);
+                return isJsonPerCall(responseType) ? localVarAccept : localVarContentType;
+            }
+        });
+        long selectedOnce = Allocations.bytesPerCall(20000, new Callable<String>() {
+            @Override
+            public String call() {
+                return MediaTypes.isJson(responseType) ? accept : null;
+            }
+        });
+        assertTrue("selected once: " + selectedOnce + " bytes, per call: " + perCall + " bytes per call",
+                selectedOnce * 4 < perCall);
+    }
+
+    // how ApiClient selected and classified media types before MediaTypes
+
+    private static boolean isJsonPerCall(String mime) {
+        String jsonMime = "(?i)^(application/json|[^;/ \t]+/[^;/ \t]+[+]json)[ \t]*(;.*)?$";
+        return mime != null && (mime.matches(jsonMime) || mime.equals("*/*"));
+    }
+
+    private static String selectHeaderAcceptPerCall(String[] accepts) {
+        if (accepts.length == 0) {
+            return null;
+        }
+        for (String accept : accepts) {
+            if (isJsonPerCall(accept)) {
+                return accept;
+            }
+        }
+        return StringUtil.join(accepts, ",");
+    }
+
+    private static String selectHeaderContentTypePerCall(String[] contentTypes) {
+        if (contentTypes.length == 0 || contentTypes[0].equals("*/*")) {
+            return "application/json";
+        }
+        for (String contentType : contentTypes) {
+            if (isJsonPerCall(contentType)) {
+                return contentType;
+            }
+        }
+        return contentTypes[0];
+    }
+}
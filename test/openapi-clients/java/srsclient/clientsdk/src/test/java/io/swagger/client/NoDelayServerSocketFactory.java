@@ -0,0 +1,57 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import javax.net.ServerSocketFactory;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+/**
+ * Server socket factory for the stand-in servers of the tests whose accepted
+ * sockets have TCP_NODELAY set.
+ *
+ * MockWebServer writes the status line and headers apart from the body, so
+ * with Nagle's algorithm the body waits for the delayed ACK of the client,
+ * adding some 40 ms to every exchange on loopback.
+ */
+class NoDelayServerSocketFactory extends ServerSocketFactory {
+
+    @Override
+    public ServerSocket createServerSocket() throws IOException {
+        return new ServerSocket() {
+            @Override
+            public Socket accept() throws IOException {
+                Socket socket = new Socket();
+                implAccept(socket);
+                socket.setTcpNoDelay(true);
+                return socket;
+            }
+        };
+    }
+
+    @Override
+    public ServerSocket createServerSocket(int port) throws IOException {
+        ServerSocket serverSocket = createServerSocket();
+        serverSocket.bind(new InetSocketAddress(port));
+        return serverSocket;
+    }
+
+    @Override
+    public ServerSocket createServerSocket(int port, int backlog) throws IOException {
+        ServerSocket serverSocket = createServerSocket();
+        serverSocket.bind(new InetSocketAddress(port), backlog);
+        return serverSocket;
+    }
+
+    @Override
+    public ServerSocket createServerSocket(int port, int backlog, InetAddress address) throws IOException {
+        ServerSocket serverSocket = createServerSocket();
+        serverSocket.bind(new InetSocketAddress(address, port), backlog);
+        return serverSocket;
+    }
+}
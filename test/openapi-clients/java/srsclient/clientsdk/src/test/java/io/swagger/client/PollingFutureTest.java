@@ -0,0 +1,130 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.mockwebserver.Dispatcher;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+import io.swagger.client.api.ScriptexecutionsApi;
+import io.swagger.client.model.ScriptExecution;
+import io.swagger.client.model.ScriptExecutionState;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for PollingFuture against a local stand-in server
+ */
+public class PollingFutureTest {
+
+    private MockWebServer server;
+    private ApiClient apiClient;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        apiClient = new ApiClient();
+        apiClient.setBasePath("http://" + server.getHostName() + ":" + server.getPort());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    /**
+     * Polls back off up to the policy's cap, and each await reports its polls.
+     */
+    @Test
+    public void awaitCompletionTest() throws Exception {
+        final List<Long> pollTimes = new ArrayList<Long>();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String id = request.getPath().substring(request.getPath().lastIndexOf('/') + 1);
+                int polls;
+                synchronized (pollTimes) {
+                    if (id.equals("se-2")) {
+                        pollTimes.add(System.nanoTime());
+                    }
+                    polls = pollTimes.size();
+                }
+                String state = id.equals("se-2") && polls >= 6 ? "success" : "running";
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody("{\"id\":\"" + id + "\",\"state\":\"" + state + "\"}");
+            }
+        });
+        apiClient.setPollingPolicy(new PollingPolicy().setInitialInterval(10).setMultiplier(2).setMaxInterval(80).setJitter(0));
+        ScriptexecutionsApi api = new ScriptexecutionsApi(apiClient);
+
+        long start = System.nanoTime();
+        PollingFuture<ScriptExecution> completion = api.awaitCompletion("se-2", Deadline.after(10, TimeUnit.SECONDS));
+        assertEquals(ScriptExecutionState.SUCCESS, completion.get().getState());
+        assertEquals(6, completion.getPolls());
+        // 10, 20, 40, 80, 80, 80 ms apart
+        assertTrue(pollTimes.get(0) - start >= TimeUnit.MILLISECONDS.toNanos(10));
+        assertTrue(pollTimes.get(5) - pollTimes.get(4) >= TimeUnit.MILLISECONDS.toNanos(80));
+        assertTrue(pollTimes.get(5) - start < TimeUnit.SECONDS.toNanos(2));
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        final List<ScriptExecution> completed = new ArrayList<ScriptExecution>();
+        api.awaitCompletion("se-2", null, new ApiCallback<ScriptExecution>() {
+            @Override
+            public void onFailure(ApiException e, int statusCode, Map<String, List<String>> responseHeaders) {
+                latch.countDown();
+            }
+
+            @Override
+            public void onSuccess(ScriptExecution result, int statusCode, Map<String, List<String>> responseHeaders) {
+                completed.add(result);
+                latch.countDown();
+            }
+
+            @Override
+            public void onUploadProgress(long bytesWritten, long contentLength, boolean done) {
+            }
+
+            @Override
+            public void onDownloadProgress(long bytesRead, long contentLength, boolean done) {
+            }
+        });
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(ScriptExecutionState.SUCCESS, completed.get(0).getState());
+
+        PollingFuture<ScriptExecution> running = api.awaitCompletion("se-1", Deadline.after(200, TimeUnit.MILLISECONDS));
+        try {
+            running.get(10, TimeUnit.SECONDS);
+            fail("polling must stop at the deadline");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause().getCause() instanceof DeadlineExceededException);
+        }
+        assertTrue(running.getPolls() > 1);
+
+        PollingFuture<ScriptExecution> canceled = api.awaitCompletion("se-1", null);
+        assertTrue(canceled.cancel(false));
+        assertTrue(canceled.isCancelled());
+        assertTrue(canceled.isDone());
+        try {
+            canceled.get();
+            fail("a canceled await must not complete");
+        } catch (CancellationException expected) {
+        }
+    }
+}
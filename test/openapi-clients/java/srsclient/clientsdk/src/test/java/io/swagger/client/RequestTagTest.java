@@ -0,0 +1,178 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.mockwebserver.Dispatcher;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+import io.swagger.client.api.ScriptexecutionsApi;
+import io.swagger.client.model.ScriptExecution;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for progress and call listeners applied through RequestTag against a local stand-in server
+ */
+public class RequestTagTest {
+
+    private static final String SCRIPT_EXECUTION_JSON = "{\"id\":\"se-1\",\"state\":\"running\"}";
+
+    private MockWebServer server;
+    private ApiClient apiClient;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.setServerSocketFactory(new NoDelayServerSocketFactory());
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody(SCRIPT_EXECUTION_JSON);
+            }
+        });
+        server.start();
+        apiClient = new ApiClient();
+        apiClient.setBasePath("http://" + server.getHostName() + ":" + server.getPort());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    /**
+     * Running calls with a progress listener must not grow the interceptor chain
+     * of the shared HTTP client, neither while they are in flight nor after.
+     */
+    @Test
+    public void progressCallsKeepInterceptorChainFlatTest() throws Exception {
+        final int calls = 100000;
+        final int maxInFlight = 32;
+        ScriptexecutionsApi api = new ScriptexecutionsApi(apiClient);
+        apiClient.setMaxRequestsPerHost(maxInFlight).setConnectionPool(maxInFlight, 60000);
+        final int networkInterceptors = apiClient.getHttpClient().networkInterceptors().size();
+        final int interceptors = apiClient.getHttpClient().interceptors().size();
+        Logger serverLogger = Logger.getLogger(MockWebServer.class.getName());
+        serverLogger.setLevel(Level.WARNING);
+        try {
+            final Semaphore inFlight = new Semaphore(maxInFlight);
+            final AtomicInteger downloadsDone = new AtomicInteger();
+            final AtomicInteger chainGrown = new AtomicInteger();
+            for (int i = 0; i < calls; i++) {
+                inFlight.acquire();
+                api.getScriptExecutionAsync("se-" + i, new ApiCallback<ScriptExecution>() {
+                    @Override
+                    public void onFailure(ApiException e, int statusCode, Map<String, List<String>> responseHeaders) {
+                        inFlight.release();
+                    }
+
+                    @Override
+                    public void onSuccess(ScriptExecution result, int statusCode, Map<String, List<String>> responseHeaders) {
+                        inFlight.release();
+                    }
+
+                    @Override
+                    public void onUploadProgress(long bytesWritten, long contentLength, boolean done) {
+                    }
+
+                    @Override
+                    public void onDownloadProgress(long bytesRead, long contentLength, boolean done) {
+                        if (done) {
+                            downloadsDone.incrementAndGet();
+                        }
+                        if (apiClient.getHttpClient().networkInterceptors().size() != networkInterceptors
+                                || apiClient.getHttpClient().interceptors().size() != interceptors) {
+                            chainGrown.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            assertTrue(inFlight.tryAcquire(maxInFlight, 60, TimeUnit.SECONDS));
+            assertEquals(calls, downloadsDone.get());
+            assertEquals(0, chainGrown.get());
+            assertEquals(networkInterceptors, apiClient.getHttpClient().networkInterceptors().size());
+            assertEquals(interceptors, apiClient.getHttpClient().interceptors().size());
+        } finally {
+            serverLogger.setLevel(null);
+        }
+    }
+
+    /**
+     * Download progress and call listeners are applied per call through the request tag.
+     */
+    @Test
+    public void requestTagReportsProgressAndCallsTest() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final StringBuilder operations = new StringBuilder();
+        apiClient.addCallListener(new CallListener() {
+            @Override
+            public void onResponse(RequestTag tag, com.squareup.okhttp.Request request, com.squareup.okhttp.Response response, long tookNanos) {
+                calls.incrementAndGet();
+                operations.append(tag.getOperationId());
+            }
+
+            @Override
+            public void onFailure(RequestTag tag, com.squareup.okhttp.Request request, java.io.IOException e, long tookNanos) {
+            }
+        });
+        ScriptexecutionsApi api = new ScriptexecutionsApi(apiClient);
+
+        assertEquals(2, pollAsync(api, 2));
+        assertEquals(2, calls.get());
+        assertEquals("getScriptExecutiongetScriptExecution", operations.toString());
+    }
+
+    /**
+     * Issue the given number of sequential async polls.
+     *
+     * @return number of polls that reported completed download progress
+     */
+    private int pollAsync(ScriptexecutionsApi api, int polls) throws Exception {
+        final AtomicInteger downloadsDone = new AtomicInteger();
+        for (int i = 0; i < polls; i++) {
+            final CountDownLatch latch = new CountDownLatch(1);
+            api.getScriptExecutionAsync("se-1", new ApiCallback<ScriptExecution>() {
+                @Override
+                public void onFailure(ApiException e, int statusCode, Map<String, List<String>> responseHeaders) {
+                    latch.countDown();
+                }
+
+                @Override
+                public void onSuccess(ScriptExecution result, int statusCode, Map<String, List<String>> responseHeaders) {
+                    latch.countDown();
+                }
+
+                @Override
+                public void onUploadProgress(long bytesWritten, long contentLength, boolean done) {
+                }
+
+                @Override
+                public void onDownloadProgress(long bytesRead, long contentLength, boolean done) {
+                    if (done) {
+                        downloadsDone.incrementAndGet();
+                    }
+                }
+            });
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        }
+        return downloadsDone.get();
+    }
+}
@@ -0,0 +1,100 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.mockwebserver.Dispatcher;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+import io.swagger.client.api.AboutApi;
+import io.swagger.client.api.ArgumentscriptsApi;
+import io.swagger.client.model.About;
+import io.swagger.client.model.ArgumentScriptTemplate;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for ResponseCache against a local stand-in server
+ */
+public class ResponseCacheTest {
+
+    private MockWebServer server;
+    private ApiClient apiClient;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        apiClient = new ApiClient();
+        apiClient.setBasePath("http://" + server.getHostName() + ":" + server.getPort());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    /**
+     * Rarely changing results are reused within their TTL, per operation and size limit.
+     */
+    @Test
+    public void responseCacheTest() throws Exception {
+        final AtomicInteger requests = new AtomicInteger();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                requests.incrementAndGet();
+                String path = request.getPath();
+                String body = path.startsWith("/api/argument-scripts/templates/")
+                        ? "{\"id\":\"" + path.substring(path.lastIndexOf('/') + 1) + "\"}"
+                        : "{\"name\":\"SRS\"}";
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody(body);
+            }
+        });
+        apiClient.setResponseCache("getAbout", 200, 10)
+                 .setResponseCache("getArgumentScriptsTemplate", 60000, 2);
+        AboutApi aboutApi = new AboutApi(apiClient);
+        ArgumentscriptsApi argumentscriptsApi = new ArgumentscriptsApi(apiClient);
+
+        About about = aboutApi.getAbout();
+        assertSame(about, aboutApi.getAbout());
+        assertSame(about, new AboutApi(apiClient.withApiKey(null)).getAbout());
+        assertEquals(1, requests.get());
+        Thread.sleep(250);
+        assertNotSame(about, aboutApi.getAbout());
+        assertEquals(2, requests.get());
+        CacheStats aboutStats = apiClient.getResponseCacheStats("getAbout");
+        assertEquals(2, aboutStats.getHits());
+        assertEquals(2, aboutStats.getMisses());
+        assertEquals(1, aboutStats.getExpirations());
+
+        // the least recently used template is dropped
+        ArgumentScriptTemplate first = argumentscriptsApi.getArgumentScriptsTemplate("t-1");
+        argumentscriptsApi.getArgumentScriptsTemplate("t-2");
+        assertSame(first, argumentscriptsApi.getArgumentScriptsTemplate("t-1"));
+        argumentscriptsApi.getArgumentScriptsTemplate("t-3");
+        assertSame(first, argumentscriptsApi.getArgumentScriptsTemplate("t-1"));
+        assertEquals("t-2", argumentscriptsApi.getArgumentScriptsTemplate("t-2").getId());
+        CacheStats templateStats = apiClient.getResponseCacheStats("getArgumentScriptsTemplate");
+        assertEquals(2, templateStats.getEvictions());
+        assertEquals(2, templateStats.getSize());
+        assertEquals(6, requests.get());
+
+        apiClient.invalidateResponseCache("getArgumentScriptsTemplate");
+        assertNotSame(first, argumentscriptsApi.getArgumentScriptsTemplate("t-1"));
+        assertEquals(7, requests.get());
+        assertNull(apiClient.getResponseCacheStats("getRunspace"));
+    }
+}
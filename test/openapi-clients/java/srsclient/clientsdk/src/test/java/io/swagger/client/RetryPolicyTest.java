@@ -0,0 +1,105 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.mockwebserver.Dispatcher;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+import io.swagger.client.api.ScriptexecutionsApi;
+import io.swagger.client.model.ScriptExecution;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for RetryPolicy against a local stand-in server
+ */
+public class RetryPolicyTest {
+
+    private static final String SCRIPT_EXECUTION_JSON = "{\"id\":\"se-1\",\"state\":\"running\"}";
+
+    private MockWebServer server;
+    private ApiClient apiClient;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        apiClient = new ApiClient();
+        apiClient.setBasePath("http://" + server.getHostName() + ":" + server.getPort());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    /**
+     * Polls are retried on 503, creation only with an idempotency key, and retries stop when the budget is spent.
+     */
+    @Test
+    public void retryPolicyTest() throws Exception {
+        final AtomicInteger failures = new AtomicInteger();
+        final List<String> idempotencyKeys = new ArrayList<String>();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if ("POST".equals(request.getMethod())) {
+                    idempotencyKeys.add(request.getHeader("Idempotency-Key"));
+                }
+                if (failures.getAndDecrement() > 0) {
+                    return new MockResponse().setResponseCode(503).setHeader("Retry-After", "0");
+                }
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody(SCRIPT_EXECUTION_JSON);
+            }
+        });
+        apiClient.setRetryPolicy(new RetryPolicy()
+                .setInitialBackoff(1)
+                .setRetryBudget(3)
+                .setRetryBudgetRatio(0));
+        ScriptexecutionsApi api = new ScriptexecutionsApi(apiClient);
+
+        failures.set(2);
+        assertEquals("se-1", api.getScriptExecution("se-1").getId());
+
+        failures.set(1);
+        try {
+            api.createScriptExecution(new ScriptExecution().script("Get-VM"));
+            fail("creation without an idempotency key must not be retried");
+        } catch (ApiException e) {
+            assertEquals(503, e.getCode());
+        }
+        assertEquals(Arrays.asList((String) null), idempotencyKeys);
+
+        apiClient.getRetryPolicy().setIdempotencyKeyOperations("createScriptExecution");
+        idempotencyKeys.clear();
+        failures.set(1);
+        assertEquals("se-1", api.createScriptExecution(new ScriptExecution().script("Get-VM")).getId());
+        assertEquals(2, idempotencyKeys.size());
+        assertNotNull(idempotencyKeys.get(0));
+        assertEquals(idempotencyKeys.get(0), idempotencyKeys.get(1));
+
+        // the budget of 3 retries is spent
+        failures.set(1);
+        try {
+            api.getScriptExecution("se-1");
+            fail("retries must stop when the budget is spent");
+        } catch (ApiException e) {
+            assertEquals(503, e.getCode());
+        }
+    }
+}
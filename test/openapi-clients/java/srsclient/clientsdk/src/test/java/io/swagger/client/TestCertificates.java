@@ -0,0 +1,68 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import okio.ByteString;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import java.io.ByteArrayInputStream;
+import java.security.KeyFactory;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateFactory;
+import java.security.spec.PKCS8EncodedKeySpec;
+
+/**
+ * Certificate of the local stand-in servers of the TLS tests
+ */
+final class TestCertificates {
+
+    // self-signed certificate of localhost and its EC key, test use only
+    private static final String CERTIFICATE =
+            "MIIBmzCCAUGgAwIBAgIUec9sX/YD3kehIlcij/zBGcy2GEkwCgYIKoZIzj0EAwIw" +
+            "FDESMBAGA1UEAwwJbG9jYWxob3N0MCAXDTI2MTAxODA3MDMzN1oYDzIxMjYwOTI0" +
+            "MDcwMzM3WjAUMRIwEAYDVQQDDAlsb2NhbGhvc3QwWTATBgcqhkjOPQIBBggqhkjO" +
+            "PQMBBwNCAASmU+RY0X2EMHOB2plJ9u4za27XUsoW/8Fp2Xv3Q/v3DUQyGgahU4rv" +
+            "f/eIeQWTDYKPnoDz2s9UyC7v6WpV1G05o28wbTAdBgNVHQ4EFgQUneH+iGtIwRs/" +
+            "EBP6Z/eN3iPckBgwHwYDVR0jBBgwFoAUneH+iGtIwRs/EBP6Z/eN3iPckBgwDwYD" +
+            "VR0TAQH/BAUwAwEB/zAaBgNVHREEEzARgglsb2NhbGhvc3SHBH8AAAEwCgYIKoZI" +
+            "zj0EAwIDSAAwRQIgT3120Wd1J/UEg1iN+A0MhGo9giuXze+2Z/A70fcpW24CIQCP" +
+            "939J5TO9inr0gDsyWMfRyaQ2OoJEBStMPkahEDv9mA==";
+    private static final String PRIVATE_KEY =
+            "MIGHAgEAMBMGByqGSM49AgEGCCqGSM49AwEHBG0wawIBAQQgAygvwfuN+eLfbqgn" +
+            "p15jhdUgkCiOuzCSl/zgaoh3e4mhRANCAASmU+RY0X2EMHOB2plJ9u4za27XUsoW" +
+            "/8Fp2Xv3Q/v3DUQyGgahU4rvf/eIeQWTDYKPnoDz2s9UyC7v6WpV1G05";
+
+    private TestCertificates() {
+    }
+
+    /**
+     * @return The certificate in PEM format, as passed to {@link ApiClient#setSslCaCert}
+     */
+    static ByteArrayInputStream certificateStream() {
+        String pem = "-----BEGIN CERTIFICATE-----\n" + CERTIFICATE + "\n-----END CERTIFICATE-----\n";
+        return new ByteArrayInputStream(pem.getBytes());
+    }
+
+    /**
+     * @return An SSL context serving the certificate
+     */
+    static SSLContext serverSslContext() throws Exception {
+        Certificate certificate = CertificateFactory.getInstance("X.509").generateCertificate(certificateStream());
+        PrivateKey key = KeyFactory.getInstance("EC").generatePrivate(
+                new PKCS8EncodedKeySpec(ByteString.decodeBase64(PRIVATE_KEY).toByteArray()));
+        char[] password = "password".toCharArray();
+        KeyStore keyStore = KeyStore.getInstance(KeyStore.getDefaultType());
+        keyStore.load(null, password);
+        keyStore.setKeyEntry("localhost", key, password, new Certificate[] { certificate });
+        KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagerFactory.init(keyStore, password);
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(keyManagerFactory.getKeyManagers(), null, null);
+        return sslContext;
+    }
+}
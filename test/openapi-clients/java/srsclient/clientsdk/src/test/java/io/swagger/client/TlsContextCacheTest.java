@@ -0,0 +1,126 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import io.swagger.client.api.ScriptexecutionsApi;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.SSLSocketFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the TLS settings shared between ApiClients
+ */
+public class TlsContextCacheTest {
+
+    private MockWebServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.useHttps(TestCertificates.serverSslContext().getSocketFactory(), false);
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void socketFactorySharedBySettingsTest() {
+        ApiClient insecure = new ApiClient().setVerifyingSsl(false);
+        ApiClient trusting = new ApiClient().setSslCaCert(TestCertificates.certificateStream());
+
+        assertSame(insecure.getHttpClient().getSslSocketFactory(),
+                new ApiClient().setVerifyingSsl(false).getHttpClient().getSslSocketFactory());
+        assertSame(trusting.getHttpClient().getSslSocketFactory(),
+                new ApiClient().setSslCaCert(TestCertificates.certificateStream()).getHttpClient().getSslSocketFactory());
+        assertSame(new ApiClient().getHttpClient().getSslSocketFactory(),
+                new ApiClient().getHttpClient().getSslSocketFactory());
+        assertNotSame(insecure.getHttpClient().getSslSocketFactory(),
+                trusting.getHttpClient().getSslSocketFactory());
+
+        // the stream is read once, changing another setting keeps the trusted certificate
+        trusting.setVerifyingSsl(true);
+        assertSame(trusting.getHttpClient().getSslSocketFactory(),
+                new ApiClient().setSslCaCert(TestCertificates.certificateStream()).getHttpClient().getSslSocketFactory());
+    }
+
+    /**
+     * Key managers are compared by identity, a client reconfigured with new
+     * ones over and over does not grow the cache past its bound.
+     */
+    @Test
+    public void keyManagersReconfigurationBoundedTest() {
+        ApiClient apiClient = new ApiClient();
+        for (int i = 0; i < 4 * TlsContextCache.MAX_ENTRIES; i++) {
+            apiClient.setKeyManagers(new KeyManager[0]);
+            assertTrue(TlsContextCache.size() <= TlsContextCache.MAX_ENTRIES);
+        }
+
+        // the settings in use are the most recent ones and are kept
+        SSLSocketFactory current = apiClient.getHttpClient().getSslSocketFactory();
+        apiClient.setKeyManagers(apiClient.getKeyManagers());
+        assertSame(current, apiClient.getHttpClient().getSslSocketFactory());
+    }
+
+    /**
+     * A second client with the same settings resumes the TLS session of the first one.
+     */
+    @Test
+    public void handshakeStatsTest() throws Exception {
+        ApiClient first = newApiClient();
+        poll(first);
+        poll(first);
+        HandshakeStats stats = awaitHandshakes(first, 1);
+        assertEquals(1, stats.getHandshakes());
+        assertTrue(stats.getAverageHandshakeNanos() > 0);
+
+        ApiClient second = newApiClient();
+        poll(second);
+        stats = awaitHandshakes(second, 2);
+        assertSame(first.getHandshakeStats(), second.getHandshakeStats());
+        assertEquals(2, stats.getHandshakes());
+        assertEquals(1, stats.getResumedHandshakes());
+        assertEquals(1, stats.getFullHandshakes());
+    }
+
+    private ApiClient newApiClient() {
+        ApiClient apiClient = new ApiClient()
+                .setSslCaCert(TestCertificates.certificateStream())
+                // separate pools, so the second client opens its own connection
+                .setConnectionPool(5, 60000);
+        apiClient.setBasePath("https://localhost:" + server.getPort());
+        return apiClient;
+    }
+
+    private void poll(ApiClient apiClient) throws Exception {
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"id\":\"se-1\",\"state\":\"running\"}"));
+        assertEquals("se-1", new ScriptexecutionsApi(apiClient).getScriptExecution("se-1").getId());
+    }
+
+    /**
+     * Handshake listeners are notified asynchronously.
+     */
+    private static HandshakeStats awaitHandshakes(ApiClient apiClient, long count) throws InterruptedException {
+        HandshakeStats stats = apiClient.getHandshakeStats();
+        for (int i = 0; i < 100 && stats.getHandshakes() < count; i++) {
+            Thread.sleep(50);
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,92 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import org.junit.Test;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for UriTemplate
+ */
+public class UriTemplateTest {
+
+    @Test
+    public void expandTest() {
+        UriTemplate template = UriTemplate.compile("/api/script-executions/{id}/streams/{stream-type}");
+
+        assertArrayEquals(new String[] {"id", "stream-type"}, template.getVariables());
+        assertEquals("/api/script-executions/se%2F1%20a/streams/error", template.expand("se/1 a", "error"));
+    }
+
+    @Test
+    public void expandWithoutVariablesTest() {
+        String path = "/api/runspaces";
+
+        assertSame(path, UriTemplate.compile(path).expand());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void expandWithMissingValueTest() {
+        UriTemplate.compile("/api/runspaces/{id}").expand();
+    }
+
+    /**
+     * The encoder must produce the same output as URLEncoder with spaces as %20.
+     */
+    @Test
+    public void encodeMatchesUrlEncoderTest() throws Exception {
+        for (String value : Arrays.asList("", "pcli-1", "a b+c", "~!@#$%^&()=[]{}|;:'\",<>/?\\",
+                "café", "中文", "😀", "lone\ud83d", "x.y_z-*")) {
+            String expected = URLEncoder.encode(value, "UTF-8").replace("+", "%20");
+            assertEquals(expected, UriTemplate.encode(value));
+
+            StringBuilder out = new StringBuilder("/");
+            UriTemplate.encode(value, out);
+            assertEquals("/" + expected, out.toString());
+        }
+    }
+
+    /**
+     * Expanding a compiled template allocates a fraction of what the
+     * replaceAll and URLEncoder path of the generated code did.
+     */
+    @Test
+    public void expandAllocationTest() throws Exception {
+        final UriTemplate template = UriTemplate.compile("/api/script-executions/{id}/streams/{stream-type}");
+        final String id = "se-a41f7c2e";
+        assertEquals(replaceAllPath(id, "error"), template.expand(id, "error"));
+
+        long replaceAll = Allocations.bytesPerCall(20000, new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return replaceAllPath(id, "error");
+            }
+        });
+        long expand = Allocations.bytesPerCall(20000, new Callable<String>() {
+            @Override
+            public String call() {
+                return template.expand(id, "error");
+            }
+        });
+        assertTrue("expand: " + expand + " bytes, replaceAll: " + replaceAll + " bytes per path",
+                expand * 4 < replaceAll);
+    }
+
+    // how the generated API classes built paths before the templates
+    private static String replaceAllPath(String id, String streamType) throws UnsupportedEncodingException {
+        return "/api/script-executions/{id}/streams/{stream-type}"
+                .replaceAll("\\{" + "id" + "\\}", URLEncoder.encode(id, "utf8").replaceAll("\\+", "%20"))
+                .replaceAll("\\{" + "stream-type" + "\\}", URLEncoder.encode(streamType, "utf8").replaceAll("\\+", "%20"));
+    }
+}
@@ -0,0 +1,147 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client.api;
+
+import com.squareup.okhttp.mockwebserver.Dispatcher;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+import io.swagger.client.ApiClient;
+import io.swagger.client.ApiException;
+import io.swagger.client.model.ScriptExecution;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for BulkScriptSubmitter against a local stand-in server
+ */
+public class BulkScriptSubmitterTest {
+
+    private MockWebServer server;
+    private ApiClient apiClient;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        apiClient = new ApiClient();
+        apiClient.setBasePath("http://" + server.getHostName() + ":" + server.getPort());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    /**
+     * A batch keeps at most maxInFlight submissions in flight and reads its requests no further ahead.
+     */
+    @Test
+    public void bulkScriptSubmitterTest() throws Exception {
+        final int requests = 200;
+        final int maxInFlight = 8;
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger peak = new AtomicInteger();
+        final AtomicInteger responded = new AtomicInteger();
+        final AtomicInteger pulled = new AtomicInteger();
+        final AtomicInteger pullAhead = new AtomicInteger();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                int current = inFlight.incrementAndGet();
+                while (true) {
+                    int max = peak.get();
+                    if (current <= max || peak.compareAndSet(max, current)) {
+                        break;
+                    }
+                }
+                Thread.sleep(5);
+                String body = request.getBody().readUtf8();
+                inFlight.decrementAndGet();
+                responded.incrementAndGet();
+                if (body.contains("Fail-Me")) {
+                    return new MockResponse().setResponseCode(500);
+                }
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody("{\"id\":\"se-" + pulled.get() + "\",\"state\":\"running\"}");
+            }
+        });
+        apiClient.setMaxRequestsPerHost(32);
+        Iterable<ScriptExecution> generated = new Iterable<ScriptExecution>() {
+            @Override
+            public Iterator<ScriptExecution> iterator() {
+                return new Iterator<ScriptExecution>() {
+                    @Override
+                    public boolean hasNext() {
+                        return pulled.get() < requests;
+                    }
+
+                    @Override
+                    public ScriptExecution next() {
+                        int index = pulled.incrementAndGet();
+                        int ahead = index - responded.get();
+                        if (ahead > pullAhead.get()) {
+                            pullAhead.set(ahead);
+                        }
+                        ScriptExecution request = new ScriptExecution();
+                        request.setScript(index % 50 == 0 ? "Fail-Me" : "Get-VM");
+                        return request;
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+        };
+
+        BulkScriptSubmitter submitter = new BulkScriptSubmitter(apiClient).setMaxInFlight(maxInFlight);
+        BulkSubmission submission = submitter.submit(generated);
+        assertTrue(submission.await(30, TimeUnit.SECONDS));
+
+        List<Future<ScriptExecution>> futures = submission.getFutures();
+        assertEquals(requests, futures.size());
+        int failures = 0;
+        for (Future<ScriptExecution> future : futures) {
+            try {
+                assertNotNull(future.get(0, TimeUnit.SECONDS).getId());
+            } catch (ExecutionException e) {
+                assertEquals(500, ((ApiException) e.getCause()).getCode());
+                failures++;
+            }
+        }
+        assertEquals(requests / 50, failures);
+        assertTrue(peak.get() > 1);
+        assertTrue(peak.get() <= maxInFlight);
+        assertTrue(pullAhead.get() <= maxInFlight);
+
+        BulkSubmissionStats stats = submission.getStats();
+        assertEquals(requests, stats.getSubmitted());
+        assertEquals(requests - failures, stats.getSucceeded());
+        assertEquals(failures, stats.getFailed());
+        assertEquals(0, stats.getInFlight());
+        assertTrue(stats.getThroughput() > 0);
+        assertTrue(stats.getLatencyPercentile(0.5, TimeUnit.MILLISECONDS) >= 5);
+        assertTrue(stats.getLatencyPercentile(0.5, TimeUnit.NANOSECONDS)
+                <= stats.getLatencyPercentile(0.99, TimeUnit.NANOSECONDS));
+        assertTrue(stats.getLatencyPercentile(0.99, TimeUnit.NANOSECONDS)
+                <= stats.getLatencyPercentile(1, TimeUnit.NANOSECONDS));
+        System.out.println(stats);
+    }
+}
@@ -0,0 +1,177 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client.api;
+
+import com.squareup.okhttp.mockwebserver.Dispatcher;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+import io.swagger.client.ApiClient;
+import io.swagger.client.ApiException;
+import io.swagger.client.model.ScriptExecution;
+import io.swagger.client.model.ScriptExecutionState;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for RunspaceDispatcher against a local stand-in server
+ */
+public class RunspaceDispatcherTest {
+
+    private MockWebServer server;
+    private ApiClient apiClient;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        apiClient = new ApiClient();
+        apiClient.setBasePath("http://" + server.getHostName() + ":" + server.getPort());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    /**
+     * Executions go to the least loaded runspace below its cap, the others wait in the queue.
+     */
+    @Test
+    public void runspaceDispatcherTest() throws Exception {
+        final AtomicInteger created = new AtomicInteger();
+        final Map<String, String> states = new ConcurrentHashMap<String, String>();
+        final Map<String, String> runspaces = new ConcurrentHashMap<String, String>();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String id;
+                if (request.getMethod().equals("POST")) {
+                    id = "se-" + created.incrementAndGet();
+                    runspaces.put(id, request.getBody().readUtf8().replaceAll(".*\"runspace_id\":\"([^\"]*)\".*", "$1"));
+                    states.put(id, "running");
+                } else {
+                    id = request.getPath().substring(request.getPath().lastIndexOf('/') + 1);
+                }
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody("{\"id\":\"" + id + "\",\"runspace_id\":\"" + runspaces.get(id)
+                                + "\",\"state\":\"" + states.get(id) + "\"}");
+            }
+        });
+        ScriptExecutionPoller poller = new ScriptExecutionPoller(apiClient, 10, TimeUnit.MILLISECONDS);
+        try {
+            RunspaceDispatcher dispatcher = new RunspaceDispatcher(apiClient, poller).setMaxConcurrency(2);
+            dispatcher.addRunspace("rs-1");
+            dispatcher.addRunspace("rs-2");
+            List<Future<ScriptExecution>> submissions = new ArrayList<Future<ScriptExecution>>();
+            for (int i = 0; i < 6; i++) {
+                ScriptExecution request = new ScriptExecution();
+                request.setScript("Get-VM");
+                submissions.add(dispatcher.submit(request));
+            }
+            assertEquals(2, dispatcher.getQueueDepth());
+            assertEquals(2, dispatcher.getMaxQueueDepth());
+            assertEquals(2, dispatcher.getQueuedSubmissions());
+            assertEquals(Integer.valueOf(2), dispatcher.getInFlight().get("rs-1"));
+            assertEquals(Integer.valueOf(2), dispatcher.getInFlight().get("rs-2"));
+
+            long until = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (created.get() < 4 && System.nanoTime() < until) {
+                Thread.sleep(10);
+            }
+            for (Map.Entry<String, String> runspace : runspaces.entrySet()) {
+                if (runspace.getValue().equals("rs-1")) {
+                    states.put(runspace.getKey(), "success");
+                    break;
+                }
+            }
+            while (dispatcher.getQueueDepth() > 1 && System.nanoTime() < until) {
+                Thread.sleep(10);
+            }
+            assertEquals(Long.valueOf(3), dispatcher.getPlacements().get("rs-1"));
+            assertEquals(Long.valueOf(2), dispatcher.getPlacements().get("rs-2"));
+
+            dispatcher.removeRunspace("rs-1");
+            for (Future<ScriptExecution> submission : submissions) {
+                while (!submission.isDone() && System.nanoTime() < until) {
+                    for (String id : runspaces.keySet()) {
+                        states.put(id, "success");
+                    }
+                    Thread.sleep(10);
+                }
+                assertEquals(ScriptExecutionState.SUCCESS, submission.get(0, TimeUnit.SECONDS).getState());
+            }
+            assertEquals(Long.valueOf(3), dispatcher.getPlacements().get("rs-2"));
+            assertFalse(dispatcher.getInFlight().containsKey("rs-1"));
+            assertEquals(Integer.valueOf(0), dispatcher.getInFlight().get("rs-2"));
+            assertEquals(0, dispatcher.getQueueDepth());
+        } finally {
+            poller.close();
+        }
+    }
+
+    /**
+     * An execution deleted while running fails its submission and frees its runspace slot.
+     */
+    @Test
+    public void deletedScriptExecutionTest() throws Exception {
+        final AtomicInteger created = new AtomicInteger();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (request.getMethod().equals("POST")) {
+                    return new MockResponse()
+                            .setHeader("Content-Type", "application/json")
+                            .setBody("{\"id\":\"se-" + created.incrementAndGet() + "\",\"state\":\"running\"}");
+                }
+                return new MockResponse().setResponseCode(404);
+            }
+        });
+        ScriptExecutionPoller poller = new ScriptExecutionPoller(apiClient, 10, TimeUnit.MILLISECONDS);
+        try {
+            RunspaceDispatcher dispatcher = new RunspaceDispatcher(apiClient, poller);
+            dispatcher.addRunspace("rs-1");
+            List<Future<ScriptExecution>> submissions = new ArrayList<Future<ScriptExecution>>();
+            for (int i = 0; i < 2; i++) {
+                ScriptExecution request = new ScriptExecution();
+                request.setScript("Get-VM");
+                submissions.add(dispatcher.submit(request));
+            }
+            assertEquals(1, dispatcher.getQueueDepth());
+
+            for (Future<ScriptExecution> submission : submissions) {
+                try {
+                    submission.get(10, TimeUnit.SECONDS);
+                    fail("Deleted script execution completed");
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof ApiException);
+                    assertEquals(404, ((ApiException) e.getCause()).getCode());
+                }
+            }
+            assertEquals(2, created.get());
+            assertEquals(Integer.valueOf(0), dispatcher.getInFlight().get("rs-1"));
+            assertEquals(0, dispatcher.getQueueDepth());
+            assertEquals(0, poller.getWatched());
+        } finally {
+            poller.close();
+        }
+    }
+}
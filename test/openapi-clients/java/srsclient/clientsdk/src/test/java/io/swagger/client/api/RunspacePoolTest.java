@@ -0,0 +1,127 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client.api;
+
+import com.squareup.okhttp.mockwebserver.Dispatcher;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+import io.swagger.client.ApiClient;
+import io.swagger.client.ApiException;
+import io.swagger.client.model.Runspace;
+import io.swagger.client.model.RunspaceState;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for RunspacePool against a local stand-in server
+ */
+public class RunspacePoolTest {
+
+    private MockWebServer server;
+    private ApiClient apiClient;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        apiClient = new ApiClient();
+        apiClient.setBasePath("http://" + server.getHostName() + ":" + server.getPort());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    /**
+     * Leases get runspaces created ahead of time, and failed runspaces are replaced.
+     */
+    @Test
+    public void runspacePoolTest() throws Exception {
+        final Map<String, Long> runspaces = new ConcurrentHashMap<String, Long>();
+        final List<String> deleted = Collections.synchronizedList(new ArrayList<String>());
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                StringBuilder body = new StringBuilder();
+                if (request.getMethod().equals("POST")) {
+                    String id = "rs-" + (runspaces.size() + 1);
+                    runspaces.put(id, System.nanoTime());
+                    body.append("{\"id\":\"").append(id).append("\",\"state\":\"creating\"}");
+                } else if (request.getMethod().equals("DELETE")) {
+                    deleted.add(request.getPath().substring(request.getPath().lastIndexOf('/') + 1));
+                } else {
+                    // runspaces start in 100 ms, and the second one fails to
+                    for (Map.Entry<String, Long> runspace : runspaces.entrySet()) {
+                        if (deleted.contains(runspace.getKey())) {
+                            continue;
+                        }
+                        String state = System.nanoTime() - runspace.getValue() < TimeUnit.MILLISECONDS.toNanos(100)
+                                ? "creating" : runspace.getKey().equals("rs-2") ? "error" : "ready";
+                        body.append(body.length() == 0 ? "[" : ",").append("{\"id\":\"").append(runspace.getKey())
+                            .append("\",\"state\":\"").append(state).append("\"}");
+                    }
+                    body.append(body.length() == 0 ? "[]" : "]");
+                }
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody(body.toString());
+            }
+        });
+        Runspace template = new Runspace();
+        template.setRunVcConnectionScript(true);
+        RunspacePool pool = new RunspacePool(apiClient, template, 20, TimeUnit.MILLISECONDS)
+                .setMinSize(2)
+                .setMaxSize(3)
+                .setTargetIdle(2);
+        Runspace first = pool.lease(10, TimeUnit.SECONDS);
+        Runspace second = pool.lease(10, TimeUnit.SECONDS);
+        try {
+            Runspace third = pool.lease(10, TimeUnit.SECONDS);
+            assertEquals(RunspaceState.READY, first.getState());
+            assertTrue(deleted.contains("rs-2"));
+            try {
+                pool.lease(100, TimeUnit.MILLISECONDS);
+                fail("the pool must not grow beyond its maximum size");
+            } catch (ApiException expected) {
+            }
+
+            long start = System.nanoTime();
+            pool.release(second);
+            assertSame(second, pool.lease(10, TimeUnit.SECONDS));
+            assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(100));
+            pool.discard(third);
+            assertTrue(deleted.contains(third.getId()));
+            pool.release(first);
+            pool.release(second);
+
+            RunspacePoolStats stats = pool.getStats();
+            assertEquals(4, stats.getLeases());
+            assertEquals(1, stats.getLeaseTimeouts());
+            assertEquals(1, stats.getEvicted());
+            assertEquals(0, stats.getLeased());
+            assertTrue(stats.getMaxLeaseWait(TimeUnit.MILLISECONDS) >= 100);
+            assertTrue(stats.getAverageLeaseWait(TimeUnit.NANOSECONDS) <= stats.getMaxLeaseWait(TimeUnit.NANOSECONDS));
+        } finally {
+            pool.close();
+        }
+        assertTrue(deleted.contains(first.getId()));
+        assertTrue(deleted.contains(second.getId()));
+    }
+}
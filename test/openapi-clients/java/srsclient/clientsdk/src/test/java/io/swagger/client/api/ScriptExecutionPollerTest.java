@@ -0,0 +1,191 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client.api;
+
+import com.squareup.okhttp.mockwebserver.Dispatcher;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+import io.swagger.client.ApiClient;
+import io.swagger.client.ApiException;
+import io.swagger.client.model.ScriptExecution;
+import io.swagger.client.model.ScriptExecutionState;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for ScriptExecutionPoller against a local stand-in server
+ */
+public class ScriptExecutionPollerTest {
+
+    private MockWebServer server;
+    private ApiClient apiClient;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        apiClient = new ApiClient();
+        apiClient.setBasePath("http://" + server.getHostName() + ":" + server.getPort());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    /**
+     * Many watched executions are polled with one list call per tick, a few with GETs.
+     */
+    @Test
+    public void scriptExecutionPollerTest() throws Exception {
+        final Map<String, String> states = new ConcurrentHashMap<String, String>();
+        for (int i = 0; i < 100; i++) {
+            states.put("se-" + i, "running");
+        }
+        final AtomicInteger listRequests = new AtomicInteger();
+        final AtomicInteger getRequests = new AtomicInteger();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                StringBuilder body = new StringBuilder();
+                if (request.getPath().equals("/api/script-executions")) {
+                    listRequests.incrementAndGet();
+                    for (Map.Entry<String, String> state : states.entrySet()) {
+                        body.append(body.length() == 0 ? "[" : ",").append("{\"id\":\"").append(state.getKey())
+                            .append("\",\"state\":\"").append(state.getValue()).append("\"}");
+                    }
+                    body.append("]");
+                } else {
+                    getRequests.incrementAndGet();
+                    String id = request.getPath().substring(request.getPath().lastIndexOf('/') + 1);
+                    body.append("{\"id\":\"").append(id).append("\",\"state\":\"").append(states.get(id)).append("\"}");
+                }
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody(body.toString());
+            }
+        });
+        final CountDownLatch running = new CountDownLatch(100);
+        final Semaphore completed = new Semaphore(0);
+        final List<String> transitions = Collections.synchronizedList(new ArrayList<String>());
+        ScriptExecutionPoller.Watcher watcher = new ScriptExecutionPoller.Watcher() {
+            @Override
+            public void onStateChange(ScriptExecution execution, ScriptExecutionState previous) {
+                transitions.add(execution.getId() + ": " + previous + " -> " + execution.getState());
+                if (execution.getState() == ScriptExecutionState.RUNNING) {
+                    running.countDown();
+                } else {
+                    completed.release();
+                }
+            }
+
+            @Override
+            public void onFailure(String id, ApiException e) {
+                fail(id + " failed: " + e);
+            }
+        };
+        ScriptExecutionPoller poller = new ScriptExecutionPoller(apiClient, 20, TimeUnit.MILLISECONDS);
+        try {
+            for (int i = 0; i < 100; i++) {
+                poller.watch("se-" + i, watcher);
+            }
+            assertTrue(running.await(10, TimeUnit.SECONDS));
+            for (int i = 0; i < 100; i++) {
+                states.put("se-" + i, "success");
+            }
+            assertTrue(completed.tryAcquire(100, 10, TimeUnit.SECONDS));
+            assertEquals(0, poller.getWatched());
+            assertEquals(0, getRequests.get());
+            assertEquals(poller.getListCalls(), listRequests.get());
+            assertEquals(200, transitions.size());
+            assertTrue(transitions.contains("se-42: null -> running"));
+            assertTrue(transitions.contains("se-42: running -> success"));
+
+            poller.watch("se-7", watcher);
+            assertTrue(completed.tryAcquire(10, TimeUnit.SECONDS));
+            assertEquals(1, getRequests.get());
+            assertEquals(1, poller.getGetCalls());
+            assertTrue(transitions.contains("se-7: null -> success"));
+        } finally {
+            poller.close();
+        }
+    }
+
+    /**
+     * Executions that are not found stop being watched, polled one by one or in a list.
+     */
+    @Test
+    public void missingScriptExecutionDroppedTest() throws Exception {
+        final AtomicInteger requests = new AtomicInteger();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                requests.incrementAndGet();
+                if (request.getPath().equals("/api/script-executions")) {
+                    return new MockResponse()
+                            .setHeader("Content-Type", "application/json")
+                            .setBody("[{\"id\":\"se-0\",\"state\":\"running\"}]");
+                }
+                return new MockResponse().setResponseCode(404);
+            }
+        });
+        final Map<String, AtomicInteger> misses = new ConcurrentHashMap<String, AtomicInteger>();
+        ScriptExecutionPoller.Watcher watcher = new ScriptExecutionPoller.Watcher() {
+            @Override
+            public void onStateChange(ScriptExecution execution, ScriptExecutionState previous) {
+            }
+
+            @Override
+            public void onFailure(String id, ApiException e) {
+                assertEquals(404, e.getCode());
+                misses.putIfAbsent(id, new AtomicInteger());
+                misses.get(id).incrementAndGet();
+            }
+        };
+        ScriptExecutionPoller poller = new ScriptExecutionPoller(apiClient, 20, TimeUnit.MILLISECONDS)
+                .setMaxMisses(2);
+        try {
+            poller.watch("se-1", watcher);
+            for (int i = 0; i < 100 && poller.getWatched() > 0; i++) {
+                Thread.sleep(20);
+            }
+            assertEquals(0, poller.getWatched());
+            assertEquals(2, misses.get("se-1").get());
+
+            // listed: se-0 stays watched, the missing ones are dropped
+            poller.setListThreshold(2);
+            poller.watch("se-0", watcher);
+            poller.watch("se-2", watcher);
+            for (int i = 0; i < 100 && poller.getWatched() > 1; i++) {
+                Thread.sleep(20);
+            }
+            assertEquals(1, poller.getWatched());
+            assertEquals(2, misses.get("se-2").get());
+            assertEquals(null, misses.get("se-0"));
+            int polled = requests.get();
+            Thread.sleep(100);
+            assertEquals(2, misses.get("se-2").get());
+            assertTrue(requests.get() > polled);
+        } finally {
+            poller.close();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.Protocol;
+import com.squareup.okhttp.internal.framed.FramedConnection;
+import com.squareup.okhttp.internal.framed.FramedStream;
+import com.squareup.okhttp.internal.framed.Header;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.Okio;
+
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLServerSocket;
+import javax.net.ssl.SSLSocket;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TLS stand-in of the gateway answering every request with the same JSON body.
+ * It negotiates HTTP/2 over ALPN with clients offering it and serves HTTP/1.1
+ * with keep-alive to the others, and counts the connections it accepted.
+ */
+class Http2StandInServer implements Closeable {
+
+    private final byte[] body;
+    private final SSLServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Set<Closeable> openConnections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger http2Connections = new AtomicInteger();
+    private final AtomicInteger http1Connections = new AtomicInteger();
+
+    Http2StandInServer(String body) throws Exception {
+        this.body = body.getBytes(StandardCharsets.UTF_8);
+        serverSocket = (SSLServerSocket) TestCertificates.serverSslContext().getServerSocketFactory()
+                .createServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        SSLParameters parameters = serverSocket.getSSLParameters();
+        parameters.setApplicationProtocols(new String[] { "h2", "http/1.1" });
+        serverSocket.setSSLParameters(parameters);
+        executor.execute(this::acceptConnections);
+    }
+
+    String getBasePath() {
+        return "https://localhost:" + serverSocket.getLocalPort();
+    }
+
+    int getHttp2Connections() {
+        return http2Connections.get();
+    }
+
+    int getHttp1Connections() {
+        return http1Connections.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Closeable connection : openConnections) {
+            closeQuietly(connection);
+        }
+        executor.shutdownNow();
+    }
+
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                SSLSocket socket = (SSLSocket) serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                openConnections.add(socket);
+                executor.execute(() -> serveConnection(socket));
+            } catch (IOException e) {
+                // closed
+            }
+        }
+    }
+
+    private void serveConnection(SSLSocket socket) {
+        try {
+            socket.startHandshake();
+            if ("h2".equals(socket.getApplicationProtocol())) {
+                http2Connections.incrementAndGet();
+                FramedConnection connection = new FramedConnection.Builder(false)
+                        .socket(socket)
+                        .protocol(Protocol.HTTP_2)
+                        .listener(new FramedConnection.Listener() {
+                            @Override
+                            public void onStream(FramedStream stream) throws IOException {
+                                serveStream(stream);
+                            }
+                        })
+                        .build();
+                openConnections.add(connection);
+                connection.sendConnectionPreface();
+            } else {
+                http1Connections.incrementAndGet();
+                serveHttp1(socket);
+            }
+        } catch (IOException e) {
+            closeQuietly(socket);
+        }
+    }
+
+    private void serveStream(FramedStream stream) throws IOException {
+        List<Header> headers = Arrays.asList(
+                new Header(Header.RESPONSE_STATUS, "200"),
+                new Header("content-type", "application/json"),
+                new Header("content-length", String.valueOf(body.length)));
+        stream.reply(headers, true);
+        try (BufferedSink sink = Okio.buffer(stream.getSink())) {
+            sink.write(body);
+        }
+    }
+
+    private void serveHttp1(Socket socket) throws IOException {
+        BufferedSource source = Okio.buffer(Okio.source(socket));
+        BufferedSink sink = Okio.buffer(Okio.sink(socket));
+        while (source.readUtf8Line() != null) {
+            long contentLength = 0;
+            for (String line = source.readUtf8LineStrict(); !line.isEmpty(); line = source.readUtf8LineStrict()) {
+                if (line.toLowerCase().startsWith("content-length:")) {
+                    contentLength = Long.parseLong(line.substring("content-length:".length()).trim());
+                }
+            }
+            source.skip(contentLength);
+            sink.writeUtf8("HTTP/1.1 200 OK\r\n")
+                    .writeUtf8("Content-Type: application/json\r\n")
+                    .writeUtf8("Content-Length: " + body.length + "\r\n\r\n")
+                    .write(body)
+                    .flush();
+        }
+        socket.close();
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+            // already broken
+        }
+    }
+}
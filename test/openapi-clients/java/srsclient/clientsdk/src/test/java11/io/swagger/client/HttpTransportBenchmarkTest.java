@@ -0,0 +1,112 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import io.swagger.client.api.ScriptexecutionsApi;
+import io.swagger.client.model.ScriptExecution;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the OkHttp and JDK HttpClient transports on 1,000 concurrent
+ * script execution polls against a local TLS stand-in server negotiating
+ * HTTP/2 over ALPN.
+ */
+public class HttpTransportBenchmarkTest {
+
+    private static final int POLLS = 1000;
+    private static final int MAX_IN_FLIGHT = 64;
+
+    private Http2StandInServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new Http2StandInServer("{\"id\":\"se-1\",\"state\":\"running\"}");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.close();
+    }
+
+    /**
+     * OkHttp 2 cannot negotiate HTTP/2 on this JDK and opens a connection per
+     * concurrent request.
+     */
+    @Test
+    public void okHttpTransportTest() throws Exception {
+        ApiClient apiClient = newApiClient();
+        apiClient.setMaxRequestsPerHost(MAX_IN_FLIGHT).setConnectionPool(MAX_IN_FLIGHT, 60000);
+
+        assertEquals(POLLS, pollConcurrently(new ScriptexecutionsApi(apiClient)));
+        assertEquals(0, server.getHttp2Connections());
+        assertTrue("connections: " + server.getHttp1Connections(), server.getHttp1Connections() > 1);
+    }
+
+    /**
+     * The JDK client negotiates HTTP/2 and multiplexes all polls over the first connection.
+     */
+    @Test
+    public void jdkHttpTransportTest() throws Exception {
+        ApiClient apiClient = newApiClient();
+        apiClient.setMaxRequests(MAX_IN_FLIGHT);
+        apiClient.setTransport(new JdkHttpTransport(apiClient));
+
+        assertEquals(POLLS, pollConcurrently(new ScriptexecutionsApi(apiClient)));
+        assertEquals(0, server.getHttp1Connections());
+        assertEquals(1, server.getHttp2Connections());
+    }
+
+    private ApiClient newApiClient() {
+        ApiClient apiClient = new ApiClient();
+        apiClient.setBasePath(server.getBasePath());
+        apiClient.setSslCaCert(TestCertificates.certificateStream());
+        return apiClient;
+    }
+
+    /**
+     * A first poll opens the connection, as concurrent requests racing to a host
+     * without a connection yet each open their own.
+     */
+    private int pollConcurrently(ScriptexecutionsApi api) throws Exception {
+        api.getScriptExecution("se-1");
+        final CountDownLatch latch = new CountDownLatch(POLLS);
+        final AtomicInteger succeeded = new AtomicInteger();
+        for (int i = 0; i < POLLS; i++) {
+            api.getScriptExecutionAsync("se-1", new ApiCallback<ScriptExecution>() {
+                @Override
+                public void onFailure(ApiException e, int statusCode, Map<String, List<String>> responseHeaders) {
+                    latch.countDown();
+                }
+
+                @Override
+                public void onSuccess(ScriptExecution result, int statusCode, Map<String, List<String>> responseHeaders) {
+                    succeeded.incrementAndGet();
+                    latch.countDown();
+                }
+
+                @Override
+                public void onUploadProgress(long bytesWritten, long contentLength, boolean done) {
+                }
+
+                @Override
+                public void onDownloadProgress(long bytesRead, long contentLength, boolean done) {
+                }
+            });
+        }
+        assertTrue(latch.await(60, TimeUnit.SECONDS));
+        return succeeded.get();
+    }
+}
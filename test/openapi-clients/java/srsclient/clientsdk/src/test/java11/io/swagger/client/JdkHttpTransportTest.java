@@ -0,0 +1,168 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.Call;
+import com.squareup.okhttp.Callback;
+import com.squareup.okhttp.Interceptor;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+import com.squareup.okhttp.mockwebserver.Dispatcher;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+import io.swagger.client.api.ScriptexecutionsApi;
+import io.swagger.client.model.ScriptExecution;
+import okio.GzipSource;
+import okio.Okio;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the JDK HttpClient transport
+ */
+public class JdkHttpTransportTest {
+
+    private MockWebServer server;
+    private ApiClient apiClient;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        apiClient = new ApiClient();
+        apiClient.setBasePath("http://" + server.getHostName() + ":" + server.getPort());
+        apiClient.setTransport(new JdkHttpTransport(apiClient));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    /**
+     * A compressed body has no length known up front and is streamed through
+     * the pipe to the JDK client, several times its size.
+     */
+    @Test
+    public void compressedBodyStreamedTest() throws Exception {
+        final StringBuilder script = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            script.append("Get-VM -Name vm-").append(i).append(" | Start-VM\n");
+        }
+        final String[] received = new String[2];
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                try {
+                    received[0] = request.getHeader("Content-Encoding");
+                    received[1] = Okio.buffer(new GzipSource(request.getBody())).readUtf8();
+                } catch (IOException e) {
+                    return new MockResponse().setResponseCode(500);
+                }
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody("{\"id\":\"se-1\",\"state\":\"running\"}");
+            }
+        });
+        apiClient.setCompressionEnabled(true).setCompressionThreshold(4096);
+
+        ScriptExecution created = new ScriptexecutionsApi(apiClient).createScriptExecution(
+                new ScriptExecution().runspaceId("pcli-1").script(script.toString()));
+
+        assertEquals("se-1", created.getId());
+        assertEquals("gzip", received[0]);
+        assertTrue(received[1].contains("vm-99999 | Start-VM"));
+        assertTrue(apiClient.getCompressionStats().getCompressedRequestBytes() > 64 * 1024);
+    }
+
+    /**
+     * A callback failing in onResponse is not also told of a failure.
+     */
+    @Test
+    public void callbackSignalledOnceTest() throws Exception {
+        server.enqueue(new MockResponse().setBody("{}"));
+        final List<String> signals = new CopyOnWriteArrayList<String>();
+        final CountDownLatch responded = new CountDownLatch(1);
+        newCall().enqueue(new Callback() {
+            @Override
+            public void onFailure(Request request, IOException e) {
+                signals.add("failure");
+            }
+
+            @Override
+            public void onResponse(Response response) throws IOException {
+                signals.add("response");
+                response.body().close();
+                responded.countDown();
+                throw new IOException("Callback failed");
+            }
+        });
+        assertTrue(responded.await(10, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertEquals(List.of("response"), signals);
+    }
+
+    /**
+     * A call canceled while its response arrives fails as canceled, as with OkHttp.
+     */
+    @Test
+    public void canceledDuringExchangeTest() throws Exception {
+        server.enqueue(new MockResponse().setBody("{}"));
+        final CountDownLatch received = new CountDownLatch(1);
+        final CountDownLatch canceled = new CountDownLatch(1);
+        apiClient.getHttpClient().interceptors().add(new Interceptor() {
+            @Override
+            public Response intercept(Chain chain) throws IOException {
+                Response response = chain.proceed(chain.request());
+                received.countDown();
+                try {
+                    canceled.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return response;
+            }
+        });
+        final List<String> signals = new CopyOnWriteArrayList<String>();
+        final CountDownLatch done = new CountDownLatch(1);
+        Call call = newCall();
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Request request, IOException e) {
+                signals.add(e.getMessage());
+                done.countDown();
+            }
+
+            @Override
+            public void onResponse(Response response) throws IOException {
+                signals.add("response");
+                response.body().close();
+                done.countDown();
+            }
+        });
+        assertTrue(received.await(10, TimeUnit.SECONDS));
+        call.cancel();
+        canceled.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(List.of("Canceled"), signals);
+    }
+
+    private Call newCall() {
+        return apiClient.getTransport().newCall(new Request.Builder()
+                .url(apiClient.getBasePath() + "/api/script-executions/se-1")
+                .build());
+    }
+}
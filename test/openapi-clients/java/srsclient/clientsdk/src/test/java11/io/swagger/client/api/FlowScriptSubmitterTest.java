@@ -0,0 +1,101 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client.api;
+
+import com.squareup.okhttp.mockwebserver.Dispatcher;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+import io.swagger.client.ApiClient;
+import io.swagger.client.model.ScriptExecution;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for FlowScriptSubmitter against a local stand-in server
+ */
+public class FlowScriptSubmitterTest {
+
+    private static final int REQUESTS = 100;
+    private static final int MAX_IN_FLIGHT = 4;
+
+    private MockWebServer server;
+    private BulkScriptSubmitter submitter;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                Thread.sleep(2);
+                inFlight.decrementAndGet();
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody("{\"id\":\"se-1\",\"state\":\"running\"}");
+            }
+        });
+        server.start();
+        ApiClient apiClient = new ApiClient()
+                .setBasePath("http://" + server.getHostName() + ":" + server.getPort());
+        submitter = new BulkScriptSubmitter(apiClient).setMaxInFlight(MAX_IN_FLIGHT);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void streamTest() throws Exception {
+        AtomicInteger generated = new AtomicInteger();
+        BulkSubmission submission = FlowScriptSubmitter.submit(submitter,
+                IntStream.range(0, REQUESTS).peek(i -> generated.incrementAndGet()).mapToObj(i -> request()));
+        assertTrue(submission.await(30, TimeUnit.SECONDS));
+        assertEquals(REQUESTS, generated.get());
+        assertCompleted(submission);
+    }
+
+    @Test
+    public void publisherTest() throws Exception {
+        BulkSubmission submission;
+        try (SubmissionPublisher<ScriptExecution> publisher = new SubmissionPublisher<>()) {
+            submission = FlowScriptSubmitter.submit(submitter, publisher);
+            for (int i = 0; i < REQUESTS; i++) {
+                publisher.submit(request());
+            }
+        }
+        assertTrue(submission.await(30, TimeUnit.SECONDS));
+        assertCompleted(submission);
+    }
+
+    private void assertCompleted(BulkSubmission submission) throws Exception {
+        assertEquals(REQUESTS, submission.getFutures().size());
+        for (Future<ScriptExecution> future : submission.getFutures()) {
+            assertEquals("se-1", future.get(0, TimeUnit.SECONDS).getId());
+        }
+        assertEquals(REQUESTS, submission.getStats().getSucceeded());
+        assertTrue(peak.get() <= MAX_IN_FLIGHT);
+    }
+
+    private static ScriptExecution request() {
+        ScriptExecution request = new ScriptExecution();
+        request.setScript("Get-VM");
+        return request;
+    }
+}
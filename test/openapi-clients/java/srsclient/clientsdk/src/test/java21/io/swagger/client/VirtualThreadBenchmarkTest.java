@@ -0,0 +1,268 @@
+// **************************************************************************
+//  Copyright 2020 VMware, Inc.
+//  SPDX-License-Identifier: Apache-2.0
+// **************************************************************************
+package io.swagger.client;
+
+import com.squareup.okhttp.ConnectionPool;
+import com.squareup.okhttp.mockwebserver.Dispatcher;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+import io.swagger.client.api.ScriptexecutionsApi;
+import io.swagger.client.model.ScriptExecution;
+import io.swagger.client.model.ScriptExecutionState;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the dispatcher model, blocking calls on platform threads and
+ * blocking calls on virtual threads on concurrent workflows polling a
+ * script execution to completion against a local stand-in server.
+ */
+public class VirtualThreadBenchmarkTest {
+
+    private static final int WORKFLOWS = 2000;
+    private static final int POLLS = 5;
+    private static final long POLL_INTERVAL_MILLIS = 50;
+    private static final int WARM_UP_WORKFLOWS = 200;
+
+    private MockWebServer server;
+    private final ConcurrentMap<String, AtomicInteger> polls = new ConcurrentHashMap<>();
+    private final Logger serverLogger = Logger.getLogger(MockWebServer.class.getName());
+    // execution ids already polled to completion
+    private int run;
+
+    @Before
+    public void setUp() throws Exception {
+        serverLogger.setLevel(Level.WARNING);
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String id = request.getPath().substring(request.getPath().lastIndexOf('/') + 1);
+                int poll = polls.computeIfAbsent(id, key -> new AtomicInteger()).incrementAndGet();
+                String state = poll < POLLS ? "running" : "success";
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody("{\"id\":\"" + id + "\",\"state\":\"" + state + "\"}");
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+        serverLogger.setLevel(null);
+    }
+
+    /**
+     * Blocking workflows on virtual threads need a few carrier threads where
+     * the other models need about a thread per workflow in flight. Their
+     * duration is not compared: OkHttp 2 blocks in synchronized code, which
+     * pins the virtual threads to their carriers.
+     */
+    @Test
+    public void executionModelsTest() throws Exception {
+        // Surefire runs test methods in parallel, so the models are compared
+        // one after the other in a single test, each after a warm-up round.
+        Result dispatcher = measure(this::runOnDispatcher);
+        Result platform = measure(workflows -> runBlocking(Executors.newCachedThreadPool(), workflows));
+        Result virtual = measure(workflows -> runBlocking(VirtualThreadExecution.newExecutor(), workflows));
+
+        String results = "dispatcher " + dispatcher + ", platform " + platform + ", virtual " + virtual;
+        assertTrue(results, virtual.peakThreads * 10 < platform.peakThreads);
+        assertTrue(results, virtual.peakThreads * 10 < dispatcher.peakThreads);
+    }
+
+    private int runOnDispatcher(int workflows) throws Exception {
+        ApiClient apiClient = newApiClient();
+        apiClient.getHttpClient().getDispatcher().setMaxRequests(workflows);
+        apiClient.getHttpClient().getDispatcher().setMaxRequestsPerHost(workflows);
+        ScriptexecutionsApi api = new ScriptexecutionsApi(apiClient);
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+        CountDownLatch latch = new CountDownLatch(workflows);
+        AtomicInteger completed = new AtomicInteger();
+
+        for (int i = 0; i < workflows; i++) {
+            new PollingWorkflow(api, "se-" + (run + i), timer, latch, completed).run();
+        }
+        assertTrue(latch.await(120, TimeUnit.SECONDS));
+        timer.shutdown();
+        apiClient.getHttpClient().getDispatcher().getExecutorService().shutdown();
+        apiClient.getHttpClient().getConnectionPool().evictAll();
+        return completed.get();
+    }
+
+    private int runBlocking(ExecutorService executor, int workflows) throws Exception {
+        ApiClient apiClient = newApiClient();
+        ScriptexecutionsApi api = new ScriptexecutionsApi(apiClient);
+        AtomicInteger completed = new AtomicInteger();
+
+        for (int i = 0; i < workflows; i++) {
+            String id = "se-" + (run + i);
+            executor.execute(() -> {
+                try {
+                    // The loop of a synchronous workflow, as in the sample client
+                    while (api.getScriptExecution(id).getState() != ScriptExecutionState.SUCCESS) {
+                        Thread.sleep(POLL_INTERVAL_MILLIS);
+                    }
+                    completed.incrementAndGet();
+                } catch (ApiException | InterruptedException e) {
+                    // counted as not completed
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(120, TimeUnit.SECONDS));
+        apiClient.getHttpClient().getConnectionPool().evictAll();
+        return completed.get();
+    }
+
+    private ApiClient newApiClient() {
+        ApiClient apiClient = new ApiClient();
+        apiClient.setBasePath("http://" + server.getHostName() + ":" + server.getPort());
+        // Own pool, so the connections of a model can be closed before the next one
+        apiClient.getHttpClient().setConnectionPool(new ConnectionPool(5, 60000));
+        return apiClient;
+    }
+
+    private Result measure(ExecutionModel executionModel) throws Exception {
+        assertEquals(WARM_UP_WORKFLOWS, executionModel.run(WARM_UP_WORKFLOWS));
+        run += WARM_UP_WORKFLOWS;
+
+        ThreadSampler sampler = new ThreadSampler();
+        sampler.start();
+        long start = System.nanoTime();
+        int completed = executionModel.run(WORKFLOWS);
+        long tookMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        sampler.interrupt();
+        sampler.join();
+        run += WORKFLOWS;
+
+        assertEquals(WORKFLOWS, completed);
+        return new Result(tookMillis, sampler.peak);
+    }
+
+    private record Result(long tookMillis, int peakThreads) {
+        @Override
+        public String toString() {
+            return tookMillis + " ms, " + peakThreads + " threads";
+        }
+    }
+
+    /**
+     * Samples the live platform threads, carrier threads of virtual threads
+     * included, and keeps the peak above the count at start, leaving out the
+     * threads of the stand-in server, one per connection.
+     */
+    private static class ThreadSampler extends Thread {
+        private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        private final int baseline = clientThreads();
+        private volatile int peak;
+
+        ThreadSampler() {
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (!isInterrupted()) {
+                peak = Math.max(peak, clientThreads() - baseline);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        private int clientThreads() {
+            int serverThreads = 0;
+            for (ThreadInfo thread : threads.getThreadInfo(threads.getAllThreadIds(), 0)) {
+                if (thread != null && thread.getThreadName().startsWith("MockWebServer")) {
+                    serverThreads++;
+                }
+            }
+            return threads.getThreadCount() - serverThreads;
+        }
+    }
+
+    private interface ExecutionModel {
+        int run(int workflows) throws Exception;
+    }
+
+    /**
+     * The same workflow written against the dispatcher: each poll is an
+     * asynchronous call and the wait between polls is a scheduled task.
+     */
+    private static class PollingWorkflow implements Runnable, ApiCallback<ScriptExecution> {
+        private final ScriptexecutionsApi api;
+        private final String id;
+        private final ScheduledExecutorService timer;
+        private final CountDownLatch latch;
+        private final AtomicInteger completed;
+
+        PollingWorkflow(ScriptexecutionsApi api, String id, ScheduledExecutorService timer,
+                        CountDownLatch latch, AtomicInteger completed) {
+            this.api = api;
+            this.id = id;
+            this.timer = timer;
+            this.latch = latch;
+            this.completed = completed;
+        }
+
+        @Override
+        public void run() {
+            try {
+                api.getScriptExecutionAsync(id, this);
+            } catch (ApiException e) {
+                latch.countDown();
+            }
+        }
+
+        @Override
+        public void onFailure(ApiException e, int statusCode, Map<String, List<String>> responseHeaders) {
+            latch.countDown();
+        }
+
+        @Override
+        public void onSuccess(ScriptExecution result, int statusCode, Map<String, List<String>> responseHeaders) {
+            if (result.getState() == ScriptExecutionState.SUCCESS) {
+                completed.incrementAndGet();
+                latch.countDown();
+            } else {
+                timer.schedule(this, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        @Override
+        public void onUploadProgress(long bytesWritten, long contentLength, boolean done) {
+        }
+
+        @Override
+        public void onDownloadProgress(long bytesRead, long contentLength, boolean done) {
+        }
+    }
+}